@@ -51,6 +51,8 @@ public final class ApplicationConstants {
         public static final Duration PAGE_LOAD = Duration.ofSeconds(getIntProperty("timeout.page.load", 30));
         public static final Duration ELEMENT_WAIT = Duration.ofSeconds(getIntProperty("timeout.element.wait", 20));
         public static final Duration APP_LAUNCH = Duration.ofSeconds(getIntProperty("timeout.app.launch", 60));
+        public static final Duration TEST_BUDGET = Duration.ofSeconds(getIntProperty("timeout.test.budget", 600));
+        public static final Duration STEP_BUDGET = Duration.ofSeconds(getIntProperty("timeout.step.budget", 120));
     }
 
     // ==========================
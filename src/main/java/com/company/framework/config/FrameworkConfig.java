@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.Properties;
+import java.util.regex.Pattern;
 
 /**
  * FrameworkConfig - Centralized configuration management for the framework
@@ -145,4 +146,213 @@ public final class FrameworkConfig {
                 getAppiumServerPort(),
                 getAppiumServerPath());
     }
+
+    // ==========================
+    // SESSION POOL CONFIG
+    // ==========================
+    public static boolean isSessionPoolEnabled() {
+        return getBoolean("session.pool.enabled", false);
+    }
+
+    public static int getSessionPoolSize() {
+        return getInt("session.pool.size", 0);
+    }
+
+    public static Duration getSessionPoolLeaseTimeout() {
+        return getDurationInSeconds("session.pool.lease.timeout", 120);
+    }
+
+    public static boolean isSessionReuseEnabled() {
+        return getBoolean("session.reuse.enabled", true);
+    }
+
+    public static String getSessionResetPolicy() {
+        return getString("session.reset.policy", "relaunch");
+    }
+
+    public static String getAppInstallPath() {
+        return getString("app.install.path", "");
+    }
+
+    // ==========================
+    // PAGE SOURCE CACHE CONFIG
+    // ==========================
+    public static boolean isPageSourceCacheEnabled() {
+        return getBoolean("page.source.cache.enabled", true);
+    }
+
+    public static Duration getPageSourceCacheMaxAge() {
+        return Duration.ofMillis(getInt("page.source.cache.max.age.ms", 1000));
+    }
+
+    // ==========================
+    // LOCATOR CONFIG
+    // ==========================
+    public static boolean isLocalLocatorEngineEnabled() {
+        return getBoolean("locator.local.engine.enabled", true);
+    }
+
+    public static boolean isLocatorBenchmarkEnabled() {
+        return getBoolean("locator.local.benchmark", false);
+    }
+
+    public static boolean isLocatorUnionEnabled() {
+        return getBoolean("locator.union.enabled", true);
+    }
+
+    public static int getLocatorUnionStatsSampleEvery() {
+        return getInt("locator.union.stats.sample.every", 10);
+    }
+
+    public static boolean isLocatorRankingEnabled() {
+        return getBoolean("locator.ranking.enabled", true);
+    }
+
+    public static String getLocatorStatsFile() {
+        return getString("locator.stats.file", "reports/locator-stats.json");
+    }
+
+    // ==========================
+    // SCROLL CONFIG
+    // ==========================
+    public static int getScrollMaxSwipes() {
+        return getInt("scroll.max.swipes", 10);
+    }
+
+    // ==========================
+    // DEVICE GEOMETRY CONFIG
+    // ==========================
+    public static long getOrientationCheckMillis() {
+        return getInt("device.geometry.orientation.check.ms", 1000);
+    }
+
+    // ==========================
+    // APPIUM SETTINGS CONFIG
+    // ==========================
+    public static boolean isSettingsProfilesEnabled() {
+        return getBoolean("appium.settings.profiles.enabled", true);
+    }
+
+    public static boolean isSettingsBenchmarkEnabled() {
+        return getBoolean("appium.settings.benchmark", false);
+    }
+
+    // ==========================
+    // CONTEXT CONFIG
+    // ==========================
+    public static long getContextListCacheMillis() {
+        return getInt("context.list.cache.ms", 2000);
+    }
+
+    // ==========================
+    // UI STABILITY CONFIG
+    // ==========================
+    public static int getUiStabilityRequiredMatches() {
+        return getInt("ui.stability.required.matches", 2);
+    }
+
+    public static Pattern getUiStabilityIgnorePattern() {
+        return Pattern.compile(getString("ui.stability.ignore.pattern",
+                "(?i).*(progress|clock|timer|ticker|ad_?(view|container|slot)).*"));
+    }
+
+    public static boolean isUiStabilityOnPageLoadEnabled() {
+        return getBoolean("ui.stability.on.page.load", true);
+    }
+
+    // ==========================
+    // WAIT POLLING CONFIG
+    // ==========================
+    public static long getWaitPollInitialMillis() {
+        return getInt("wait.poll.initial.ms", 50);
+    }
+
+    public static double getWaitPollMultiplier() {
+        return Double.parseDouble(getString("wait.poll.multiplier", "2.0"));
+    }
+
+    public static long getWaitPollMaxMillis() {
+        return getInt("wait.poll.max.ms", 1000);
+    }
+
+    // ==========================
+    // REPORTING CONFIG
+    // ==========================
+    public static long getReportFlushIntervalMillis() {
+        return getInt("report.flush.interval.ms", 5000);
+    }
+
+    // ==========================
+    // SCREENSHOT CONFIG
+    // ==========================
+    public static int getScreenshotQueueCapacity() {
+        return getInt("screenshot.queue.capacity", 32);
+    }
+
+    public static long getScreenshotQueueOfferMillis() {
+        return getInt("screenshot.queue.offer.ms", 200);
+    }
+
+    public static int getScreenshotWriterThreads() {
+        return getInt("screenshot.writer.threads", 1);
+    }
+
+    public static boolean isScreenshotVariantsEnabled() {
+        return getBoolean("screenshot.variants.enabled", true);
+    }
+
+    public static int getScreenshotThumbnailWidth() {
+        return getInt("screenshot.thumbnail.width", 270);
+    }
+
+    public static float getScreenshotJpegQuality() {
+        return Float.parseFloat(getString("screenshot.jpeg.quality", "0.8"));
+    }
+
+    public static int getScreenshotRetentionDays() {
+        return getInt("screenshot.retention.days", 7);
+    }
+
+    public static boolean isMjpegFrameSourceEnabled() {
+        return getBoolean("screenshot.mjpeg.enabled", false);
+    }
+
+    public static int getMjpegBasePort() {
+        return getInt("screenshot.mjpeg.base.port", 8200);
+    }
+
+    public static int getMjpegBufferFrames() {
+        return getInt("screenshot.mjpeg.buffer.frames", 8);
+    }
+
+    public static long getMjpegMaxAgeMillis() {
+        return getInt("screenshot.mjpeg.max.age.ms", 500);
+    }
+
+    public static int getMjpegScalingFactor() {
+        return getInt("screenshot.mjpeg.scaling.factor", 100);
+    }
+
+    public static int getMjpegFramerate() {
+        return getInt("screenshot.mjpeg.framerate", 10);
+    }
+
+    // ==========================
+    // ADAPTIVE TIMEOUT CONFIG
+    // ==========================
+    public static String getAdaptiveTimeoutMode() {
+        return getString("timeout.adaptive.mode", "record").trim().toLowerCase();
+    }
+
+    public static double getAdaptiveTimeoutMargin() {
+        return Double.parseDouble(getString("timeout.adaptive.margin", "0.5"));
+    }
+
+    public static int getAdaptiveTimeoutMinSamples() {
+        return getInt("timeout.adaptive.min.samples", 20);
+    }
+
+    public static String getAdaptiveTimeoutFile() {
+        return getString("timeout.adaptive.file", "reports/wait-timings.json");
+    }
 }
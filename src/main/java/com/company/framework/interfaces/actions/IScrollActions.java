@@ -11,6 +11,11 @@ import org.openqa.selenium.WebElement;
  * - Keeps framework modular and adheres to Interface Segregation Principle
  */
 public interface IScrollActions {
+
+    /**
+     * Attribute a scroll-into-view target is matched on
+     */
+    enum MatchBy { TEXT, TEXT_CONTAINS, DESCRIPTION, RESOURCE_ID }
     
     /**
      * Scroll to make a specific element visible
@@ -35,4 +40,14 @@ public interface IScrollActions {
      * @param pixels number of pixels to scroll horizontally
      */
     void scrollHorizontally(int pixels);
+
+    /**
+     * Scroll the first scrollable container until a matching element is in view
+     * (server-side on Android, so the whole search is one round trip)
+     * @param matchBy attribute to match on
+     * @param value expected attribute value
+     * @param maxSwipes upper bound on swipes while searching
+     * @return the element, or null if it was not found
+     */
+    WebElement scrollIntoView(MatchBy matchBy, String value, int maxSwipes);
 }
@@ -24,6 +24,15 @@ public interface IDriverManager {
      */
     void quitDriver();
 
+    /**
+     * Release the driver at the end of a test class
+     * Implementations may keep a healthy session alive for the next class;
+     * the default simply quits it
+     */
+    default void releaseDriver() {
+        quitDriver();
+    }
+
     /**
      * Check if driver is initialized
      * @return true if driver is active, false otherwise
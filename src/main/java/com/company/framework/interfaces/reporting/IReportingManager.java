@@ -22,6 +22,8 @@ public interface IReportingManager {
 
     void logSkip(ExtentTest test, String message);
 
+    void logInfo(ExtentTest test, String message);
+
     String captureScreenshot(WebDriver driver, String testName, String status);
 
     void flush();
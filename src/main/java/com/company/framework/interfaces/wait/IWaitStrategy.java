@@ -37,5 +37,13 @@ public interface IWaitStrategy {
      * @return true if text is present
      */
     boolean waitForTextToBePresentInElement(WebElement element, String text);
+
+    /**
+     * Wait for the first visible element matched by any of the locators,
+     * checking all of them on each poll against one shared deadline
+     * @param locators fallback locators in priority order
+     * @return first visible element of the highest-priority matching locator
+     */
+    WebElement waitForAnyVisible(By... locators);
     
 }
\ No newline at end of file
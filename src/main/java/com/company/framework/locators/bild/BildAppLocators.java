@@ -1,5 +1,6 @@
 package com.company.framework.locators.bild;
 
+import com.company.framework.locators.common.LocatorStatistics;
 import org.openqa.selenium.By;
 import io.appium.java_client.AppiumBy;
 import java.util.HashMap;
@@ -139,8 +140,11 @@ public class BildAppLocators {
         });
     }
 
+    /**
+     * Fallback locators for an element, in the order learned for the current app build
+     */
     public static By[] getLocators(BildElementType type) {
-        return locatorMap.getOrDefault(type, new By[]{});
+        return LocatorStatistics.rank(type.name(), locatorMap.getOrDefault(type, new By[]{}));
     }
 
      /**
@@ -0,0 +1,206 @@
+package com.company.framework.locators.common;
+
+import com.company.framework.config.ApplicationConstants;
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.DependencyManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LocatorStatistics - Learns which fallback locator wins, per element and app build
+ *
+ * Hit count, miss count and total latency are kept for every candidate of every
+ * element key (a BildElementType name or a combined key from LocatorFactory),
+ * grouped by app version and platform. The store is loaded from and saved to
+ * a local JSON file so the learned order carries over between runs.
+ *
+ * rank() reorders a candidate array: proven winners first (most hits, then
+ * fastest), untried candidates next in declared order, never-matching ones last.
+ */
+public final class LocatorStatistics {
+
+    private static final Logger logger = LogManager.getLogger(LocatorStatistics.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Candidates with at least this many misses and no hit are reported as dead */
+    private static final int DEAD_LOCATOR_MIN_MISSES = 3;
+
+    private static final Map<String, Map<String, CandidateStats>> stats = new ConcurrentHashMap<>();
+    private static volatile String buildKey;
+
+    private LocatorStatistics() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    private static final class CandidateStats {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong latencyMillis = new AtomicLong();
+
+        long averageLatency() {
+            return latencyMillis.get() / Math.max(1, hits.get());
+        }
+    }
+
+    // ========================================
+    // RANKING / RECORDING
+    // ========================================
+
+    /**
+     * Candidates in learned order for the current app build
+     * @param elementKey element the candidates locate
+     * @param candidates locators in declared order
+     * @return reordered copy (or the input when ranking is disabled)
+     */
+    public static By[] rank(String elementKey, By[] candidates) {
+        if (!FrameworkConfig.isLocatorRankingEnabled() || candidates.length < 2) {
+            return candidates;
+        }
+        Map<String, CandidateStats> element = elementStats(elementKey);
+        if (element.isEmpty()) {
+            return candidates;
+        }
+
+        List<By> ordered = new ArrayList<>(Arrays.asList(candidates));
+        ordered.sort(Comparator
+                .comparingInt((By b) -> tier(element.get(b.toString())))
+                .thenComparingLong(b -> -hits(element.get(b.toString())))
+                .thenComparingLong(b -> latency(element.get(b.toString()))));
+        return ordered.toArray(new By[0]);
+    }
+
+    public static void recordHit(String elementKey, By locator, long latencyMillis) {
+        CandidateStats candidate = candidate(elementKey, locator);
+        candidate.hits.incrementAndGet();
+        candidate.latencyMillis.addAndGet(latencyMillis);
+    }
+
+    public static void recordMiss(String elementKey, By locator) {
+        candidate(elementKey, locator).misses.incrementAndGet();
+    }
+
+    private static int tier(CandidateStats s) {
+        if (s == null || s.hits.get() + s.misses.get() == 0) return 1;
+        return s.hits.get() > 0 ? 0 : 2;
+    }
+
+    private static long hits(CandidateStats s) {
+        return s == null ? 0 : s.hits.get();
+    }
+
+    private static long latency(CandidateStats s) {
+        return s == null || s.hits.get() == 0 ? Long.MAX_VALUE : s.averageLatency();
+    }
+
+    private static CandidateStats candidate(String elementKey, By locator) {
+        return elementStats(elementKey).computeIfAbsent(locator.toString(), k -> new CandidateStats());
+    }
+
+    private static Map<String, CandidateStats> elementStats(String elementKey) {
+        ensureLoaded();
+        return stats.computeIfAbsent(buildKey + "/" + elementKey, k -> new ConcurrentHashMap<>());
+    }
+
+    // ========================================
+    // PERSISTENCE
+    // ========================================
+
+    private static synchronized void ensureLoaded() {
+        if (buildKey != null) return;
+
+        String platform = DependencyManager.getInstance().getConfigurationManager().getProperty("platformName", "Android");
+        String key = ApplicationConstants.AppConfig.APP_VERSION + "|" + platform;
+
+        File file = new File(FrameworkConfig.getLocatorStatsFile());
+        if (file.exists()) {
+            try {
+                JsonNode root = objectMapper.readTree(file);
+                for (Iterator<Map.Entry<String, JsonNode>> elements = root.fields(); elements.hasNext(); ) {
+                    Map.Entry<String, JsonNode> element = elements.next();
+                    Map<String, CandidateStats> candidates = new ConcurrentHashMap<>();
+                    element.getValue().fields().forEachRemaining(entry -> {
+                        CandidateStats s = new CandidateStats();
+                        s.hits.set(entry.getValue().path("hits").asLong());
+                        s.misses.set(entry.getValue().path("misses").asLong());
+                        s.latencyMillis.set(entry.getValue().path("latencyMillis").asLong());
+                        candidates.put(entry.getKey(), s);
+                    });
+                    stats.put(element.getKey(), candidates);
+                }
+                logger.info("Loaded locator statistics for {} elements from {}", stats.size(), file);
+            } catch (IOException e) {
+                logger.warn("Could not read locator statistics from {}: {}", file, e.getMessage());
+            }
+        }
+        buildKey = key;
+    }
+
+    /**
+     * Write the statistics file and the dead-locator report
+     */
+    public static synchronized void save() {
+        if (buildKey == null) return;
+
+        Map<String, Map<String, Map<String, Long>>> out = new LinkedHashMap<>();
+        stats.forEach((element, candidates) -> {
+            Map<String, Map<String, Long>> entries = new LinkedHashMap<>();
+            candidates.forEach((locator, s) -> {
+                Map<String, Long> values = new LinkedHashMap<>();
+                values.put("hits", s.hits.get());
+                values.put("misses", s.misses.get());
+                values.put("latencyMillis", s.latencyMillis.get());
+                entries.put(locator, values);
+            });
+            out.put(element, entries);
+        });
+
+        Path file = Paths.get(FrameworkConfig.getLocatorStatsFile());
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), out);
+            Path report = file.resolveSibling("dead-locators.txt");
+            Files.write(report, getDeadLocators(), StandardCharsets.UTF_8);
+            logger.info("Locator statistics saved to {} (dead locator report: {})", file, report);
+        } catch (IOException e) {
+            logger.warn("Could not save locator statistics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Candidates of the current build that were tried repeatedly and never matched
+     * @return lines of the form "element -> locator (misses)"
+     */
+    public static List<String> getDeadLocators() {
+        List<String> dead = new ArrayList<>();
+        String prefix = buildKey + "/";
+        stats.forEach((element, candidates) -> {
+            if (!element.startsWith(prefix)) return;
+            candidates.forEach((locator, s) -> {
+                if (s.hits.get() == 0 && s.misses.get() >= DEAD_LOCATOR_MIN_MISSES) {
+                    dead.add(element.substring(prefix.length()) + " -> " + locator + " (" + s.misses.get() + " misses)");
+                }
+            });
+        });
+        dead.sort(null);
+        return dead;
+    }
+}
@@ -55,28 +55,65 @@
 
 package com.company.framework.managers;
 
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.interfaces.config.IConfigurationManager;
+import com.company.framework.utils.AppStateProbe;
+import com.company.framework.utils.DeadlineBudget;
+import com.company.framework.utils.StatsRegistry;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * AppLifecycleManager - Launches and resets the app under test
+ *
+ * Resets come in cost tiers, cheapest first:
+ * 1. activateApp / backgroundApp - bring the existing process to the foreground
+ * 2. restartApp                  - terminate and activate (cold start, data kept)
+ * 3. clearAndRelaunch            - clear app data and activate (fresh install state)
+ * 4. reinstallApp                - remove and install the package
+ * All tiers use Appium's app-management commands and confirm readiness with
+ * mobile: queryAppState instead of downloading the UI hierarchy. A tier whose
+ * app does not reach the foreground in time throws a TimeoutException, so a
+ * failed reset never passes for a clean one. Every call is timed; per-tier
+ * totals and failures are available through getStatsSummary().
+ */
 public class AppLifecycleManager {
 
     private static final Logger logger = LogManager.getLogger(AppLifecycleManager.class);
 
+    private static final Map<String, AtomicLong[]> tierStats = new ConcurrentHashMap<>();
+
     private final AppiumDriver driver;
     private final String appPackage;
     private final String mainActivity;
 
+    static {
+        StatsRegistry.register("AppLifecycleManager", AppLifecycleManager::getStatsSummary);
+    }
+
     public AppLifecycleManager(AppiumDriver driver, String appPackage, String mainActivity) {
         this.driver = driver;
         this.appPackage = appPackage;
         this.mainActivity = mainActivity;
     }
 
+    /**
+     * Lifecycle manager for the app configured through appPackage / appActivity
+     */
+    public static AppLifecycleManager forConfig(AppiumDriver driver, IConfigurationManager config) {
+        return new AppLifecycleManager(driver,
+                config.getProperty("appPackage", "com.netbiscuits.bild.android"),
+                config.getProperty("appActivity", "de.bild.android.app.MainActivity"));
+    }
+
     /**
      * Ensures that the target app is launched and responsive.
      */
@@ -84,7 +121,7 @@ public class AppLifecycleManager {
         try {
             if (!isAppForeground()) {
                 logger.info("📱 App '{}' not detected in foreground. Launching...", appPackage);
-                launchApp();
+                activateApp();
             } else {
                 logger.info("✅ App '{}' is already running.", appPackage);
             }
@@ -94,37 +131,120 @@ public class AppLifecycleManager {
     }
 
     /**
-     * Launch the app using ADB shell if not already active.
+     * Bring a reused session back to a clean state between test classes.
+     * @param policy reset to apply
+     * @throws TimeoutException if the app is not back in the foreground afterwards
      */
-    private void launchApp() {
-        try {
-            logger.info("🚀 Launching app: {}/{}", appPackage, mainActivity);
+    public void resetApp(SessionResetPolicy policy) {
+        logger.info("🔄 Resetting app '{}' with policy {}", appPackage, policy);
+        switch (policy) {
+            case NONE:
+                return;
+            case HOME:
+                goHome();
+                break;
+            case RELAUNCH:
+                restartApp();
+                break;
+            case CLEAR_DATA:
+                clearAndRelaunch();
+                break;
+            case REINSTALL:
+                reinstallApp(FrameworkConfig.getAppInstallPath());
+                break;
+        }
+    }
+
+    // ========================================
+    // RESET TIERS
+    // ========================================
+
+    /**
+     * Tier 1: bring the app to the foreground, starting it if needed
+     */
+    public void activateApp() {
+        timed("activate", () -> {
+            driver.executeScript("mobile: activateApp", Map.of("appId", appPackage));
+            waitForAppToBeReady(10);
+        });
+    }
 
-            new ProcessBuilder("adb", "shell", "am", "start", "-n",
-                    appPackage + "/" + mainActivity).start();
+    /**
+     * Tier 1: send the app to the background for a while, then resume it
+     * @param duration time spent in background
+     */
+    public void backgroundApp(Duration duration) {
+        timed("background", () -> {
+            driver.executeScript("mobile: backgroundApp", Map.of("seconds", duration.getSeconds()));
+            waitForAppToBeReady(10);
+        });
+    }
 
+    /**
+     * Tier 1: restart the launcher activity on top of the existing task, keeping the process alive
+     */
+    public void goHome() {
+        timed("home", () -> {
+            driver.executeScript("mobile: startActivity", Map.of(
+                    "intent", appPackage + "/" + mainActivity,
+                    "flags", "0x04000000"));
             waitForAppToBeReady(10);
-            logger.info("✅ App launch completed successfully.");
-        } catch (Exception e) {
-            logger.error("❌ App launch failed: {}", e.getMessage());
+        });
+    }
+
+    /**
+     * Tier 2: terminate the app process and start it again
+     */
+    public void restartApp() {
+        timed("restart", () -> {
+            driver.executeScript("mobile: terminateApp", Map.of("appId", appPackage));
+            driver.executeScript("mobile: activateApp", Map.of("appId", appPackage));
+            waitForAppToBeReady(15);
+        });
+    }
+
+    /**
+     * Tier 3: wipe app data and cache, then start the app
+     */
+    public void clearAndRelaunch() {
+        timed("clear", () -> {
+            driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+            driver.executeScript("mobile: activateApp", Map.of("appId", appPackage));
+            waitForAppToBeReady(20);
+        });
+    }
+
+    /**
+     * Tier 4: uninstall and install the app from the given package file
+     * @param appPath local or remote path of the APK/IPA
+     */
+    public void reinstallApp(String appPath) {
+        if (appPath == null || appPath.isBlank()) {
+            throw new IllegalStateException("app.install.path is not configured - cannot reinstall " + appPackage);
         }
+        timed("reinstall", () -> {
+            driver.executeScript("mobile: removeApp", Map.of("appId", appPackage));
+            driver.executeScript("mobile: installApp", Map.of("appPath", appPath));
+            driver.executeScript("mobile: activateApp", Map.of("appId", appPackage));
+            waitForAppToBeReady(30);
+        });
     }
 
+    // ========================================
+    // READINESS
+    // ========================================
+
     /**
-     * Wait until the app becomes responsive.
+     * Wait until the app reports running in the foreground.
+     * @throws TimeoutException if it does not within the timeout
      */
     private void waitForAppToBeReady(int timeoutSec) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
-            wait.until(d -> {
-                try {
-                    return d.getPageSource() != null && !d.getPageSource().isEmpty();
-                } catch (Exception e) {
-                    return false;
-                }
-            });
-        } catch (Exception e) {
+            WebDriverWait wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(timeoutSec), "AppLifecycleManager");
+            wait.until(d -> AppStateProbe.isInForeground(driver, appPackage));
+        } catch (TimeoutException e) {
             logger.warn("⏳ App readiness wait timed out after {}s: {}", timeoutSec, e.getMessage());
+            throw new TimeoutException("App '" + appPackage + "' not in foreground after " + timeoutSec + "s", e);
         }
     }
 
@@ -132,22 +252,42 @@ public class AppLifecycleManager {
      * Checks if the expected app package is currently in the foreground.
      */
     private boolean isAppForeground() {
+        AppStateProbe.recordPageSourceSaved();
+        return AppStateProbe.isInForeground(driver, appPackage)
+                && AppStateProbe.hasWindowFocus(driver, appPackage);
+    }
+
+    // ========================================
+    // METRICS
+    // ========================================
+
+    private void timed(String tier, Runnable action) {
+        long start = System.nanoTime();
+        boolean failed = true;
         try {
-            // Works for Android (using mobile: shell)
-            String currentApp = (String) driver.executeScript("mobile: getAppiumSettings");
-            if (currentApp != null && currentApp.contains(appPackage)) {
-                return true;
-            }
-        } catch (Exception ignored) {
-            // Fallback: use driver context or page source
+            action.run();
+            failed = false;
+        } finally {
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            AtomicLong[] stats = tierStats.computeIfAbsent(tier,
+                    k -> new AtomicLong[] {new AtomicLong(), new AtomicLong(), new AtomicLong()});
+            stats[0].incrementAndGet();
+            stats[1].addAndGet(ms);
+            if (failed) stats[2].incrementAndGet();
+            logger.info("⏱️ App reset tier '{}' {} after {} ms", tier, failed ? "failed" : "completed", ms);
         }
+    }
 
-        try {
-            String src = driver.getPageSource();
-            return src != null && !src.isEmpty() && src.contains("android");
-        } catch (Exception e) {
-            return false;
+    /**
+     * Per-tier reset count and average duration for this run
+     */
+    public static String getStatsSummary() {
+        StringBuilder sb = new StringBuilder("App resets:");
+        if (tierStats.isEmpty()) {
+            return sb.append(" none").toString();
         }
+        tierStats.forEach((tier, stats) -> sb.append(String.format(" %s=%dx avg %d ms (%d failed);",
+                tier, stats[0].get(), stats[1].get() / Math.max(1, stats[0].get()), stats[2].get())));
+        return sb.toString();
     }
 }
-
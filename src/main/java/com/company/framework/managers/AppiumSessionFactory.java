@@ -0,0 +1,84 @@
+package com.company.framework.managers;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.utils.MjpegFrameSource;
+import com.company.framework.utils.MobileDeviceUtils;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Properties;
+
+/**
+ * AppiumSessionFactory - Single place where Appium sessions are created
+ *
+ * Used by ThreadLocalDriverManager for on-demand sessions and by
+ * AppiumSessionPool for pre-warmed ones, so both get identical capabilities.
+ */
+public final class AppiumSessionFactory {
+
+    private static final Logger logger = LogManager.getLogger(AppiumSessionFactory.class);
+
+    private AppiumSessionFactory() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Open a new session on the given device of the device matrix
+     * @param deviceName device name from device-matrix.json
+     * @param platform Android or iOS
+     * @return started AppiumDriver
+     */
+    public static AppiumDriver createSession(String deviceName, String platform) {
+        DesiredCapabilities capabilities = MobileDeviceUtils.getDeviceCapabilities(deviceName, platform);
+        MjpegFrameSource.configure(capabilities, platform);
+        long start = System.nanoTime();
+        try {
+            URL serverUrl = new URI(getServerUrl()).toURL();
+            AppiumDriver session = FrameworkConfig.isPageSourceCacheEnabled()
+                    ? new AppiumDriver(new PageSourceCachingExecutor(serverUrl, FrameworkConfig.getPageSourceCacheMaxAge()), capabilities)
+                    : new AppiumDriver(serverUrl, capabilities);
+            logger.info("Session {} created on device '{}' in {} ms",
+                    session.getSessionId(), deviceName, (System.nanoTime() - start) / 1_000_000);
+            MjpegFrameSource.start(session);
+            return session;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialize Appium driver on device " + deviceName, e);
+        }
+    }
+
+    /**
+     * Appium server URL: the framework setting, falling back to appiumServer in
+     * capabilities.properties (same chain as DriverManager)
+     */
+    public static String getServerUrl() {
+        String appiumServer = FrameworkConfig.getAppiumServerUrl();
+        if (appiumServer == null || appiumServer.isEmpty()) {
+            Properties props = DependencyManager.getInstance().getConfigurationManager()
+                    .loadProperties("capabilities.properties");
+            appiumServer = props.getProperty("appiumServer", FrameworkConfig.getAppiumServerUrl());
+        }
+        return appiumServer;
+    }
+
+    /**
+     * Cheap liveness probe: one constant-size round trip against the session
+     * @param session session to check
+     * @return true if the server still answers for this session
+     */
+    public static boolean isHealthy(AppiumDriver session) {
+        if (session == null || session.getSessionId() == null) {
+            return false;
+        }
+        try {
+            session.getSettings();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Session {} failed health check: {}", session.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.company.framework.managers;
+
+import com.company.framework.utils.MobileDeviceUtils;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * AppiumSessionPool - Pre-warmed pool of Appium sessions, one per matrix device
+ *
+ * Sessions are opened concurrently during @BeforeSuite so test classes lease
+ * a ready session instead of paying the UiAutomator2 bootstrap serially.
+ * Returned sessions are health-checked and the app is reset with the configured
+ * session.reset.policy before the session goes back to the idle queue, so the
+ * next lease never sees the previous class's app state. Sessions that fail the
+ * health check or the reset, or are handed back through discard(), are quit and
+ * replaced on a background thread instead.
+ */
+public class AppiumSessionPool {
+
+    private static final Logger logger = LogManager.getLogger(AppiumSessionPool.class);
+    private static volatile AppiumSessionPool instance;
+
+    private final String platform;
+    private final BiConsumer<AppiumDriver, SessionResetPolicy> resetter;
+    private final LinkedBlockingQueue<PooledSession> idle = new LinkedBlockingQueue<>();
+    private final Set<PooledSession> all = ConcurrentHashMap.newKeySet();
+    private final ExecutorService replacer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "session-pool-replacer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong replacements = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+
+    AppiumSessionPool(String platform, BiConsumer<AppiumDriver, SessionResetPolicy> resetter) {
+        this.platform = platform;
+        this.resetter = resetter;
+    }
+
+    /**
+     * A session leased from the pool together with the device it runs on
+     */
+    public static final class PooledSession {
+        private final AppiumDriver driver;
+        private final String deviceName;
+
+        PooledSession(AppiumDriver driver, String deviceName) {
+            this.driver = driver;
+            this.deviceName = deviceName;
+        }
+
+        public AppiumDriver getDriver() { return driver; }
+        public String getDeviceName() { return deviceName; }
+    }
+
+    // ========================================
+    // LIFECYCLE
+    // ========================================
+
+    /**
+     * Open one session per matrix device of the platform, concurrently
+     * @param platform Android or iOS
+     * @param maxSessions upper bound on sessions (0 = one per device)
+     * @return the started pool
+     */
+    public static synchronized AppiumSessionPool start(String platform, int maxSessions) {
+        if (instance != null) {
+            return instance;
+        }
+
+        List<String> devices = MobileDeviceUtils.getDevicesForPlatform(platform);
+        if (maxSessions > 0 && devices.size() > maxSessions) {
+            devices = devices.subList(0, maxSessions);
+        }
+
+        AppiumSessionPool pool = new AppiumSessionPool(platform, (driver, policy) -> AppLifecycleManager
+                .forConfig(driver, DependencyManager.getInstance().getConfigurationManager())
+                .resetApp(policy));
+        long start = System.nanoTime();
+        ExecutorService warmup = Executors.newFixedThreadPool(Math.max(1, devices.size()));
+        try {
+            List<Future<PooledSession>> futures = new ArrayList<>();
+            for (String device : devices) {
+                futures.add(warmup.submit(() ->
+                        new PooledSession(AppiumSessionFactory.createSession(device, platform), device)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    pool.add(futures.get(i).get());
+                } catch (Exception e) {
+                    logger.error("Could not pre-warm session on device '{}': {}", devices.get(i), e.getMessage());
+                }
+            }
+        } finally {
+            warmup.shutdown();
+        }
+
+        logger.info("Session pool warmed {}/{} sessions in {} ms",
+                pool.all.size(), devices.size(), (System.nanoTime() - start) / 1_000_000);
+        if (pool.all.isEmpty()) {
+            pool.replacer.shutdownNow();
+            return null;
+        }
+        instance = pool;
+        return pool;
+    }
+
+    public static AppiumSessionPool getInstance() { return instance; }
+
+    public static boolean isActive() { return instance != null; }
+
+    /**
+     * Quit every pooled session and stop background replacement
+     */
+    public static synchronized void shutdown() {
+        AppiumSessionPool pool = instance;
+        if (pool == null) return;
+        instance = null;
+
+        logger.info(pool.getStatsSummary());
+        pool.replacer.shutdownNow();
+        for (PooledSession session : pool.all) {
+            try {
+                SessionCleanup.sessionEnded(session.driver);
+                session.driver.quit();
+            } catch (Exception e) {
+                logger.warn("Failed to quit pooled session on '{}': {}", session.deviceName, e.getMessage());
+            }
+        }
+        pool.all.clear();
+        pool.idle.clear();
+    }
+
+    // ========================================
+    // LEASE / RETURN
+    // ========================================
+
+    /**
+     * Lease an idle session, waiting up to the timeout for one to be returned
+     * @param timeout maximum time to wait
+     * @return leased session, or null if none became available
+     */
+    public PooledSession lease(Duration timeout) {
+        leases.incrementAndGet();
+        PooledSession session = idle.poll();
+        if (session != null) {
+            hits.incrementAndGet();
+            return session;
+        }
+
+        long start = System.nanoTime();
+        try {
+            session = idle.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitNanos.addAndGet(System.nanoTime() - start);
+        }
+        if (session == null) {
+            logger.warn("No pooled session available within {} s", timeout.getSeconds());
+        }
+        return session;
+    }
+
+    /**
+     * Return a leased session: it is reset with the configured policy and offered
+     * again, or replaced in the background if it is unhealthy or the reset fails
+     * @param session session obtained from lease()
+     */
+    public void release(PooledSession session) {
+        if (session == null || !all.contains(session)) return;
+
+        if (AppiumSessionFactory.isHealthy(session.driver)) {
+            SessionResetPolicy policy = SessionResetPolicy.configured();
+            try {
+                resetter.accept(session.driver, policy);
+                resets.incrementAndGet();
+                idle.offer(session);
+                return;
+            } catch (Exception e) {
+                logger.warn("Reset {} failed on pooled session on device '{}', replacing it: {}",
+                        policy, session.deviceName, e.getMessage());
+            }
+        }
+        discard(session);
+    }
+
+    /**
+     * Take a session out of the pool for good (it is known to be unusable);
+     * it is quit and a new session is opened on its device in the background
+     * @param session session obtained from lease()
+     */
+    public void discard(PooledSession session) {
+        if (session == null || !all.remove(session)) return;
+
+        replacements.incrementAndGet();
+        replacer.submit(() -> {
+            try {
+                SessionCleanup.sessionEnded(session.driver);
+                session.driver.quit();
+            } catch (Exception ignored) {
+                // Session is already broken
+            }
+            try {
+                add(new PooledSession(AppiumSessionFactory.createSession(session.deviceName, platform), session.deviceName));
+                logger.info("Replaced broken session on device '{}'", session.deviceName);
+            } catch (Exception e) {
+                logger.error("Failed to replace session on device '{}': {}", session.deviceName, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Check whether a driver belongs to this pool
+     */
+    public boolean owns(AppiumDriver driver) {
+        return all.stream().anyMatch(session -> session.driver == driver);
+    }
+
+    void add(PooledSession session) {
+        all.add(session);
+        idle.offer(session);
+    }
+
+    // ========================================
+    // METRICS
+    // ========================================
+
+    public long getLeaseCount() { return leases.get(); }
+
+    /**
+     * Share of leases served immediately from an idle session
+     */
+    public double getHitRate() {
+        long total = leases.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long getTotalWaitMillis() { return waitNanos.get() / 1_000_000; }
+
+    public long getReplacementCount() { return replacements.get(); }
+
+    public int getSize() { return all.size(); }
+
+    /**
+     * Sessions currently waiting to be leased
+     */
+    public int getIdleCount() { return idle.size(); }
+
+    public String getStatsSummary() {
+        return String.format("Session pool: size=%d, leases=%d, hitRate=%.1f%%, leaseWait=%d ms, resets=%d, replaced=%d",
+                getSize(), getLeaseCount(), getHitRate() * 100, getTotalWaitMillis(), resets.get(), getReplacementCount());
+    }
+}
@@ -0,0 +1,225 @@
+package com.company.framework.managers;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.pages.AppiumSettingsProfile;
+import com.company.framework.pages.AppiumSettingsProfile.Toggle;
+import com.company.framework.utils.StatsRegistry;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AppiumSettingsManager - Applies per-page Appium settings profiles as deltas
+ *
+ * The first time a session is seen its current values of the managed settings
+ * are read once and kept as the baseline. Every page switch merges the page's
+ * AppiumSettingsProfile over that baseline, compares it with the values last
+ * applied to the session, and sends only the settings that changed - usually
+ * nothing, at most one setSettings round trip. Pages apply their profile
+ * whenever they become active, not only when constructed, and page classes
+ * without a profile put the baseline back. When the session ends the
+ * baseline is restored and the session is forgotten.
+ *
+ * With appium.settings.benchmark the first activation of each profiled page
+ * class also times page-source fetches under the baseline and the profile.
+ */
+public final class AppiumSettingsManager {
+
+    private static final Logger logger = LogManager.getLogger(AppiumSettingsManager.class);
+
+    static final List<String> MANAGED_SETTINGS = List.of(
+            "waitForIdleTimeout", "snapshotMaxDepth", "ignoreUnimportantViews", "allowInvisibleElements");
+
+    private static final int BENCHMARK_RUNS = 3;
+
+    private static final Map<SessionId, SessionSettings> sessions = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> benchmarkedPages = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong profileSwitches = new AtomicLong();
+    private static final AtomicLong settingsCalls = new AtomicLong();
+    private static final AtomicLong settingsSent = new AtomicLong();
+    private static final AtomicLong settingsSkipped = new AtomicLong();
+    private static final AtomicLong settingsNanos = new AtomicLong();
+
+    static {
+        StatsRegistry.register("AppiumSettingsManager", AppiumSettingsManager::getStatsSummary);
+        SessionCleanup.register(AppiumSettingsManager::release);
+    }
+
+    private AppiumSettingsManager() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    private static final class SessionSettings {
+        final Map<String, Object> baseline;
+        final Map<String, Object> current;
+
+        SessionSettings(Map<String, Object> baseline) {
+            this.baseline = baseline;
+            this.current = new HashMap<>(baseline);
+        }
+    }
+
+    // ========================================
+    // PROFILES
+    // ========================================
+
+    /**
+     * Apply the profile declared on a page class (or the baseline if it has none)
+     * @param driver session the page is bound to
+     * @param pageClass page object class that just became active
+     */
+    public static void applyProfile(AppiumDriver driver, Class<?> pageClass) {
+        if (!FrameworkConfig.isSettingsProfilesEnabled() || driver == null || driver.getSessionId() == null) {
+            return;
+        }
+        try {
+            AppiumSettingsProfile profile = pageClass.getAnnotation(AppiumSettingsProfile.class);
+            if (profile != null && FrameworkConfig.isSettingsBenchmarkEnabled() && benchmarkedPages.add(pageClass)) {
+                benchmark(driver, pageClass, BENCHMARK_RUNS);
+            }
+            apply(driver, profileOf(profile));
+            profileSwitches.incrementAndGet();
+        } catch (Exception e) {
+            logger.warn("Could not apply settings profile of {}: {}", pageClass.getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Settings a profile overrides; empty for a missing annotation
+     */
+    static Map<String, Object> profileOf(AppiumSettingsProfile profile) {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        if (profile == null) {
+            return overrides;
+        }
+        if (profile.waitForIdleTimeout() >= 0) overrides.put("waitForIdleTimeout", profile.waitForIdleTimeout());
+        if (profile.snapshotMaxDepth() >= 0) overrides.put("snapshotMaxDepth", profile.snapshotMaxDepth());
+        if (profile.ignoreUnimportantViews() != Toggle.UNCHANGED) {
+            overrides.put("ignoreUnimportantViews", profile.ignoreUnimportantViews() == Toggle.ON);
+        }
+        if (profile.allowInvisibleElements() != Toggle.UNCHANGED) {
+            overrides.put("allowInvisibleElements", profile.allowInvisibleElements() == Toggle.ON);
+        }
+        return overrides;
+    }
+
+    /**
+     * Bring the managed settings to baseline + overrides, sending only what differs
+     * @return number of settings sent
+     */
+    public static int apply(AppiumDriver driver, Map<String, Object> overrides) {
+        SessionSettings session = sessions.computeIfAbsent(driver.getSessionId(), id -> readBaseline(driver));
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        synchronized (session) {
+            for (String name : MANAGED_SETTINGS) {
+                Object desired = overrides.containsKey(name) ? overrides.get(name) : session.baseline.get(name);
+                if (desired != null && !sameValue(desired, session.current.get(name))) {
+                    delta.put(name, desired);
+                }
+            }
+            settingsSkipped.addAndGet(MANAGED_SETTINGS.size() - delta.size());
+            if (delta.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            driver.setSettings(delta);
+            settingsNanos.addAndGet(System.nanoTime() - start);
+            settingsCalls.incrementAndGet();
+            settingsSent.addAndGet(delta.size());
+            session.current.putAll(delta);
+        }
+        logger.info("Applied settings delta {}", delta);
+        return delta.size();
+    }
+
+    /**
+     * Put the session back on its baseline and forget it; a pooled session is
+     * leased again with the settings it started with
+     */
+    static void release(AppiumDriver driver) {
+        SessionSettings session = sessions.get(driver.getSessionId());
+        if (session == null) return;
+        try {
+            apply(driver, Map.of());
+        } finally {
+            sessions.remove(driver.getSessionId());
+        }
+    }
+
+    private static SessionSettings readBaseline(AppiumDriver driver) {
+        Map<String, Object> baseline = new HashMap<>();
+        Map<String, Object> reported = driver.getSettings();
+        for (String name : MANAGED_SETTINGS) {
+            if (reported.containsKey(name)) {
+                baseline.put(name, reported.get(name));
+            }
+        }
+        logger.info("Baseline settings for session {}: {}", driver.getSessionId(), baseline);
+        return new SessionSettings(baseline);
+    }
+
+    /**
+     * Settings come back from the server as JSON numbers of varying type
+     */
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return ((Number) a).longValue() == ((Number) b).longValue();
+        }
+        return Objects.equals(a, b);
+    }
+
+    // ========================================
+    // BENCHMARK
+    // ========================================
+
+    /**
+     * Time a page-source fetch under the baseline and under a page's profile
+     * @param pageClass page class whose profile is measured
+     * @param iterations fetches per configuration
+     * @return one-line summary
+     */
+    public static String benchmark(AppiumDriver driver, Class<?> pageClass, int iterations) {
+        Map<String, Object> profile = profileOf(pageClass.getAnnotation(AppiumSettingsProfile.class));
+        long baselineNanos = timePageSource(driver, Map.of(), iterations);
+        long profileNanos = timePageSource(driver, profile, iterations);
+        apply(driver, Map.of());
+
+        String summary = String.format("Settings benchmark for %s %s (%d runs): baseline avg %d ms, profile avg %d ms",
+                pageClass.getSimpleName(), profile, iterations,
+                baselineNanos / iterations / 1_000_000, profileNanos / iterations / 1_000_000);
+        logger.info(summary);
+        return summary;
+    }
+
+    private static long timePageSource(AppiumDriver driver, Map<String, Object> overrides, int iterations) {
+        apply(driver, overrides);
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            PageSourceCachingExecutor.invalidate(driver);
+            long start = System.nanoTime();
+            driver.getPageSource();
+            total += System.nanoTime() - start;
+        }
+        return total;
+    }
+
+    public static String getStatsSummary() {
+        return String.format("Appium settings profiles: page switches=%d, setSettings calls=%d (avg %d ms), settings sent=%d, unchanged skipped=%d",
+                profileSwitches.get(), settingsCalls.get(),
+                settingsNanos.get() / Math.max(1, settingsCalls.get()) / 1_000_000,
+                settingsSent.get(), settingsSkipped.get());
+    }
+}
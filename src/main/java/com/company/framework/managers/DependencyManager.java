@@ -4,7 +4,7 @@ import com.company.framework.interfaces.actions.IPageActions;
 import com.company.framework.interfaces.config.IConfigurationManager;
 import com.company.framework.interfaces.driver.IDriverManager;
 import com.company.framework.interfaces.wait.IWaitStrategy;
-import com.company.framework.utils.ExplicitWaitStrategy;
+import com.company.framework.utils.BackoffWaitStrategy;
 import com.company.framework.utils.PageActions;
 
 public class DependencyManager {
@@ -16,7 +16,8 @@ public class DependencyManager {
 
     private DependencyManager() {
         configurationManager = new com.company.framework.managers.ConfigurationManager();
-        driverManager = new com.company.framework.managers.DriverManager(configurationManager);
+        // Thread-scoped so every TestNG worker thread owns its own session
+        driverManager = new com.company.framework.managers.ThreadLocalDriverManager(configurationManager);
     }
 
     public static synchronized DependencyManager getInstance() {
@@ -28,7 +29,7 @@ public class DependencyManager {
     public IConfigurationManager getConfigurationManager() { return configurationManager; }
 
     public IWaitStrategy getWaitStrategy() {
-        if (waitStrategy == null) waitStrategy = new ExplicitWaitStrategy(driverManager, 30);
+        if (waitStrategy == null) waitStrategy = new BackoffWaitStrategy(driverManager, 30);
         return waitStrategy;
     }
 
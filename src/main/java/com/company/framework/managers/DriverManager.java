@@ -51,7 +51,7 @@ public class DriverManager implements IDriverManager {
 
     @Override
     public void quitDriver() {
-        if (driver != null) { driver.quit(); driver = null; }
+        if (driver != null) { SessionCleanup.sessionEnded(driver); driver.quit(); driver = null; }
     }
 
     @Override
@@ -5,40 +5,51 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.company.framework.interfaces.reporting.IReportingManager;
+import com.company.framework.reporting.ExtentReportWriter;
+import com.company.framework.utils.ScreenshotPipeline;
 import com.company.framework.utils.TestReportingUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
+/**
+ * ExtentReportingManager - ExtentReports implementation of IReportingManager
+ * The report is owned by an ExtentReportWriter; log calls are queued and never block the test thread
+ */
 public class ExtentReportingManager implements IReportingManager {
-    private static ExtentReports extent;
-    private ExtentTest currentTest;
+    private static final Logger logger = LogManager.getLogger(ExtentReportingManager.class);
+    private static volatile ExtentReportWriter writer;
 
     @Override
     public void initializeReport(String reportPath) {
         ExtentSparkReporter reporter = new ExtentSparkReporter(reportPath);
         reporter.config().setDocumentTitle("Automation Report");
         reporter.config().setReportName("Execution Report");
-        extent = new ExtentReports();
+        ExtentReports extent = new ExtentReports();
         extent.attachReporter(reporter);
+        ExtentReportWriter previous = writer;
+        writer = new ExtentReportWriter(extent);
+        if (previous != null) previous.close();
     }
 
     @Override
     public ExtentTest createTest(String testName, String description) {
-        currentTest = extent.createTest(testName, description);
-        return currentTest;
+        return writer.createTest(testName, description);
     }
 
     @Override
     public void logPass(ExtentTest test, String message) {
-        if (test != null) {
-            test.pass(message);
-        }
+        ExtentReportWriter.logTo(test, Status.PASS, message);
     }
 
     @Override
     public void logFail(ExtentTest test, String message) {
-        if (test != null) {
-            test.fail(message);
-        }
+        ExtentReportWriter.logTo(test, Status.FAIL, message);
+    }
+
+    @Override
+    public void logInfo(ExtentTest test, String message) {
+        ExtentReportWriter.logTo(test, Status.INFO, message);
     }
     
     /**
@@ -46,7 +57,7 @@ public class ExtentReportingManager implements IReportingManager {
      */
     public void logFailWithScreenshot(ExtentTest test, String message, WebDriver driver, String testName) {
         if (test != null) {
-            test.fail(message);
+            logFail(test, message);
             attachScreenshotToTest(test, driver, testName + "_FAILURE");
         }
     }
@@ -56,62 +67,30 @@ public class ExtentReportingManager implements IReportingManager {
      */
     public void logPassWithScreenshot(ExtentTest test, String message, WebDriver driver, String testName) {
         if (test != null) {
-            test.pass(message);
+            logPass(test, message);
             attachScreenshotToTest(test, driver, testName + "_PASS");
         }
     }
     
     /**
-     * Attach screenshot to test using both file path and base64 as fallback
+     * Attach screenshot to test as an inline thumbnail linked to the full image,
+     * or as base64 of the same capture if the background writer could not take it
      */
     private void attachScreenshotToTest(ExtentTest test, WebDriver driver, String screenshotName) {
         try {
-            // Method 1: Try file path approach
-            String screenshotPath = TestReportingUtils.captureScreenshot(driver, screenshotName);
-            if (screenshotPath != null) {
-                test.addScreenCaptureFromPath(screenshotPath);
-                return;
-            }
+            TestReportingUtils.attachScreenshot(test, ScreenshotPipeline.capture(driver, screenshotName));
         } catch (Exception e) {
-            // Method 2: Fallback to base64 encoding
-            try {
-                String base64Screenshot = TestReportingUtils.captureScreenshotAsBase64(driver);
-                test.addScreenCaptureFromBase64String(base64Screenshot);
-            } catch (Exception e2) {
-                test.warning("Failed to attach screenshot: " + e2.getMessage());
-            }
+            ExtentReportWriter.logTo(test, Status.WARNING, "Failed to attach screenshot: " + e.getMessage());
         }
     }
 
     @Override
     public void logSkip(ExtentTest test, String message) {
-        if (test != null) {
-            test.skip(message);
-        }
+        ExtentReportWriter.logTo(test, Status.SKIP, message);
     }
 
     public void log(ExtentTest test, Status status, String message) {
-        switch (status) {
-            case PASS:
-                logPass(test, message);
-                break;
-            case FAIL:
-                logFail(test, message);
-                break;
-            case SKIP:
-                logSkip(test, message);
-                break;
-            case INFO:
-                if (test != null) {
-                    test.info(message);
-                }
-                break;
-            case WARNING:
-                if (test != null) {
-                    test.warning(message);
-                }
-                break;
-        }
+        ExtentReportWriter.logTo(test, status, message);
     }
 
     @Override
@@ -120,5 +99,11 @@ public class ExtentReportingManager implements IReportingManager {
     }
 
     @Override
-    public void flush() { if (extent != null) extent.flush(); }
+    public void flush() {
+        ExtentReportWriter current = writer;
+        if (current != null) {
+            current.flush();
+            logger.info(current.getStatsSummary());
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package com.company.framework.managers;
+
+import com.company.framework.utils.StatsRegistry;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PageSourceCachingExecutor - Per-session page-source snapshot cache
+ *
+ * Sits underneath AppiumDriver so every getPageSource() caller benefits without
+ * code changes. A snapshot is valid for the current UI epoch: any command that
+ * is not on the read-only list (click, sendKeys, actions, key events, navigation,
+ * app management, unknown scripts, ...) starts a new epoch and drops it.
+ * Snapshots also expire after a short max age so pollers waiting for the app
+ * to change on its own still see fresh content.
+ *
+ * Context switches are counted per session whoever issues them, so callers
+ * that track the current context can tell when their copy is stale.
+ */
+public class PageSourceCachingExecutor extends AppiumCommandExecutor {
+
+    /** Commands that never change what is on screen */
+    private static final Set<String> READ_ONLY_COMMANDS = Set.of(
+            DriverCommand.GET_PAGE_SOURCE,
+            DriverCommand.FIND_ELEMENT,
+            DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT,
+            DriverCommand.FIND_CHILD_ELEMENTS,
+            DriverCommand.GET_ELEMENT_TEXT,
+            DriverCommand.GET_ELEMENT_ATTRIBUTE,
+            DriverCommand.GET_ELEMENT_DOM_PROPERTY,
+            DriverCommand.GET_ELEMENT_TAG_NAME,
+            DriverCommand.GET_ELEMENT_RECT,
+            DriverCommand.GET_ELEMENT_LOCATION,
+            DriverCommand.GET_ELEMENT_SIZE,
+            DriverCommand.IS_ELEMENT_DISPLAYED,
+            DriverCommand.IS_ELEMENT_ENABLED,
+            DriverCommand.IS_ELEMENT_SELECTED,
+            DriverCommand.GET_ACTIVE_ELEMENT,
+            DriverCommand.SCREENSHOT,
+            DriverCommand.ELEMENT_SCREENSHOT,
+            DriverCommand.GET_CURRENT_WINDOW_SIZE,
+            DriverCommand.GET_CURRENT_URL,
+            DriverCommand.GET_TITLE,
+            DriverCommand.GET_CAPABILITIES,
+            DriverCommand.GET_TIMEOUTS,
+            DriverCommand.GET_AVAILABLE_LOG_TYPES,
+            DriverCommand.GET_LOG,
+            DriverCommand.STATUS,
+            "currentActivity",
+            "getCurrentPackage",
+            "getSettings",
+            "getCurrentContextHandle",
+            "getContextHandles",
+            "getScreenOrientation",
+            "isKeyboardShown",
+            "getDisplayDensity",
+            "getSystemBars");
+
+    /** "mobile:" scripts that only query state */
+    private static final Set<String> READ_ONLY_SCRIPTS = Set.of(
+            "mobile: getCurrentPackage",
+            "mobile: getCurrentActivity",
+            "mobile: queryAppState",
+            "mobile: getDisplayDensity",
+            "mobile: getSystemBars",
+            "mobile: getDeviceTime",
+            "mobile: deviceInfo",
+            "mobile: isKeyboardShown",
+            "mobile: getContexts",
+            "mobile: getAppStrings",
+            "mobile: batteryInfo");
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+
+    private final long maxAgeNanos;
+    private final AtomicLong contextSwitches = new AtomicLong();
+    private String snapshot;
+    private long snapshotBytes;
+    private long snapshotTakenAt;
+
+    static {
+        StatsRegistry.register("PageSourceCachingExecutor", PageSourceCachingExecutor::getStatsSummary);
+    }
+
+    public PageSourceCachingExecutor(URL serverUrl, Duration maxAge) {
+        super(MobileCommand.commandRepository, AppiumClientConfig.defaultConfig().baseUrl(serverUrl));
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @Override
+    public Response execute(Command command) {
+        String name = command.getName();
+
+        if (DriverCommand.GET_PAGE_SOURCE.equals(name)) {
+            return pageSource(command);
+        }
+        if (!isReadOnly(command)) {
+            invalidate();
+        }
+        if (DriverCommand.SWITCH_TO_CONTEXT.equals(name)) {
+            contextSwitches.incrementAndGet();
+        }
+        return super.execute(command);
+    }
+
+    private synchronized Response pageSource(Command command) {
+        if (snapshot != null && System.nanoTime() - snapshotTakenAt <= maxAgeNanos) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(snapshotBytes);
+            Response cached = new Response(command.getSessionId());
+            cached.setState("success");
+            cached.setValue(snapshot);
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        Response response = super.execute(command);
+        if (response.getValue() instanceof String) {
+            snapshot = (String) response.getValue();
+            snapshotBytes = snapshot.getBytes(StandardCharsets.UTF_8).length;
+            snapshotTakenAt = System.nanoTime();
+        }
+        return response;
+    }
+
+    private boolean isReadOnly(Command command) {
+        String name = command.getName();
+        if (READ_ONLY_COMMANDS.contains(name)) {
+            return true;
+        }
+        if (DriverCommand.EXECUTE_SCRIPT.equals(name)) {
+            Object script = command.getParameters().get("script");
+            return script != null && READ_ONLY_SCRIPTS.contains(script.toString().trim());
+        }
+        return false;
+    }
+
+    /**
+     * Drop the current snapshot and start a new UI epoch
+     */
+    public synchronized void invalidate() {
+        if (snapshot != null) {
+            invalidations.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Drop the snapshot if it is older than the given age; for pollers that need fresher content
+     */
+    public synchronized void invalidateIfOlderThan(Duration maxAge) {
+        if (snapshot != null && System.nanoTime() - snapshotTakenAt > maxAge.toNanos()) {
+            invalidate();
+        }
+    }
+
+    // ========================================
+    // DRIVER HELPERS
+    // ========================================
+
+    /**
+     * Invalidate the snapshot of a session, if it uses this executor
+     */
+    public static void invalidate(AppiumDriver driver) {
+        if (driver != null && driver.getCommandExecutor() instanceof PageSourceCachingExecutor) {
+            ((PageSourceCachingExecutor) driver.getCommandExecutor()).invalidate();
+        }
+    }
+
+    /**
+     * Number of context switches sent on a session so far
+     * @return switch count, or -1 if the session does not use this executor
+     */
+    public static long getContextSwitchCount(AppiumDriver driver) {
+        if (driver != null && driver.getCommandExecutor() instanceof PageSourceCachingExecutor) {
+            return ((PageSourceCachingExecutor) driver.getCommandExecutor()).contextSwitches.get();
+        }
+        return -1;
+    }
+
+    /**
+     * Page source no older than maxAge, served from the snapshot when possible
+     */
+    public static String getPageSource(AppiumDriver driver, Duration maxAge) {
+        if (driver.getCommandExecutor() instanceof PageSourceCachingExecutor) {
+            ((PageSourceCachingExecutor) driver.getCommandExecutor()).invalidateIfOlderThan(maxAge);
+        }
+        return driver.getPageSource();
+    }
+
+    // ========================================
+    // METRICS
+    // ========================================
+
+    public static long getHitCount() { return hits.get(); }
+
+    public static long getMissCount() { return misses.get(); }
+
+    public static long getBytesSaved() { return bytesSaved.get(); }
+
+    public static String getStatsSummary() {
+        long total = hits.get() + misses.get();
+        return String.format("Page-source cache: hits=%d, misses=%d, hitRate=%.1f%%, saved=%d KB, invalidations=%d",
+                hits.get(), misses.get(), total == 0 ? 0.0 : hits.get() * 100.0 / total,
+                bytesSaved.get() / 1024, invalidations.get());
+    }
+}
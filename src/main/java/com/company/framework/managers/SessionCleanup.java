@@ -0,0 +1,50 @@
+package com.company.framework.managers;
+
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * SessionCleanup - Hooks run when a session leaves its test thread
+ *
+ * Utilities that keep state per Appium session (scroll engine, context cache,
+ * settings, geometry, MJPEG reader, ...) register a hook from their static
+ * initializer. The driver managers call sessionEnded() before a session is
+ * quit or returned to the pool, so no per-session entry outlives its binding
+ * and a pooled session starts the next lease without inherited state.
+ */
+public final class SessionCleanup {
+
+    private static final Logger logger = LogManager.getLogger(SessionCleanup.class);
+    private static final List<Consumer<AppiumDriver>> hooks = new CopyOnWriteArrayList<>();
+
+    private SessionCleanup() {
+    }
+
+    /**
+     * Register a hook; it is called with the still-open driver
+     * @param hook cleanup for one session, must tolerate sessions it never saw
+     */
+    public static void register(Consumer<AppiumDriver> hook) {
+        hooks.add(hook);
+    }
+
+    /**
+     * Run every hook for a session that is about to be quit or released
+     * @param driver the session, still open; drivers without a session id are ignored
+     */
+    public static void sessionEnded(AppiumDriver driver) {
+        if (driver == null || driver.getSessionId() == null) return;
+        for (Consumer<AppiumDriver> hook : hooks) {
+            try {
+                hook.accept(driver);
+            } catch (Exception e) {
+                logger.debug("Session cleanup hook failed for {}: {}", driver.getSessionId(), e.getMessage());
+            }
+        }
+    }
+}
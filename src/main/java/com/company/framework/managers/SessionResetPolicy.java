@@ -0,0 +1,39 @@
+package com.company.framework.managers;
+
+import com.company.framework.config.FrameworkConfig;
+
+/**
+ * SessionResetPolicy - How a reused or pooled session is cleaned up between test classes
+ * Configured through session.reset.policy in framework.properties
+ */
+public enum SessionResetPolicy {
+    NONE,
+    HOME,
+    RELAUNCH,
+    CLEAR_DATA,
+    REINSTALL;
+
+    /**
+     * Policy from session.reset.policy, RELAUNCH if unset or unknown
+     */
+    public static SessionResetPolicy configured() {
+        return fromString(FrameworkConfig.getSessionResetPolicy(), RELAUNCH);
+    }
+
+    /**
+     * Parse a policy name, accepting "clear data", "clear-data" and "clear_data"
+     * @param value configured value
+     * @param fallback policy used when value is blank or unknown
+     * @return parsed policy
+     */
+    public static SessionResetPolicy fromString(String value, SessionResetPolicy fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace(' ', '_').replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
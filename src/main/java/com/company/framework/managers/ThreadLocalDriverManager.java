@@ -0,0 +1,252 @@
+package com.company.framework.managers;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.interfaces.config.IConfigurationManager;
+import com.company.framework.interfaces.driver.IDriverManager;
+import com.company.framework.utils.MjpegFrameSource;
+import com.company.framework.utils.MobileDeviceUtils;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * ThreadLocalDriverManager - Thread-scoped implementation of IDriverManager
+ *
+ * Every TestNG worker thread owns its own Appium session, bound to the device
+ * handed out by MobileDeviceUtils.allocateDevice. A single instance can safely be
+ * shared through DependencyManager because all state is kept per thread.
+ * When AppiumSessionPool is active, sessions are leased from the pool and
+ * returned to it on quitDriver() instead of being created and quit.
+ * With session reuse enabled, releaseDriver() keeps a healthy session for the
+ * next test class on the same thread and applies the configured reset policy
+ * when that class picks it up.
+ * Per-session caches are dropped through SessionCleanup before a session is
+ * quit or handed back to the pool.
+ */
+public class ThreadLocalDriverManager implements IDriverManager {
+
+    private static final Logger logger = LogManager.getLogger(ThreadLocalDriverManager.class);
+
+    private final ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
+    private final ThreadLocal<String> device = new ThreadLocal<>();
+    private final ThreadLocal<AppiumSessionPool.PooledSession> lease = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> pendingReset = ThreadLocal.withInitial(() -> false);
+    private final AtomicLong reusedSessions = new AtomicLong();
+    private final AtomicLong discardedSessions = new AtomicLong();
+    private final Map<AppiumDriver, String> activeSessions = new ConcurrentHashMap<>();
+    private final IConfigurationManager configManager;
+    private final BiConsumer<AppiumDriver, SessionResetPolicy> resetter;
+
+    public ThreadLocalDriverManager(IConfigurationManager configManager) {
+        this(configManager, (session, policy) -> AppLifecycleManager.forConfig(session, configManager).resetApp(policy));
+    }
+
+    ThreadLocalDriverManager(IConfigurationManager configManager, BiConsumer<AppiumDriver, SessionResetPolicy> resetter) {
+        this.configManager = configManager;
+        this.resetter = resetter;
+    }
+
+    @Override
+    public AppiumDriver getDriver() {
+        if (driver.get() == null) initializeDriver();
+        return driver.get();
+    }
+
+    @Override
+    public AppiumDriver initializeAndGetDriver() {
+        initializeDriver();
+        return getDriver();
+    }
+
+    @Override
+    public void initializeDriver() {
+        if (driver.get() != null) {
+            if (pendingReset.get()) {
+                reuseSession();
+            }
+            if (driver.get() != null) return;
+        }
+
+        AppiumSessionPool pool = AppiumSessionPool.getInstance();
+        if (pool != null) {
+            AppiumSessionPool.PooledSession pooled = pool.lease(FrameworkConfig.getSessionPoolLeaseTimeout());
+            if (pooled != null) {
+                lease.set(pooled);
+                bind(pooled.getDriver(), pooled.getDeviceName());
+                MjpegFrameSource.start(pooled.getDriver()); // Its reader stopped when the session was last released
+                return;
+            }
+            logger.warn("Falling back to a dedicated session for thread '{}'", Thread.currentThread().getName());
+        }
+
+        String platform = configManager.getProperty("platformName", "Android");
+        String deviceName = MobileDeviceUtils.allocateDevice(platform);
+        try {
+            bind(AppiumSessionFactory.createSession(deviceName, platform), deviceName);
+        } catch (RuntimeException e) {
+            MobileDeviceUtils.releaseDevice();
+            throw e;
+        }
+    }
+
+    void bind(AppiumDriver session, String deviceName) {
+        driver.set(session);
+        device.set(deviceName);
+        activeSessions.put(session, deviceName);
+        logger.info("Session {} bound to device '{}' for thread '{}'",
+                session.getSessionId(), deviceName, Thread.currentThread().getName());
+    }
+
+    /**
+     * Apply the reset policy to the session kept from the previous class;
+     * a session that cannot be reset is discarded (a pooled one is replaced,
+     * never offered again) so a fresh one is opened
+     */
+    void reuseSession() {
+        pendingReset.set(false);
+        SessionResetPolicy policy = SessionResetPolicy.configured();
+        try {
+            resetter.accept(driver.get(), policy);
+            reusedSessions.incrementAndGet();
+            logger.info("Reusing session {} on device '{}' (reset: {})",
+                    driver.get().getSessionId(), device.get(), policy);
+        } catch (Exception e) {
+            logger.warn("Reset {} failed on reused session, opening a new one: {}", policy, e.getMessage());
+            discardedSessions.incrementAndGet();
+            endSession(true);
+        }
+    }
+
+    /**
+     * Keep a healthy session for the next class on this thread; quit it otherwise
+     */
+    @Override
+    public void releaseDriver() {
+        AppiumDriver session = driver.get();
+        if (session == null) return;
+
+        if (FrameworkConfig.isSessionReuseEnabled() && AppiumSessionFactory.isHealthy(session)) {
+            pendingReset.set(true);
+            return;
+        }
+        quitDriver();
+    }
+
+    @Override
+    public void quitDriver() {
+        endSession(false);
+    }
+
+    /**
+     * Unbind this thread's session; a pooled session is released for reuse,
+     * or discarded from the pool when it is known to be broken
+     */
+    private void endSession(boolean broken) {
+        AppiumDriver session = driver.get();
+        if (session == null) return;
+
+        AppiumSessionPool.PooledSession pooled = lease.get();
+        AppiumSessionPool pool = AppiumSessionPool.getInstance();
+        try {
+            SessionCleanup.sessionEnded(session);
+            if (pooled != null && pool != null) {
+                if (broken) {
+                    pool.discard(pooled);
+                } else {
+                    pool.release(pooled);
+                }
+            } else {
+                quitQuietly(session, broken);
+            }
+        } finally {
+            activeSessions.remove(session);
+            driver.remove();
+            device.remove();
+            lease.remove();
+            pendingReset.remove();
+            if (pooled == null) {
+                MobileDeviceUtils.releaseDevice();
+            }
+        }
+    }
+
+    private void quitQuietly(AppiumDriver session, boolean broken) {
+        try {
+            session.quit();
+        } catch (RuntimeException e) {
+            if (!broken) throw e;
+            logger.warn("Failed to quit discarded session on device '{}': {}", device.get(), e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isDriverInitialized() { return driver.get() != null; }
+
+    /**
+     * Device the current thread's session is bound to
+     * @return device name, or null if this thread holds no session
+     */
+    public String getCurrentDevice() { return device.get(); }
+
+    /**
+     * Device a session was bound to, from any thread
+     * @return device-matrix name, or null if the session is not held by this manager
+     */
+    public String getDevice(AppiumDriver session) {
+        return session != null ? activeSessions.get(session) : null;
+    }
+
+    /**
+     * Number of sessions currently open across all threads
+     */
+    public int getActiveSessionCount() { return activeSessions.size(); }
+
+    /**
+     * Number of times a session was carried over to another test class
+     */
+    public long getReusedSessionCount() { return reusedSessions.get(); }
+
+    /**
+     * Number of kept sessions thrown away because their reset failed
+     */
+    public long getDiscardedSessionCount() { return discardedSessions.get(); }
+
+    /**
+     * Quit every dedicated session still open on any thread (suite teardown safety net)
+     * Pooled sessions are closed by AppiumSessionPool.shutdown()
+     */
+    public void quitAllDrivers() {
+        logger.info("Sessions reused across classes: {}, discarded after a failed reset: {}",
+                reusedSessions.get(), discardedSessions.get());
+        List<AppiumDriver> sessions = new ArrayList<>(activeSessions.keySet());
+        for (AppiumDriver session : sessions) {
+            if (isPooled(session)) {
+                activeSessions.remove(session);
+                continue;
+            }
+            try {
+                SessionCleanup.sessionEnded(session);
+                session.quit();
+            } catch (Exception e) {
+                logger.warn("Failed to quit session on device '{}': {}", activeSessions.get(session), e.getMessage());
+            }
+            activeSessions.remove(session);
+        }
+        driver.remove();
+        device.remove();
+        lease.remove();
+        pendingReset.remove();
+    }
+
+    private boolean isPooled(AppiumDriver session) {
+        AppiumSessionPool pool = AppiumSessionPool.getInstance();
+        return pool != null && pool.owns(session);
+    }
+}
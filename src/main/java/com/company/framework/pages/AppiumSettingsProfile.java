@@ -0,0 +1,42 @@
+package com.company.framework.pages;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * AppiumSettingsProfile - Appium settings a page object needs while it is active
+ *
+ * Placed on an ImprovedBasePage subclass. When the page is constructed or
+ * activated the profile is merged over the session's baseline settings and only the values
+ * that differ from what the session currently uses are sent (see
+ * AppiumSettingsManager). Unset elements keep the baseline value, and pages
+ * without the annotation restore the baseline.
+ *
+ * Example:
+ *   {@code @AppiumSettingsProfile(waitForIdleTimeout = 100, ignoreUnimportantViews = Toggle.ON)}
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AppiumSettingsProfile {
+
+    /** Value for boolean settings; UNCHANGED keeps the baseline */
+    enum Toggle { UNCHANGED, ON, OFF }
+
+    /** Milliseconds UiAutomator waits for the UI to become idle before each command, -1 keeps the baseline */
+    long waitForIdleTimeout() default -1;
+
+    /** Maximum depth of the hierarchy snapshot, -1 keeps the baseline */
+    int snapshotMaxDepth() default -1;
+
+    /** Drop views Android marks as unimportant for accessibility from the hierarchy */
+    Toggle ignoreUnimportantViews() default Toggle.UNCHANGED;
+
+    /** Include invisible elements in the hierarchy and lookups */
+    Toggle allowInvisibleElements() default Toggle.UNCHANGED;
+}
@@ -1,13 +1,18 @@
 package com.company.framework.pages;
 
+import com.company.framework.config.FrameworkConfig;
 import com.company.framework.interfaces.actions.IPageActions;
 import com.company.framework.interfaces.actions.IScrollActions;
 import com.company.framework.interfaces.wait.IWaitStrategy;
+import com.company.framework.managers.AppiumSettingsManager;
+import com.company.framework.utils.ContextManager;
+import com.company.framework.utils.DeadlineBudget;
+import com.company.framework.utils.MultiLocatorWait;
+import com.company.framework.utils.ScrollEngine;
 
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -16,6 +21,8 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 /**
  * ImprovedBasePage - Base class for all page objects
  * Provides common functionality and SOLID principle implementation
+ * Subclasses can declare the Appium settings they need with @AppiumSettingsProfile;
+ * it is applied once when the page is constructed, and again only through activate()
  */
 public abstract class ImprovedBasePage {
     
@@ -25,9 +32,28 @@ public abstract class ImprovedBasePage {
     
     public ImprovedBasePage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), getClass().getSimpleName());
+        activate();
+    }
+
+    /**
+     * Make this page the active one: apply its settings profile (or restore the
+     * baseline) for whatever page was active before; called when navigating back
+     * to a page object that already exists. Final, because the constructor calls
+     * it before subclass fields are initialised
+     */
+    public final void activate() {
+        AppiumSettingsManager.applyProfile(driver, getClass());
     }
     
+    /**
+     * Session this page object is bound to
+     * @return AppiumDriver instance
+     */
+    public AppiumDriver getDriver() {
+        return driver;
+    }
+
     /**
      * Get page actions for common operations
      * @return IPageActions instance
@@ -54,16 +80,14 @@ public abstract class ImprovedBasePage {
     
     /**
      * Wait for page to load
+     * document.readyState in a webview context, a stable hierarchy in the native context
      */
     protected void waitForPageToLoad() {
         // Default implementation - can be overridden
-        try {
-            // Wait for page readiness using WebDriverWait instead of sleep
-            WebDriverWait pageWait = new WebDriverWait(driver, Duration.ofSeconds(2));
-            pageWait.until(driver -> ((JavascriptExecutor) driver)
-                .executeScript("return document.readyState").equals("complete"));
-        } catch (Exception e) {
-            logger.warn("Page stabilization wait failed: {}", e.getMessage());
+        activate();
+        ContextManager context = ContextManager.forDriver(driver);
+        if (context.isWebView() || FrameworkConfig.isUiStabilityOnPageLoadEnabled()) {
+            context.waitForReady(Duration.ofSeconds(2));
         }
     }
     
@@ -101,7 +125,7 @@ public abstract class ImprovedBasePage {
         public void waitAndClick(org.openqa.selenium.WebElement element) {
             // Wait for element to be clickable then click
             try {
-                WebDriverWait localWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+                WebDriverWait localWait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "ImprovedBasePage");
                 localWait.until(ExpectedConditions.elementToBeClickable(element));
                 element.click();
             } catch (Exception e) {
@@ -124,15 +148,19 @@ public abstract class ImprovedBasePage {
 
         @Override
             public void scrollToText(String visibleText) {
-                // Simple example for Android UiScrollable
+                // Server-side UiScrollable on Android
                 try {
-                    driver.executeScript("mobile: scroll", 
-                        java.util.Map.of("strategy", "accessibility id", "selector", visibleText));
+                    scrollIntoView(MatchBy.TEXT_CONTAINS, visibleText, FrameworkConfig.getScrollMaxSwipes());
                 } catch (Exception e) {
-                    // Fallback or log
+                    logger.warn("Scroll to text failed: {}", e.getMessage());
                 }
             }
 
+            @Override
+            public org.openqa.selenium.WebElement scrollIntoView(MatchBy matchBy, String value, int maxSwipes) {
+                return ScrollEngine.forDriver(driver).scrollIntoView(matchBy, value, maxSwipes);
+            }
+
             @Override
             public void scrollVertically(int pixels) {
                 driver.executeScript("window.scrollBy(0," + pixels + ");");
@@ -157,7 +185,7 @@ public abstract class ImprovedBasePage {
         @Override
         public org.openqa.selenium.WebElement waitForVisibility(org.openqa.selenium.WebElement element) {
             try {
-                WebDriverWait localWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+                WebDriverWait localWait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "ImprovedBasePage");
                 return localWait.until(ExpectedConditions.visibilityOf(element));
             } catch (Exception e) {
                 // Fallback to return element as-is
@@ -168,7 +196,7 @@ public abstract class ImprovedBasePage {
         @Override
         public org.openqa.selenium.WebElement waitForClickable(org.openqa.selenium.WebElement element) {
             try {
-                WebDriverWait localWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+                WebDriverWait localWait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "ImprovedBasePage");
                 return localWait.until(ExpectedConditions.elementToBeClickable(element));
             } catch (Exception e) {
                 // Fallback to return element as-is
@@ -179,7 +207,7 @@ public abstract class ImprovedBasePage {
         @Override
         public boolean waitForInvisibility(org.openqa.selenium.By locator) {
             try {
-                WebDriverWait localWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+                WebDriverWait localWait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "ImprovedBasePage");
                 return localWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
             } catch (Exception e) {
                 return true; // Assume invisible if not found
@@ -189,11 +217,20 @@ public abstract class ImprovedBasePage {
         @Override
         public boolean waitForTextToBePresentInElement(org.openqa.selenium.WebElement element, String text) {
             try {
-                WebDriverWait localWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+                WebDriverWait localWait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "ImprovedBasePage");
                 return localWait.until(ExpectedConditions.textToBePresentInElement(element, text));
             } catch (Exception e) {
                 return false;
             }
         }
+
+        @Override
+        public org.openqa.selenium.WebElement waitForAnyVisible(org.openqa.selenium.By... locators) {
+            MultiLocatorWait.Result result = MultiLocatorWait.waitForAny(driver, locators, Duration.ofSeconds(10), true);
+            if (result == null) {
+                throw new org.openqa.selenium.NoSuchElementException("No element visible for any of " + locators.length + " locators");
+            }
+            return result.getFirstElement();
+        }
     }
 }
\ No newline at end of file
@@ -2,18 +2,21 @@ package com.company.framework.pages.bild;
 
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 
 import com.company.framework.locators.bild.BildAppLocators;
 import com.company.framework.locators.bild.BildAppLocators.BildElementType;
+import com.company.framework.managers.AppiumSettingsManager;
+import com.company.framework.utils.ContextManager;
+import com.company.framework.utils.DeadlineBudget;
 import com.company.framework.utils.MobileTestUtils;
+import com.company.framework.utils.ScrollEngine;
 import com.company.framework.utils.TouchActionUtils;
 import com.company.framework.utils.WaitUtils;
 
-import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
-
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +31,8 @@ public class BildLoginPage {
 
     public BildLoginPage(AppiumDriver driver) {
         this.driver = driver;
+        // No settings profile: drop whatever the previously active page applied
+        AppiumSettingsManager.applyProfile(driver, getClass());
     }
 
     public void openLoginForm() {
@@ -74,46 +79,44 @@ public class BildLoginPage {
         MobileTestUtils.waitForPageToLoad(driver);
     }
 
+    /**
+     * Click the first premium marker found; a missing marker is only logged,
+     * a spent step budget fails the step
+     */
     public void clickPremiumMarkerIfPresent() {
-        try {
-            WebElement premiumMarker = null;
-            TouchActionUtils touch = new TouchActionUtils(driver);
+        TouchActionUtils touch = new TouchActionUtils(driver);
 
-            for (By locator : BildAppLocators.getLocators(BildElementType.PREMIUM_MARKER_ICON)) { 
+        for (By locator : BildAppLocators.getLocators(BildElementType.PREMIUM_MARKER_ICON)) { 
+            WebElement premiumMarker;
+            try {
                 premiumMarker = touch.scrollUntilVisibleAndClickable(locator, 5, 5);
-                if (premiumMarker != null) {
-                    logger.info("✅ Premium marker found and clickable: " + locator);
-                    premiumMarker.click();
-                    MobileTestUtils.waitForPageToLoad(driver);
-                    return;
+            } catch (TimeoutException | NoSuchElementException e) {
+                if (DeadlineBudget.isExhausted()) {
+                    throw e;
                 }
+                logger.info("Premium marker not clickable via {}: {}", locator, e.getMessage());
+                continue;
+            }
+            if (premiumMarker != null) {
+                logger.info("✅ Premium marker found and clickable: " + locator);
+                premiumMarker.click();
+                // Premium articles render in a WebView - wait for its document, stay native
+                ContextManager.forDriver(driver).waitForWebViewContent(Duration.ofSeconds(10));
+                return;
             }
-
-            logger.warn("⚠️ Premium marker not found after all scroll attempts");
-
-        } catch (Exception e) {
-            logger.error("⚠️ Premium marker interaction failed: " + e.getMessage());
         }
+
+        logger.warn("⚠️ Premium marker not found after all scroll attempts");
     }
 
-    private void scrollDown() {
+    private boolean scrollDown() {
         try {
-            org.openqa.selenium.Dimension screenSize = driver.manage().window().getSize();
-            int startY = (int) (screenSize.height * 0.7);
-            int endY = (int) (screenSize.height * 0.3);
-            int centerX = screenSize.width / 2;
-
-            PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-            Sequence scroll = new Sequence(finger, 1);
-            scroll.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX, startY));
-            scroll.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-            scroll.addAction(finger.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX, endY));
-            scroll.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-            driver.perform(Arrays.asList(scroll));
-            logger.info("🔄 Scroll gesture performed using W3C Actions");
+            boolean moved = ScrollEngine.forDriver(driver).scrollDown();
+            logger.info("🔄 Scroll gesture performed");
+            return moved;
         } catch (Exception e) {
             logger.error("⚠️ Scroll failed: " + e.getMessage());
+            return false;
         }
     }
 
@@ -121,10 +124,10 @@ public class BildLoginPage {
         try {
             WebElement weiterButton = null;
 
-            WaitUtils waitUtils = new WaitUtils(5);
+            WaitUtils waitUtils = new WaitUtils(driver, 5);
             
             for (int i = 0; i < 3; i++) {
-                scrollDown();
+                boolean moved = scrollDown();
                 
                 // Wait for elements to be available after scroll
                 List<By> possibleLocators = Arrays.asList(
@@ -144,6 +147,10 @@ public class BildLoginPage {
                         }
                     } catch (Exception ignored) {}
                 }
+
+                if (!moved) {
+                    break; // End of list - further scrolls would show the same content
+                }
             }
 
             logger.warn("⚠️ 'HIER GEHT'S WEITER' button not found");
@@ -4,6 +4,7 @@ import com.company.framework.utils.MobileTestUtils;
 import com.company.framework.utils.TestDataManager;
 import com.company.framework.locators.bild.BildAppLocators;
 import com.company.framework.locators.bild.BildAppLocators.BildElementType;
+import com.company.framework.managers.AppiumSettingsManager;
 
 import org.openqa.selenium.WebElement;
 import io.appium.java_client.AppiumDriver;
@@ -14,6 +15,8 @@ public class BildSearchPage {
 
     public BildSearchPage(AppiumDriver driver) {
         this.driver = driver;
+        // Back to baseline settings in case a profiled page was active
+        AppiumSettingsManager.applyProfile(driver, getClass());
     }
 
     public void performSearch(String searchTerm) {
@@ -28,7 +31,7 @@ public class BildSearchPage {
         searchInput.sendKeys(searchTerm);
 
         // Step 3: Tap on search suggestion using coordinates from test data
-        int[] coords = TestDataManager.getPatternSearchCoordinates();
+        int[] coords = TestDataManager.getPatternSearchCoordinates(driver);
         int duration = TestDataManager.getPatternSearchTapDuration();
         MobileTestUtils.tapAtCoordinates(driver, coords[0], coords[1], duration);
 
@@ -9,6 +9,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 
 // Import components from new organized packages
+import com.company.framework.pages.AppiumSettingsProfile;
 import com.company.framework.pages.bild.elements.BildHomeElements;
 import com.company.framework.pages.bild.actions.BildHomeNavigationActions;
 import com.company.framework.pages.bild.actions.BildHomeSearchActions;
@@ -25,7 +26,11 @@ import java.util.List;
  * - Liskov Substitution: Uses interfaces for all dependencies
  * - Interface Segregation: Uses specific action interfaces
  * - Dependency Inversion: Depends on abstractions, not implementations
+ *
+ * The home feed keeps animating (teasers, ads), so UiAutomator never sees it idle;
+ * the settings profile caps the idle wait and trims layout-only views from lookups.
  */
+@AppiumSettingsProfile(waitForIdleTimeout = 100, ignoreUnimportantViews = AppiumSettingsProfile.Toggle.ON)
 public class ImprovedBildHomePage extends com.company.framework.pages.ImprovedBasePage {
 
     private static final Logger logger = LogManager.getLogger(ImprovedBildHomePage.class);
@@ -168,26 +173,17 @@ public class ImprovedBildHomePage extends com.company.framework.pages.ImprovedBa
         try {
             logger.info("⏳ Waiting for search results to load...");
             
-            org.openqa.selenium.support.ui.WebDriverWait wait = 
-                new org.openqa.selenium.support.ui.WebDriverWait(driver, java.time.Duration.ofSeconds(10));
-                
-            // Wait for any search result elements to be present
+            // Wait for any search result elements to be present, all locators sharing one deadline
             By[] searchResultLocators = com.company.framework.locators.bild.BildAppLocators.getLocators(
                 com.company.framework.locators.bild.BildAppLocators.BildElementType.SEARCH_RESULT_ITEM);
                 
-            boolean resultsFound = false;
-            for (By locator : searchResultLocators) {
-                try {
-                    wait.until(org.openqa.selenium.support.ui.ExpectedConditions.presenceOfElementLocated(locator));
-                    resultsFound = true;
-                    logger.info("✅ Search results loaded successfully");
-                    break;
-                } catch (Exception e) {
-                    // Try next locator
-                }
-            }
+            com.company.framework.utils.MultiLocatorWait.Result result = com.company.framework.utils.MultiLocatorWait
+                .waitForAny(driver, com.company.framework.locators.bild.BildAppLocators.BildElementType.SEARCH_RESULT_ITEM.name(),
+                    searchResultLocators, java.time.Duration.ofSeconds(10), false);
             
-            if (!resultsFound) {
+            if (result != null) {
+                logger.info("✅ Search results loaded successfully via {}", result);
+            } else {
                 logger.warn("⚠️ No search results found within timeout period");
             }
             
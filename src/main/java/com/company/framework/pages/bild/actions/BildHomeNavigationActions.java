@@ -8,8 +8,10 @@ import org.openqa.selenium.WebElement;
 import com.company.framework.interfaces.actions.INavigationActions;
 import com.company.framework.interfaces.actions.IPageActions;
 import com.company.framework.interfaces.actions.IScrollActions;
+import com.company.framework.config.FrameworkConfig;
 import com.company.framework.locators.bild.BildAppLocators;
 import com.company.framework.pages.bild.elements.BildHomeElements;
+import com.company.framework.utils.UnionLocator;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
@@ -111,6 +113,17 @@ public class BildHomeNavigationActions implements INavigationActions {
             // Approach 3: Look for back button elements on screen
             try {
                 By[] backButtonLocators = BildAppLocators.getLocators(BildAppLocators.BildElementType.BACK_BUTTON);
+                if (driver != null && FrameworkConfig.isLocatorUnionEnabled() && UnionLocator.union(backButtonLocators) != null) {
+                    // One round trip for all back button candidates
+                    List<WebElement> backElements = UnionLocator.findElements(driver,
+                            BildAppLocators.BildElementType.BACK_BUTTON.name(), backButtonLocators);
+                    if (!backElements.isEmpty() && pageActions.isDisplayed(backElements.get(0))) {
+                        pageActions.waitAndClick(backElements.get(0));
+                        logger.info("Successfully clicked back button using union of {} locators", backButtonLocators.length);
+                        return;
+                    }
+                    backButtonLocators = new By[0];
+                }
                 
                 for (By backLocator : backButtonLocators) {
                     try {
@@ -1,10 +1,15 @@
 package com.company.framework.pages.bild.actions;
 
+import com.company.framework.config.FrameworkConfig;
 import com.company.framework.interfaces.actions.IPageActions;
 import com.company.framework.interfaces.actions.ISearchActions;
 import com.company.framework.locators.bild.BildAppLocators;
 import com.company.framework.locators.bild.BildAppLocators.BildElementType;
+import com.company.framework.locators.common.LocatorStatistics;
+import com.company.framework.utils.HierarchySnapshot;
+import com.company.framework.utils.MultiLocatorWait;
 import com.company.framework.utils.TouchActionUtils;
+import com.company.framework.utils.UnionLocator;
 import com.company.framework.utils.WaitUtils;
 import com.company.framework.pages.bild.elements.BildHomeElements;
 
@@ -14,8 +19,10 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * BildHomeSearchActions - Handles search actions for BILD home page
@@ -39,7 +46,7 @@ public class BildHomeSearchActions implements ISearchActions {
         this.elements = elements;
         this.driver = driver;
         this.touchActions = new TouchActionUtils(driver);
-        this.waitUtils = new WaitUtils(10);
+        this.waitUtils = new WaitUtils(driver, 10);
     }
 
     @Override
@@ -102,15 +109,12 @@ public class BildHomeSearchActions implements ISearchActions {
         // Tap suggestion
         tapSearchSuggestionWithTestData();
 
-        // Wait for results
-        WaitUtils waitUtils = new WaitUtils(5);
-        By[] searchResultLocators = BildAppLocators.getLocators(BildElementType.SEARCH_RESULT_ITEM);
-        for (By locator : searchResultLocators) {
-            try {
-                waitUtils.waitForElementsToBePresent(locator);
-                break;
-            } catch (Exception ignored) {
-            }
+        // Wait for results: all result locators polled against one shared deadline
+        MultiLocatorWait.Result results = MultiLocatorWait.waitForAny(driver,
+                BildElementType.SEARCH_RESULT_ITEM.name(),
+                BildAppLocators.getLocators(BildElementType.SEARCH_RESULT_ITEM), Duration.ofSeconds(5), false);
+        if (results == null) {
+            logger.warn("No search results appeared for: {}", searchTerm);
         }
 
         logger.info("Search performed successfully for: " + searchTerm);
@@ -217,7 +221,7 @@ public class BildHomeSearchActions implements ISearchActions {
 
     public void tapSearchSuggestionWithTestData() {
         try {
-            int[] coords = com.company.framework.utils.TestDataManager.getPatternSearchCoordinates();
+            int[] coords = com.company.framework.utils.TestDataManager.getPatternSearchCoordinates(driver);
             int duration = com.company.framework.utils.TestDataManager.getPatternSearchTapDuration();
             touchActions.tapAtCoordinates(coords[0], coords[1], duration);
         } catch (Exception e) {
@@ -244,20 +248,11 @@ public class BildHomeSearchActions implements ISearchActions {
         }
 
         try {
-            // Fallback to BildAppLocators dynamic locators
-            By[] searchButtonLocators = BildAppLocators.getLocators(BildElementType.SEARCH_BUTTON_ALTERNATIVES);
-            logger.info("Trying {} search button locators", searchButtonLocators.length);
-            
-            for (int i = 0; i < searchButtonLocators.length; i++) {
-                By locator = searchButtonLocators[i];
-                List<WebElement> found = driver.findElements(locator);
-                logger.info("Locator {}: {} - Found {} elements", i, locator, found.size());
-                
-                if (!found.isEmpty()) {
-                    logger.info("Clicking search button found with locator: {}", locator);
-                    found.get(0).click();
-                    return true;
-                }
+            WebElement searchBtn = findSearchButton();
+            if (searchBtn != null) {
+                logger.info("Clicking search button");
+                searchBtn.click();
+                return true;
             }
         } catch (Exception e) {
             logger.error("Failed to open search using alternative locators: {}", e.getMessage());
@@ -269,17 +264,173 @@ public class BildHomeSearchActions implements ISearchActions {
         return searchAvailable;
     }
 
+    /**
+     * Search button from the alternatives: evaluated over one snapshot when the
+     * local engine is on (only the winner is resolved), otherwise looked up live.
+     * A snapshot without a resolvable match falls back to the live lookup.
+     * With locator.local.benchmark both paths run on this lookup and are timed.
+     */
+    private WebElement findSearchButton() {
+        By[] searchButtonLocators = BildAppLocators.getLocators(BildElementType.SEARCH_BUTTON_ALTERNATIVES);
+        boolean benchmark = FrameworkConfig.isLocatorBenchmarkEnabled();
+        boolean evaluatedLocally = false;
+        WebElement local = null;
+
+        if (FrameworkConfig.isLocalLocatorEngineEnabled()) {
+            long start = System.nanoTime();
+            try {
+                HierarchySnapshot snapshot = HierarchySnapshot.capture(driver);
+                if (snapshot != null) {
+                    evaluatedLocally = true;
+                    HierarchySnapshot.Match match = snapshot.findFirst(
+                            BildElementType.SEARCH_BUTTON_ALTERNATIVES.name(), searchButtonLocators, attributes -> true);
+                    local = match != null ? match.resolve(driver) : null;
+                    if (local != null) {
+                        logger.info("Search button found locally with locator: {}", match.getLocator());
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Local search button lookup failed: {}", e.getMessage());
+            } finally {
+                if (benchmark) HierarchySnapshot.recordLookup("local", System.nanoTime() - start);
+            }
+            if (local != null && !benchmark) {
+                return local;
+            }
+        }
+
+        long start = System.nanoTime();
+        WebElement live;
+        try {
+            // Statistics were already recorded by the local evaluation of this lookup
+            live = findSearchButtonLive(searchButtonLocators, !evaluatedLocally);
+        } finally {
+            if (benchmark) HierarchySnapshot.recordLookup("live", System.nanoTime() - start);
+        }
+        if (benchmark) {
+            UnionLocator.benchmark(driver, searchButtonLocators, 3);
+        }
+        return local != null ? local : live;
+    }
+
+    private WebElement findSearchButtonLive(By[] searchButtonLocators, boolean recordStats) {
+        if (FrameworkConfig.isLocatorUnionEnabled() && UnionLocator.union(searchButtonLocators) != null) {
+            // All alternatives in one round trip, highest-priority match wins
+            List<WebElement> found = UnionLocator.findElements(driver,
+                    recordStats ? BildElementType.SEARCH_BUTTON_ALTERNATIVES.name() : null, searchButtonLocators);
+            if (!found.isEmpty()) {
+                logger.info("Search button found with union of {} locators", searchButtonLocators.length);
+                return found.get(0);
+            }
+            return null;
+        }
+
+        // Fallback to BildAppLocators dynamic locators
+        logger.info("Trying {} search button locators", searchButtonLocators.length);
+
+        for (int i = 0; i < searchButtonLocators.length; i++) {
+            By locator = searchButtonLocators[i];
+            long lookupStart = System.nanoTime();
+            List<WebElement> found = driver.findElements(locator);
+            logger.info("Locator {}: {} - Found {} elements", i, locator, found.size());
+
+            if (found.isEmpty()) {
+                if (recordStats) {
+                    LocatorStatistics.recordMiss(BildElementType.SEARCH_BUTTON_ALTERNATIVES.name(), locator);
+                }
+            } else {
+                if (recordStats) {
+                    LocatorStatistics.recordHit(BildElementType.SEARCH_BUTTON_ALTERNATIVES.name(), locator,
+                            (System.nanoTime() - lookupStart) / 1_000_000);
+                }
+                logger.info("Search button found with locator: {}", locator);
+                return found.get(0);
+            }
+        }
+        return null;
+    }
+
     private boolean isSearchInputAvailable() {
         By[] searchInputLocators = BildAppLocators.getLocators(BildElementType.SEARCH_INPUT_ALTERNATIVES);
-        for (By locator : searchInputLocators) {
-            if (!driver.findElements(locator).isEmpty()) {
-                return true;
-            }
+        HierarchySnapshot snapshot = captureSnapshot();
+        if (snapshot != null) {
+            return snapshot.findFirst(BildElementType.SEARCH_INPUT_ALTERNATIVES.name(), searchInputLocators,
+                    attributes -> true) != null;
         }
-        return false;
+        return !UnionLocator.findElements(driver, BildElementType.SEARCH_INPUT_ALTERNATIVES.name(),
+                searchInputLocators).isEmpty();
     }
 
+    /**
+     * Search input, local path first; with locator.local.benchmark both paths run
+     * on this lookup and are timed
+     */
     private WebElement findSearchInput() {
+        boolean benchmark = FrameworkConfig.isLocatorBenchmarkEnabled();
+        WebElement local = null;
+        if (FrameworkConfig.isLocalLocatorEngineEnabled()) {
+            long start = System.nanoTime();
+            try {
+                HierarchySnapshot snapshot = HierarchySnapshot.capture(driver);
+                local = snapshot != null ? findSearchInputLocally(snapshot) : null;
+            } catch (Exception e) {
+                logger.debug("Local search input lookup failed: {}", e.getMessage());
+            } finally {
+                if (benchmark) HierarchySnapshot.recordLookup("local", System.nanoTime() - start);
+            }
+            if (local != null && !benchmark) {
+                return local;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            WebElement live = findSearchInputLive();
+            return local != null ? local : live;
+        } finally {
+            if (benchmark) HierarchySnapshot.recordLookup("live", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Same priorities as findSearchInputLive, evaluated over one snapshot
+     */
+    private WebElement findSearchInputLocally(HierarchySnapshot snapshot) {
+        By[][] priorities = {
+                {io.appium.java_client.AppiumBy.className("android.widget.EditText")},
+                BildAppLocators.getLocators(BildElementType.SEARCH),
+                BildAppLocators.getLocators(BildElementType.SEARCH_INPUT_ALTERNATIVES)
+        };
+        String[] statsKeys = {null, BildElementType.SEARCH.name(), BildElementType.SEARCH_INPUT_ALTERNATIVES.name()};
+        for (int i = 0; i < priorities.length; i++) {
+            HierarchySnapshot.Match match = i == 0
+                    ? snapshot.findFirst(priorities[i], attributes -> "true".equals(attributes.get("displayed"))
+                            && "true".equals(attributes.get("enabled")))
+                    : snapshot.findFirst(statsKeys[i], priorities[i], this::isTextInputNode);
+            if (match != null) {
+                WebElement input = match.resolve(driver);
+                if (input != null) {
+                    logger.info("Found text input element locally using locator: {}", match.getLocator());
+                    return input;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isTextInputNode(Map<String, String> attributes) {
+        String className = attributes.getOrDefault("class", "");
+        return className.equals("android.widget.EditText")
+                || className.equals("android.widget.AutoCompleteTextView")
+                || "true".equals(attributes.get("enabled"))
+                && (className.contains("EditText") || className.contains("AutoCompleteTextView"));
+    }
+
+    private HierarchySnapshot captureSnapshot() {
+        return FrameworkConfig.isLocalLocatorEngineEnabled() ? HierarchySnapshot.capture(driver) : null;
+    }
+
+    private WebElement findSearchInputLive() {
         // Priority 1: Try direct EditText class name (most reliable for text input)
         try {
             List<WebElement> editTextElements = driver.findElements(io.appium.java_client.AppiumBy.className("android.widget.EditText"));
@@ -0,0 +1,317 @@
+package com.company.framework.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.company.framework.config.FrameworkConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ExtentReportWriter - Single writer thread that owns an ExtentReports instance
+ *
+ * Test threads never touch the report: log calls become immutable events on a
+ * lock-free multi-producer queue and return at once. One daemon thread applies
+ * the events in order and flushes the report every report.flush.interval.ms
+ * while there are changes, so parallel tests neither contend on a lock nor
+ * interleave inside Extent's model.
+ *
+ * createTest() and flush() wait for the writer (once per test and per suite);
+ * everything else is fire-and-forget. The static log/attach helpers find the
+ * writer of a test's report and fall back to a direct call for tests created
+ * outside a writer.
+ *
+ * A closed writer stays registered: events for its tests that arrive after
+ * close() (tests still finishing when a new report is initialized) are applied
+ * on the calling thread and flushed at once, so none is lost.
+ */
+public final class ExtentReportWriter {
+
+    private static final Logger logger = LogManager.getLogger(ExtentReportWriter.class);
+    private static final Map<ExtentReports, ExtentReportWriter> writers = new ConcurrentHashMap<>();
+
+    /** How long the idle writer sleeps when nobody wakes it */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final Duration WRITER_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExtentReports extent;
+    private final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    /** Set once the writer thread has left its loop; later events are drained by their producer */
+    private volatile boolean stopped;
+    /** Report changed since the last flush; writer thread, then drainAfterStop() */
+    private boolean dirty;
+    private long lastFlush = System.nanoTime();
+
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicInteger maxBacklog = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushMillis = new AtomicLong();
+    private final AtomicLong appliedAfterStop = new AtomicLong();
+
+    /**
+     * Take ownership of a configured report; the caller must not use it afterwards
+     */
+    public ExtentReportWriter(ExtentReports extent) {
+        this.extent = extent;
+        this.thread = new Thread(this::run, "extent-report-writer");
+        this.thread.setDaemon(true);
+        writers.put(extent, this);
+        this.thread.start();
+    }
+
+    private enum Type { CREATE_TEST, LOG, SCREENSHOT_PATH, SCREENSHOT_BASE64, SYSTEM_INFO, FLUSH, STOP }
+
+    /**
+     * One change to the report
+     */
+    private static final class ReportEvent {
+        final Type type;
+        final ExtentTest test;
+        final Status status;
+        final String first;
+        final String second;
+        final CompletableFuture<ExtentTest> done;
+
+        ReportEvent(Type type, ExtentTest test, Status status, String first, String second,
+                    CompletableFuture<ExtentTest> done) {
+            this.type = type;
+            this.test = test;
+            this.status = status;
+            this.first = first;
+            this.second = second;
+            this.done = done;
+        }
+    }
+
+    // ========================================
+    // PRODUCERS (test threads)
+    // ========================================
+
+    /**
+     * Create a test; waits until the writer has created it
+     */
+    public ExtentTest createTest(String name, String description) {
+        CompletableFuture<ExtentTest> created = new CompletableFuture<>();
+        enqueue(new ReportEvent(Type.CREATE_TEST, null, null, name, description, created), true);
+        try {
+            return created.get(WRITER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Report writer did not create test '" + name + "'", e);
+        }
+    }
+
+    public void log(ExtentTest test, Status status, String message) {
+        enqueue(new ReportEvent(Type.LOG, test, status, message, null, null), false);
+    }
+
+    public void attachScreenshotFromPath(ExtentTest test, String path) {
+        enqueue(new ReportEvent(Type.SCREENSHOT_PATH, test, null, path, null, null), false);
+    }
+
+    public void attachScreenshotFromBase64(ExtentTest test, String base64) {
+        enqueue(new ReportEvent(Type.SCREENSHOT_BASE64, test, null, base64, null, null), false);
+    }
+
+    public void setSystemInfo(String key, String value) {
+        enqueue(new ReportEvent(Type.SYSTEM_INFO, null, null, key, value, null), false);
+    }
+
+    /**
+     * Apply everything queued so far and write the report; waits for the writer
+     */
+    public void flush() {
+        CompletableFuture<ExtentTest> flushed = new CompletableFuture<>();
+        enqueue(new ReportEvent(Type.FLUSH, null, null, null, null, flushed), true);
+        try {
+            flushed.get(WRITER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("Report flush did not complete: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Flush and stop the writer thread; waits for it to finish
+     */
+    public void close() {
+        flush();
+        enqueue(new ReportEvent(Type.STOP, null, null, null, null, null), true);
+        try {
+            thread.join(WRITER_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(ReportEvent event, boolean wakeUp) {
+        queue.offer(event);
+        enqueued.incrementAndGet();
+        maxBacklog.accumulateAndGet(backlog.incrementAndGet(), Math::max);
+        if (stopped) {
+            drainAfterStop(); // The writer may have drained the queue before this event arrived
+        } else if (wakeUp) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Writer of a report, or null if it is not owned by one
+     */
+    public static ExtentReportWriter forReport(ExtentReports extent) {
+        return extent == null ? null : writers.get(extent);
+    }
+
+    // ========================================
+    // STATIC HELPERS
+    // ========================================
+
+    /**
+     * Log through the writer owning the test's report, or directly if there is none
+     */
+    public static void logTo(ExtentTest test, Status status, String message) {
+        if (test == null) return;
+        ExtentReportWriter writer = writers.get(test.getExtent());
+        if (writer != null) {
+            writer.log(test, status, message);
+        } else {
+            test.log(status, message);
+        }
+    }
+
+    public static void attachPathTo(ExtentTest test, String path) {
+        if (test == null) return;
+        ExtentReportWriter writer = writers.get(test.getExtent());
+        if (writer != null) {
+            writer.attachScreenshotFromPath(test, path);
+        } else {
+            test.addScreenCaptureFromPath(path);
+        }
+    }
+
+    public static void attachBase64To(ExtentTest test, String base64) {
+        if (test == null) return;
+        ExtentReportWriter writer = writers.get(test.getExtent());
+        if (writer != null) {
+            writer.attachScreenshotFromBase64(test, base64);
+        } else {
+            test.addScreenCaptureFromBase64String(base64);
+        }
+    }
+
+    // ========================================
+    // WRITER THREAD
+    // ========================================
+
+    private void run() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(FrameworkConfig.getReportFlushIntervalMillis());
+        while (running) {
+            ReportEvent event;
+            while (running && (event = queue.poll()) != null) {
+                backlog.decrementAndGet();
+                apply(event);
+            }
+            if (dirty && System.nanoTime() - lastFlush >= interval) {
+                flushReport(); // Incremental flush on the timer
+            }
+            if (running && queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        // Events queued behind STOP, or by producers that had not yet seen it
+        stopped = true;
+        drainAfterStop();
+        logger.debug(getStatsSummary());
+    }
+
+    /**
+     * Apply whatever is queued once the writer loop has ended, and write the
+     * report if that changed it; serialized between the late producers
+     */
+    private synchronized void drainAfterStop() {
+        ReportEvent event;
+        while ((event = queue.poll()) != null) {
+            backlog.decrementAndGet();
+            if (event.type != Type.STOP && event.type != Type.FLUSH) {
+                appliedAfterStop.incrementAndGet();
+            }
+            apply(event);
+        }
+        if (dirty) {
+            flushReport();
+        }
+    }
+
+    private void apply(ReportEvent event) {
+        try {
+            switch (event.type) {
+                case CREATE_TEST:
+                    event.done.complete(extent.createTest(event.first, event.second));
+                    break;
+                case LOG:
+                    event.test.log(event.status, event.first);
+                    break;
+                case SCREENSHOT_PATH:
+                    event.test.addScreenCaptureFromPath(event.first);
+                    break;
+                case SCREENSHOT_BASE64:
+                    event.test.addScreenCaptureFromBase64String(event.first);
+                    break;
+                case SYSTEM_INFO:
+                    extent.setSystemInfo(event.first, event.second);
+                    break;
+                case FLUSH:
+                    flushReport();
+                    event.done.complete(null);
+                    return;
+                case STOP:
+                    running = false;
+                    return;
+            }
+            applied.incrementAndGet();
+            dirty = true;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            logger.warn("Could not apply {} report event: {}", event.type, e.getMessage());
+            if (event.done != null) {
+                event.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void flushReport() {
+        long start = System.nanoTime();
+        try {
+            extent.flush();
+            dirty = false;
+            flushes.incrementAndGet();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            logger.warn("Report flush failed: {}", e.getMessage());
+        } finally {
+            lastFlush = System.nanoTime();
+            flushMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public String getStatsSummary() {
+        return String.format("Report writer: events=%d, applied=%d, failed=%d, backlog=%d (max %d), flushes=%d (avg %d ms), "
+                        + "applied after close=%d",
+                enqueued.get(), applied.get(), failures.get(), backlog.get(), maxBacklog.get(),
+                flushes.get(), flushMillis.get() / Math.max(1, flushes.get()), appliedAfterStop.get());
+    }
+}
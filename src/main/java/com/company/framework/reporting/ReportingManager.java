@@ -2,6 +2,7 @@ package com.company.framework.reporting;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.company.framework.interfaces.reporting.IReportingManager;
 import com.company.framework.utils.TestReportingUtils;
@@ -12,8 +13,7 @@ import org.openqa.selenium.WebDriver;
  * This is a backup/alternative implementation to ExtentReportingManager
  */
 public class ReportingManager implements IReportingManager {
-    private static ExtentReports extent;
-    private ExtentTest currentTest;
+    private static volatile ExtentReportWriter writer;
 
     @Override
     public void initializeReport(String reportPath) {
@@ -21,35 +21,38 @@ public class ReportingManager implements IReportingManager {
         reporter.config().setDocumentTitle("Automation Report");
         reporter.config().setReportName("Mobile Automation Results");
 
-        extent = new ExtentReports();
+        ExtentReports extent = new ExtentReports();
         extent.attachReporter(reporter);
+        ExtentReportWriter previous = writer;
+        writer = new ExtentReportWriter(extent);
+        if (previous != null) {
+            previous.close();
+        }
     }
 
     @Override
     public ExtentTest createTest(String testName, String description) {
-        currentTest = extent.createTest(testName, description);
-        return currentTest;
+        return writer.createTest(testName, description);
     }
 
     @Override
     public void logPass(ExtentTest test, String message) {
-        if (test != null) {
-            test.pass(message);
-        }
+        ExtentReportWriter.logTo(test, Status.PASS, message);
     }
 
     @Override
     public void logFail(ExtentTest test, String message) {
-        if (test != null) {
-            test.fail(message);
-        }
+        ExtentReportWriter.logTo(test, Status.FAIL, message);
     }
 
     @Override
     public void logSkip(ExtentTest test, String message) {
-        if (test != null) {
-            test.skip(message);
-        }
+        ExtentReportWriter.logTo(test, Status.SKIP, message);
+    }
+
+    @Override
+    public void logInfo(ExtentTest test, String message) {
+        ExtentReportWriter.logTo(test, Status.INFO, message);
     }
 
     @Override
@@ -59,8 +62,8 @@ public class ReportingManager implements IReportingManager {
 
     @Override
     public void flush() {
-        if (extent != null) {
-            extent.flush();
+        if (writer != null) {
+            writer.flush();
         }
     }
 
@@ -68,10 +71,10 @@ public class ReportingManager implements IReportingManager {
      * Sets up system info for ExtentReports
      */
     private void addSystemInformation() {
-        if (extent != null) {
-            extent.setSystemInfo("Environment", System.getProperty("test.environment", "QA"));
-            extent.setSystemInfo("Browser", System.getProperty("browser.name", "N/A"));
-            extent.setSystemInfo("Platform", System.getProperty("os.name"));
+        if (writer != null) {
+            writer.setSystemInfo("Environment", System.getProperty("test.environment", "QA"));
+            writer.setSystemInfo("Browser", System.getProperty("browser.name", "N/A"));
+            writer.setSystemInfo("Platform", System.getProperty("os.name"));
         }
     }
 
@@ -79,9 +82,9 @@ public class ReportingManager implements IReportingManager {
      * Finalize and flush the report with system information
      */
     public void finalizeReport() {
-        if (extent != null) {
+        if (writer != null) {
             addSystemInformation();
-            extent.flush();
+            writer.flush();
         }
     }
 }
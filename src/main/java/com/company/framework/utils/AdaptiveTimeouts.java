@@ -0,0 +1,294 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.SessionCleanup;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AdaptiveTimeouts - Learns how long each wait really takes, per call site and device class
+ *
+ * Every wait built through DeadlineBudget (and BackoffWaitStrategy,
+ * MultiLocatorWait) reports its time-to-satisfy or its timeout. Samples are
+ * keyed by the wait's name plus its call site - the first caller outside the
+ * wait helpers, e.g. "BildHomeSearchActions.openSearch" - so one generic wait
+ * used for a fast button and a slow feed does not share a single p99. They are
+ * kept per device class (platform plus the first device-matrix tag of the
+ * device the session was allocated) and persisted to a JSON file so they carry
+ * over between runs.
+ *
+ * A timeout is kept as a censored sample: the real time-to-satisfy is at least
+ * the time waited. It takes part in the percentile with that lower bound, so a
+ * wait that starts timing out under its tuned value raises its own p99 and
+ * backs off towards the requested timeout instead of failing again.
+ *
+ * timeout.adaptive.mode:
+ *   off    - nothing is recorded or changed
+ *   record - samples are collected, timeouts stay as requested (default)
+ *   auto   - once a wait has enough samples its timeout becomes p99 plus a
+ *            margin, never more than the requested timeout
+ *
+ * The suite summary lists p50/p99 per wait and the time reclaimed: how much
+ * sooner tuned waits gave up than their requested timeout would have.
+ */
+public final class AdaptiveTimeouts {
+
+    private static final Logger logger = LogManager.getLogger(AdaptiveTimeouts.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Samples kept per wait and device class; older ones are dropped */
+    private static final int MAX_SAMPLES = 200;
+    /** Tuned timeouts never go below this */
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(500);
+    /** Frames of these classes (and their nested classes) or packages are wait plumbing, not call sites */
+    private static final List<String> WAIT_HELPERS = List.of(
+            "com.company.framework.utils.AdaptiveTimeouts", "com.company.framework.utils.DeadlineBudget",
+            "com.company.framework.utils.BackoffWaitStrategy", "com.company.framework.utils.ExplicitWaitStrategy",
+            "com.company.framework.utils.MultiLocatorWait", "com.company.framework.utils.WaitUtils",
+            "com.company.framework.utils.MobileTestUtils", "com.company.framework.pages.ImprovedBasePage",
+            "org.openqa.selenium.", "java.", "jdk.");
+
+    private static final Map<String, WaitStats> stats = new ConcurrentHashMap<>();
+    private static final Map<SessionId, String> deviceClasses = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    private static final AtomicLong tunedWaits = new AtomicLong();
+    private static final AtomicLong tunedTimeouts = new AtomicLong();
+    private static final AtomicLong reclaimedMillis = new AtomicLong();
+
+    static {
+        StatsRegistry.register("AdaptiveTimeouts", AdaptiveTimeouts::getStatsSummary);
+        SessionCleanup.register(driver -> deviceClasses.remove(driver.getSessionId()));
+    }
+
+    private AdaptiveTimeouts() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    static final class WaitStats {
+        /** Satisfied waits as positive values, timeouts (censored) as the negated time waited */
+        final Deque<Long> samplesMillis = new ArrayDeque<>();
+        long timeouts;
+
+        synchronized void add(long millis) {
+            samplesMillis.addLast(millis);
+            if (samplesMillis.size() > MAX_SAMPLES) {
+                samplesMillis.removeFirst();
+            }
+        }
+
+        synchronized void addTimeout(long waitedMillis) {
+            timeouts++;
+            add(-Math.max(1, waitedMillis));
+        }
+
+        /**
+         * Nearest-rank percentile; censored samples count with their lower bound
+         */
+        synchronized long percentile(double p) {
+            List<Long> sorted = new ArrayList<>();
+            samplesMillis.forEach(sample -> sorted.add(Math.abs(sample)));
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+        }
+
+        synchronized int size() {
+            return samplesMillis.size();
+        }
+    }
+
+    // ========================================
+    // TUNING / RECORDING
+    // ========================================
+
+    /**
+     * Timeout to use for a named wait
+     * @return p99 plus margin in auto mode once enough samples exist, otherwise the requested timeout
+     */
+    public static Duration tune(WebDriver driver, String waitName, Duration requested) {
+        if (!"auto".equals(FrameworkConfig.getAdaptiveTimeoutMode())) {
+            return requested;
+        }
+        Duration tuned = tuned(statsFor(driver, waitName), requested,
+                FrameworkConfig.getAdaptiveTimeoutMargin(), FrameworkConfig.getAdaptiveTimeoutMinSamples());
+        if (tuned.compareTo(requested) < 0) {
+            tunedWaits.incrementAndGet();
+        }
+        return tuned;
+    }
+
+    /**
+     * p99 plus margin, at least MIN_TIMEOUT and at most the requested timeout
+     * @return the requested timeout while fewer than minSamples exist
+     */
+    static Duration tuned(WaitStats s, Duration requested, double margin, int minSamples) {
+        if (s == null || s.size() < minSamples) {
+            return requested;
+        }
+        long tunedMillis = (long) (s.percentile(0.99) * (1 + margin));
+        Duration tuned = Duration.ofMillis(Math.max(MIN_TIMEOUT.toMillis(), tunedMillis));
+        return tuned.compareTo(requested) >= 0 ? requested : tuned;
+    }
+
+    /**
+     * Record the outcome of a named wait
+     * @param satisfied false if the wait timed out
+     * @param requested timeout the caller asked for
+     * @param used timeout the wait actually ran with
+     */
+    public static void record(WebDriver driver, String waitName, Duration elapsed, boolean satisfied,
+                              Duration requested, Duration used) {
+        if ("off".equals(FrameworkConfig.getAdaptiveTimeoutMode())) {
+            return;
+        }
+        ensureLoaded();
+        WaitStats s = stats.computeIfAbsent(key(driver, waitName), k -> new WaitStats());
+        if (satisfied) {
+            s.add(elapsed.toMillis());
+        } else {
+            s.addTimeout(elapsed.toMillis());
+            if (used.compareTo(requested) < 0) {
+                tunedTimeouts.incrementAndGet();
+                reclaimedMillis.addAndGet(requested.minus(used).toMillis());
+            }
+        }
+    }
+
+    private static WaitStats statsFor(WebDriver driver, String waitName) {
+        ensureLoaded();
+        return stats.get(key(driver, waitName));
+    }
+
+    private static String key(WebDriver driver, String waitName) {
+        return deviceClass(driver) + "/" + waitName + "@" + callSite();
+    }
+
+    /**
+     * First frame outside the wait helpers, as "Class.method"
+     */
+    static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !isWaitHelper(frame.getClassName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    String method = frame.getMethodName();
+                    if (method.startsWith("lambda$")) {
+                        method = method.substring("lambda$".length(), Math.max("lambda$".length(), method.lastIndexOf('$')));
+                    }
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + method;
+                })
+                .orElse("unknown"));
+    }
+
+    private static boolean isWaitHelper(String className) {
+        for (String helper : WAIT_HELPERS) {
+            boolean matches = helper.endsWith(".")
+                    ? className.startsWith(helper)
+                    : className.equals(helper) || className.startsWith(helper + "$");
+            if (matches) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Platform plus the first device-matrix tag of the session's device, e.g. "Android|flagship"
+     */
+    static String deviceClass(WebDriver driver) {
+        if (!(driver instanceof AppiumDriver) || ((AppiumDriver) driver).getSessionId() == null) {
+            return "unknown";
+        }
+        AppiumDriver appiumDriver = (AppiumDriver) driver;
+        return deviceClasses.computeIfAbsent(appiumDriver.getSessionId(), id -> {
+            String deviceName = MobileDeviceUtils.getDeviceName(appiumDriver);
+            Map<String, Object> info = MobileDeviceUtils.getDeviceInfo(deviceName);
+            Object tags = info.get("tags");
+            String tier = tags instanceof List && !((List<?>) tags).isEmpty()
+                    ? String.valueOf(((List<?>) tags).get(0)) : deviceName;
+            return appiumDriver.getCapabilities().getPlatformName() + "|" + tier;
+        });
+    }
+
+    // ========================================
+    // PERSISTENCE
+    // ========================================
+
+    private static synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        File file = new File(FrameworkConfig.getAdaptiveTimeoutFile());
+        if (!file.exists()) return;
+        try {
+            JsonNode root = objectMapper.readTree(file);
+            root.fields().forEachRemaining(entry -> {
+                WaitStats s = new WaitStats();
+                entry.getValue().path("samplesMillis").forEach(sample -> s.add(sample.asLong()));
+                s.timeouts = entry.getValue().path("timeouts").asLong();
+                stats.put(entry.getKey(), s);
+            });
+            logger.info("Loaded wait timings for {} waits from {}", stats.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not read wait timings from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the collected samples
+     */
+    public static synchronized void save() {
+        if (!loaded) return;
+        Map<String, Map<String, Object>> out = new TreeMap<>();
+        stats.forEach((key, s) -> {
+            synchronized (s) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("timeouts", s.timeouts);
+                values.put("samplesMillis", new ArrayList<>(s.samplesMillis));
+                out.put(key, values);
+            }
+        });
+        Path file = Paths.get(FrameworkConfig.getAdaptiveTimeoutFile());
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), out);
+            logger.info("Wait timings saved to {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not save wait timings to {}: {}", file, e.getMessage());
+        }
+    }
+
+    public static String getStatsSummary() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "Adaptive timeouts (%s): tuned waits=%d, timed out under tuned timeout=%d, reclaimed %d ms",
+                FrameworkConfig.getAdaptiveTimeoutMode(), tunedWaits.get(), tunedTimeouts.get(), reclaimedMillis.get()));
+        new TreeMap<>(stats).forEach((key, s) -> {
+            if (s.size() > 0) {
+                sb.append(String.format("%n  %s: n=%d p50=%d ms p99=%d ms timeouts=%d",
+                        key, s.size(), s.percentile(0.5), s.percentile(0.99), s.timeouts));
+            }
+        });
+        return sb.toString();
+    }
+}
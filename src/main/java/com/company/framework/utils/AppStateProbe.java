@@ -0,0 +1,122 @@
+package com.company.framework.utils;
+
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AppStateProbe - Constant-size answers to "which app is up and is it ready?"
+ *
+ * Replaces page-source heuristics (contains/length checks on the full XML
+ * hierarchy) with UiAutomator2 commands whose response is a few bytes:
+ * - mobile: getCurrentPackage
+ * - mobile: getCurrentActivity
+ * - mobile: queryAppState
+ * Each probe that stands in for a former page-source fetch is counted so the
+ * saving is visible at the end of the run.
+ */
+public final class AppStateProbe {
+
+    private static final Logger logger = LogManager.getLogger(AppStateProbe.class);
+
+    /** queryAppState values */
+    public static final long STATE_NOT_INSTALLED = 0;
+    public static final long STATE_NOT_RUNNING = 1;
+    public static final long STATE_BACKGROUND_SUSPENDED = 2;
+    public static final long STATE_BACKGROUND = 3;
+    public static final long STATE_FOREGROUND = 4;
+    public static final long STATE_UNKNOWN = -1;
+
+    private static final AtomicLong probes = new AtomicLong();
+    private static final AtomicLong pageSourceFetchesSaved = new AtomicLong();
+
+    static {
+        StatsRegistry.register("AppStateProbe", AppStateProbe::getStatsSummary);
+    }
+
+    private AppStateProbe() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Package of the app owning the focused window
+     * @return package name, or null if the probe failed
+     */
+    public static String getCurrentPackage(AppiumDriver driver) {
+        return asString(probe(driver, "mobile: getCurrentPackage", Map.of()));
+    }
+
+    /**
+     * Activity of the focused window
+     * @return activity name, or null if the probe failed
+     */
+    public static String getCurrentActivity(AppiumDriver driver) {
+        return asString(probe(driver, "mobile: getCurrentActivity", Map.of()));
+    }
+
+    /**
+     * State of the given app (see STATE_* constants)
+     */
+    public static long getAppState(AppiumDriver driver, String appId) {
+        Object state = probe(driver, "mobile: queryAppState", Map.of("appId", appId));
+        return state instanceof Number ? ((Number) state).longValue() : STATE_UNKNOWN;
+    }
+
+    /**
+     * App is in the foreground according to the app manager
+     */
+    public static boolean isInForeground(AppiumDriver driver, String appId) {
+        return getAppState(driver, appId) == STATE_FOREGROUND;
+    }
+
+    /**
+     * The focused window belongs to the app, so input goes to it
+     */
+    public static boolean hasWindowFocus(AppiumDriver driver, String appId) {
+        return appId.equals(getCurrentPackage(driver));
+    }
+
+    /**
+     * App is foreground, owns the focused window and has a resumed activity
+     */
+    public static boolean isAppReady(AppiumDriver driver, String appId) {
+        if (!isInForeground(driver, appId) || !hasWindowFocus(driver, appId)) {
+            return false;
+        }
+        String activity = getCurrentActivity(driver);
+        return activity != null && !activity.isEmpty();
+    }
+
+    /**
+     * Record that a caller answered its question with probes instead of a page-source fetch
+     */
+    public static void recordPageSourceSaved() {
+        pageSourceFetchesSaved.incrementAndGet();
+    }
+
+    public static long getProbeCount() { return probes.get(); }
+
+    public static long getPageSourceFetchesSaved() { return pageSourceFetchesSaved.get(); }
+
+    public static String getStatsSummary() {
+        return String.format("App state probes: %d probes, %d page-source fetches saved",
+                getProbeCount(), getPageSourceFetchesSaved());
+    }
+
+    private static Object probe(AppiumDriver driver, String command, Map<String, Object> args) {
+        probes.incrementAndGet();
+        try {
+            return driver.executeScript(command, args);
+        } catch (Exception e) {
+            logger.debug("Probe '{}' failed: {}", command, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
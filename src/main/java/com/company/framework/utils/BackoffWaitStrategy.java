@@ -0,0 +1,190 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.interfaces.driver.IDriverManager;
+import com.company.framework.interfaces.wait.IWaitStrategy;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BackoffWaitStrategy - IWaitStrategy that polls on an exponential curve
+ *
+ * The condition is probed immediately, then after wait.poll.initial.ms, with
+ * the interval growing by wait.poll.multiplier up to wait.poll.max.ms. Fast
+ * transitions are caught within tens of milliseconds instead of the fixed
+ * 500 ms of WebDriverWait, while long waits settle at one probe per cap
+ * instead of two per second against the Appium server.
+ *
+ * Timeouts go through AdaptiveTimeouts and DeadlineBudget like every other wait.
+ * Per wait the number of probes and a latency histogram are kept for the
+ * suite summary.
+ */
+public class BackoffWaitStrategy implements IWaitStrategy {
+
+    private static final Logger logger = LogManager.getLogger(BackoffWaitStrategy.class);
+
+    /** Upper bounds of the latency histogram buckets in ms; the last bucket is open */
+    private static final long[] BUCKETS_MILLIS = {50, 100, 250, 500, 1000, 2500, 5000};
+    private static final Map<String, WaitHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final IDriverManager driverManager;
+    private final Duration timeout;
+
+    static {
+        StatsRegistry.register("BackoffWaitStrategy", BackoffWaitStrategy::getStatsSummary);
+    }
+
+    public BackoffWaitStrategy(IDriverManager driverManager, long timeoutInSeconds) {
+        this.driverManager = driverManager;
+        this.timeout = Duration.ofSeconds(timeoutInSeconds);
+    }
+
+    private static final class WaitHistogram {
+        final AtomicLong waits = new AtomicLong();
+        final AtomicLong probes = new AtomicLong();
+        final AtomicLong timeouts = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_MILLIS.length + 1);
+
+        void record(long elapsedMillis, int probeCount, boolean satisfied) {
+            waits.incrementAndGet();
+            probes.addAndGet(probeCount);
+            if (!satisfied) {
+                timeouts.incrementAndGet();
+                return;
+            }
+            int bucket = 0;
+            while (bucket < BUCKETS_MILLIS.length && elapsedMillis >= BUCKETS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+        }
+    }
+
+    // ========================================
+    // IWaitStrategy
+    // ========================================
+
+    @Override
+    public WebElement waitForVisibility(WebElement element) {
+        return until("waitForVisibility", ExpectedConditions.visibilityOf(element));
+    }
+
+    @Override
+    public WebElement waitForClickable(WebElement element) {
+        return until("waitForClickable", ExpectedConditions.elementToBeClickable(element));
+    }
+
+    @Override
+    public boolean waitForInvisibility(By locator) {
+        return until("waitForInvisibility", ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    @Override
+    public boolean waitForTextToBePresentInElement(WebElement element, String text) {
+        return until("waitForText", ExpectedConditions.textToBePresentInElement(element, text));
+    }
+
+    @Override
+    public WebElement waitForAnyVisible(By... locators) {
+        return until("waitForAnyVisible", driver -> {
+            for (By locator : locators) {
+                for (WebElement element : driver.findElements(locator)) {
+                    if (element.isDisplayed()) {
+                        return element;
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // ========================================
+    // POLLING
+    // ========================================
+
+    /**
+     * Poll a condition on the calling thread's session with exponential backoff
+     * @param waitName name for statistics, AdaptiveTimeouts and the time budget
+     * @return the condition's first non-null, non-false value
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <V> V until(String waitName, ExpectedCondition<V> condition) {
+        AppiumDriver driver = driverManager.getDriver();
+        String consumer = "BackoffWaitStrategy." + waitName;
+        Duration tuned = AdaptiveTimeouts.tune(driver, consumer, timeout);
+        long start = System.nanoTime();
+        long deadline = start + DeadlineBudget.grant(consumer, tuned).toNanos();
+        long interval = Duration.ofMillis(FrameworkConfig.getWaitPollInitialMillis()).toNanos();
+        long maxInterval = Duration.ofMillis(FrameworkConfig.getWaitPollMaxMillis()).toNanos();
+        double multiplier = FrameworkConfig.getWaitPollMultiplier();
+        int probes = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            probes++;
+            V value = null;
+            try {
+                value = condition.apply(driver);
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            if (value != null && !Boolean.FALSE.equals(value)) {
+                finish(driver, consumer, start, probes, true, tuned);
+                return value;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                finish(driver, consumer, start, probes, false, tuned);
+                throw DeadlineBudget.timedOut(consumer, new TimeoutException(String.format(
+                        "Expected condition failed: %s (tried for %d ms with %d probes)",
+                        condition, Duration.ofNanos(System.nanoTime() - start).toMillis(), probes), lastError));
+            }
+            LockSupport.parkNanos(Math.min(interval, remaining));
+            interval = Math.min(maxInterval, (long) (interval * multiplier));
+        }
+    }
+
+    private void finish(WebDriver driver, String consumer, long start, int probes, boolean satisfied, Duration tuned) {
+        long elapsedNanos = System.nanoTime() - start;
+        histograms.computeIfAbsent(consumer, k -> new WaitHistogram())
+                .record(elapsedNanos / 1_000_000, probes, satisfied);
+        DeadlineBudget.record(consumer, elapsedNanos);
+        AdaptiveTimeouts.record(driver, consumer, Duration.ofNanos(elapsedNanos), satisfied, timeout, tuned);
+        logger.debug("{} {} after {} ms, {} probes", consumer, satisfied ? "satisfied" : "timed out",
+                elapsedNanos / 1_000_000, probes);
+    }
+
+    public static String getStatsSummary() {
+        StringBuilder sb = new StringBuilder(String.format("Backoff waits: initial=%d ms, x%.1f, cap=%d ms",
+                FrameworkConfig.getWaitPollInitialMillis(), FrameworkConfig.getWaitPollMultiplier(),
+                FrameworkConfig.getWaitPollMaxMillis()));
+        new TreeMap<>(histograms).forEach((name, h) -> {
+            long waits = h.waits.get();
+            sb.append(String.format("%n  %s: waits=%d, timeouts=%d, avg probes=%.1f, latency",
+                    name, waits, h.timeouts.get(), (double) h.probes.get() / Math.max(1, waits)));
+            for (int i = 0; i < h.buckets.length(); i++) {
+                String label = i < BUCKETS_MILLIS.length ? "<" + BUCKETS_MILLIS[i] : ">=" + BUCKETS_MILLIS[i - 1];
+                sb.append(' ').append(label).append("ms=").append(h.buckets.get(i));
+            }
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.ApplicationConstants;
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.PageSourceCachingExecutor;
+import com.company.framework.managers.SessionCleanup;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ContextManager - Native/webview context of a session and context-aware readiness
+ *
+ * The current context is read once and reused until a context switch is sent
+ * on the session, by this class or any other caller (PageSourceCachingExecutor
+ * counts them); sessions without that executor query it every time. The
+ * context list is cached for a short time. Readiness follows the context:
+ * document.readyState is only polled inside a webview; in the native context
+ * the screen counts as ready once its hierarchy is stable (UiStabilityDetector)
+ * instead of running a JavaScript call that can never succeed there.
+ *
+ * BILD articles render in a WebView inside the native screen.
+ * waitForWebViewContent() detects that, switches into the webview, waits for
+ * the document and switches back to the native context.
+ */
+public final class ContextManager {
+
+    private static final Logger logger = LogManager.getLogger(ContextManager.class);
+    private static final Map<SessionId, ContextManager> managers = new ConcurrentHashMap<>();
+
+    public static final String NATIVE_CONTEXT = "NATIVE_APP";
+    private static final By WEBVIEW_ELEMENT = By.className("android.webkit.WebView");
+
+    private static final AtomicLong contextQueries = new AtomicLong();
+    private static final AtomicLong contextSwitches = new AtomicLong();
+    private static final AtomicLong readyStateWaits = new AtomicLong();
+    private static final AtomicLong nativeReadinessWaits = new AtomicLong();
+
+    private final AppiumDriver driver;
+    private volatile String currentContext;
+    private volatile long currentContextSwitchCount;
+    private volatile List<String> contexts;
+    private volatile long contextsFetchedAt;
+
+    private ContextManager(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    static {
+        StatsRegistry.register("ContextManager", ContextManager::getStatsSummary);
+        SessionCleanup.register(driver -> managers.remove(driver.getSessionId()));
+    }
+
+    /**
+     * Context manager bound to the given session
+     */
+    public static ContextManager forDriver(AppiumDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        if (sessionId == null) {
+            return new ContextManager(driver);
+        }
+        return managers.computeIfAbsent(sessionId, id -> new ContextManager(driver));
+    }
+
+    // ========================================
+    // CONTEXTS
+    // ========================================
+
+    public String getCurrentContext() {
+        String context = currentContext;
+        long switchCount = PageSourceCachingExecutor.getContextSwitchCount(driver);
+        if (context == null || switchCount < 0 || switchCount != currentContextSwitchCount) {
+            contextQueries.incrementAndGet();
+            try {
+                Object value = driver.execute(DriverCommand.GET_CURRENT_CONTEXT_HANDLE).getValue();
+                context = value != null ? value.toString() : NATIVE_CONTEXT;
+            } catch (Exception e) {
+                logger.debug("Current context not reported, assuming native: {}", e.getMessage());
+                context = NATIVE_CONTEXT;
+            }
+            currentContext = context;
+            currentContextSwitchCount = switchCount;
+        }
+        return context;
+    }
+
+    public boolean isWebView() {
+        return !NATIVE_CONTEXT.equals(getCurrentContext());
+    }
+
+    /**
+     * Available contexts, cached for context.list.cache.ms
+     */
+    public List<String> getContexts() {
+        List<String> cached = contexts;
+        long maxAge = FrameworkConfig.getContextListCacheMillis();
+        if (cached != null && System.currentTimeMillis() - contextsFetchedAt < maxAge) {
+            return cached;
+        }
+        contextQueries.incrementAndGet();
+        List<String> fetched = new ArrayList<>();
+        try {
+            Object value = driver.execute(DriverCommand.GET_CONTEXT_HANDLES).getValue();
+            if (value instanceof Collection) {
+                ((Collection<?>) value).forEach(context -> fetched.add(String.valueOf(context)));
+            }
+        } catch (Exception e) {
+            logger.debug("Context list not reported: {}", e.getMessage());
+        }
+        contexts = fetched;
+        contextsFetchedAt = System.currentTimeMillis();
+        return fetched;
+    }
+
+    /**
+     * Switch to the app's webview context, preferring one that names the app package
+     * @return true if a webview context was entered
+     */
+    public boolean switchToWebView() {
+        if (isWebView()) {
+            return true;
+        }
+        String target = null;
+        for (String context : getContexts()) {
+            if (context.startsWith("WEBVIEW")) {
+                if (context.contains(ApplicationConstants.AppConfig.APP_PACKAGE_NAME)) {
+                    target = context;
+                    break;
+                }
+                if (target == null) {
+                    target = context;
+                }
+            }
+        }
+        if (target == null) {
+            logger.info("No webview context available");
+            return false;
+        }
+        switchTo(target);
+        return true;
+    }
+
+    public void switchToNative() {
+        if (isWebView()) {
+            switchTo(NATIVE_CONTEXT);
+        }
+    }
+
+    private void switchTo(String context) {
+        driver.execute(DriverCommand.SWITCH_TO_CONTEXT, Map.of("name", context));
+        currentContext = context;
+        currentContextSwitchCount = PageSourceCachingExecutor.getContextSwitchCount(driver);
+        contextSwitches.incrementAndGet();
+        logger.info("Switched to context {}", context);
+    }
+
+    // ========================================
+    // READINESS
+    // ========================================
+
+    /**
+     * Wait until the current context is ready: document complete in a webview,
+     * a stable hierarchy in the native context
+     * @return true if ready within the timeout
+     */
+    public boolean waitForReady(Duration timeout) {
+        try {
+            if (isWebView()) {
+                readyStateWaits.incrementAndGet();
+                WebDriverWait wait = DeadlineBudget.newWait(driver, timeout, "ContextManager.waitForReady");
+                wait.until(d -> "complete".equals(driver.executeScript("return document.readyState")));
+                return true;
+            }
+            nativeReadinessWaits.incrementAndGet();
+            return UiStabilityDetector.waitForStable(driver, timeout).isStable();
+        } catch (Exception e) {
+            logger.warn("{} readiness wait failed: {}", isWebView() ? "Webview" : "Native", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Wait for a webview article shown inside the native screen: switch into
+     * the webview, wait for the document, and return to the native context.
+     * Screens without a WebView only get the native readiness wait.
+     * @return true if the screen is ready within the timeout
+     */
+    public boolean waitForWebViewContent(Duration timeout) {
+        if (isWebView()) {
+            return waitForReady(timeout);
+        }
+        boolean nativeReady = waitForReady(timeout);
+        if (!nativeReady || driver.findElements(WEBVIEW_ELEMENT).isEmpty()) {
+            return nativeReady;
+        }
+        contexts = null; // The webview has just appeared, the cached list predates it
+        if (!switchToWebView()) {
+            return true;
+        }
+        try {
+            return waitForReady(timeout);
+        } finally {
+            switchToNative();
+        }
+    }
+
+    public static String getStatsSummary() {
+        return String.format("Contexts: server queries=%d, switches=%d, readyState waits=%d, native readiness waits=%d",
+                contextQueries.get(), contextSwitches.get(), readyStateWaits.get(), nativeReadinessWaits.get());
+    }
+}
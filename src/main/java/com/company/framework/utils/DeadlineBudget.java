@@ -0,0 +1,224 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.ApplicationConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * DeadlineBudget - Per-test and per-step time budget shared by all waits
+ *
+ * A test starts with ApplicationConstants.Timeouts.TEST_BUDGET, and every step
+ * gets at most STEP_BUDGET of what is left. Waits, scroll loops and locator
+ * fallbacks ask for their usual timeout through grant() / newWait() and receive
+ * no more than the remaining budget, so a chain of individually reasonable
+ * timeouts can no longer add up past the test's limit. Once the budget is spent
+ * the next consumer fails immediately with a TimeoutException carrying a time
+ * report (per step and per consumer).
+ *
+ * Budgets are per thread; outside a test (no startTest) every request is
+ * granted unchanged.
+ */
+public final class DeadlineBudget {
+
+    private static final Logger logger = LogManager.getLogger(DeadlineBudget.class);
+    private static final ThreadLocal<DeadlineBudget> current = new ThreadLocal<>();
+
+    private final String testName;
+    private final Duration testBudget;
+    private final long stepBudgetNanos;
+    private final long testStart;
+    private final long testDeadline;
+    private String stepName = "setup";
+    private long stepStart;
+    private long stepDeadline;
+    private boolean stepOpen = true;
+    private final List<String> steps = new ArrayList<>();
+    private final Map<String, long[]> consumers = new LinkedHashMap<>();
+
+    private DeadlineBudget(String testName, Duration testBudget, Duration stepBudget) {
+        this.testName = testName;
+        this.testBudget = testBudget;
+        this.stepBudgetNanos = stepBudget.toNanos();
+        this.testStart = System.nanoTime();
+        this.testDeadline = testStart + testBudget.toNanos();
+        this.stepStart = testStart;
+        this.stepDeadline = Math.min(testDeadline, testStart + stepBudgetNanos);
+    }
+
+    // ========================================
+    // LIFECYCLE
+    // ========================================
+
+    /**
+     * Open the budget of a test on the calling thread
+     */
+    public static void startTest(String testName) {
+        startTest(testName, ApplicationConstants.Timeouts.TEST_BUDGET, ApplicationConstants.Timeouts.STEP_BUDGET);
+    }
+
+    static void startTest(String testName, Duration testBudget, Duration stepBudget) {
+        current.set(new DeadlineBudget(testName, testBudget, stepBudget));
+    }
+
+    /**
+     * Close the current step and give the next one its own budget
+     */
+    public static void startStep(String stepName) {
+        DeadlineBudget budget = current.get();
+        if (budget == null) return;
+        long now = System.nanoTime();
+        budget.closeStep(now);
+        budget.stepName = stepName;
+        budget.stepStart = now;
+        budget.stepOpen = true;
+        budget.stepDeadline = Math.min(budget.testDeadline, now + budget.stepBudgetNanos);
+    }
+
+    /**
+     * Close the test budget of the calling thread
+     * @return time report, or null if no budget was open
+     */
+    public static String endTest() {
+        DeadlineBudget budget = current.get();
+        current.remove();
+        if (budget == null) return null;
+        budget.closeStep(System.nanoTime());
+        return budget.report();
+    }
+
+    private void closeStep(long now) {
+        stepOpen = false;
+        steps.add(String.format("%s: %d ms", stepName, (now - stepStart) / 1_000_000));
+    }
+
+    // ========================================
+    // GRANTS
+    // ========================================
+
+    /**
+     * Remaining time of the current step, or null outside a test
+     */
+    public static Duration remaining() {
+        DeadlineBudget budget = current.get();
+        return budget == null ? null : Duration.ofNanos(Math.max(0, budget.stepDeadline - System.nanoTime()));
+    }
+
+    /**
+     * Timeout a consumer may use: the requested one, capped by the remaining budget
+     * @param consumer name shown in the time report
+     * @throws TimeoutException if the budget is already spent
+     */
+    public static Duration grant(String consumer, Duration requested) {
+        Duration left = remaining();
+        if (left == null) {
+            return requested;
+        }
+        if (left.isZero()) {
+            throw exhausted(consumer, null);
+        }
+        return requested.compareTo(left) <= 0 ? requested : left;
+    }
+
+    /**
+     * Fail fast if the budget is spent (for loops that have no timeout of their own)
+     */
+    public static void checkpoint(String consumer) {
+        grant(consumer, Duration.ZERO);
+    }
+
+    /**
+     * Exception for a wait that ran out of time: the budget-exhausted one with
+     * the time report if the step budget is spent, otherwise the wait's own
+     * @param timeout the wait's timeout, kept as the cause when the budget is spent
+     */
+    public static TimeoutException timedOut(String consumer, TimeoutException timeout) {
+        return isExhausted() ? exhausted(consumer, timeout) : timeout;
+    }
+
+    /**
+     * Charge time spent by a consumer to the report
+     */
+    public static void record(String consumer, long nanos) {
+        DeadlineBudget budget = current.get();
+        if (budget == null) return;
+        long[] totals = budget.consumers.computeIfAbsent(consumer, k -> new long[2]);
+        totals[0]++;
+        totals[1] += nanos;
+    }
+
+    /**
+     * Whether the current step's budget is spent
+     */
+    public static boolean isExhausted() {
+        Duration left = remaining();
+        return left != null && left.isZero();
+    }
+
+    /**
+     * WebDriverWait whose timeout is re-capped by the remaining budget on every until()
+     * and whose time is charged to the consumer
+     * The consumer name is also the wait's name for AdaptiveTimeouts
+     */
+    public static WebDriverWait newWait(WebDriver driver, Duration requested, String consumer) {
+        return new WebDriverWait(driver, requested) {
+            @Override
+            public <V> V until(Function<? super WebDriver, V> isTrue) {
+                Duration tuned = AdaptiveTimeouts.tune(driver, consumer, requested);
+                withTimeout(grant(consumer, tuned));
+                long start = System.nanoTime();
+                try {
+                    V value = super.until(isTrue);
+                    AdaptiveTimeouts.record(driver, consumer, Duration.ofNanos(System.nanoTime() - start), true,
+                            requested, tuned);
+                    return value;
+                } catch (TimeoutException e) {
+                    AdaptiveTimeouts.record(driver, consumer, Duration.ofNanos(System.nanoTime() - start), false,
+                            requested, tuned);
+                    throw timedOut(consumer, e);
+                } finally {
+                    record(consumer, System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    private static TimeoutException exhausted(String consumer, Throwable cause) {
+        DeadlineBudget budget = current.get();
+        String report = budget.report();
+        logger.error("Time budget exhausted in step '{}' by {}\n{}", budget.stepName, consumer, report);
+        return new TimeoutException("Time budget exhausted in step '" + budget.stepName + "' by " + consumer
+                + "\n" + report, cause);
+    }
+
+    // ========================================
+    // REPORT
+    // ========================================
+
+    private String report() {
+        long now = System.nanoTime();
+        StringBuilder sb = new StringBuilder(String.format("Time report for %s: %d ms of %d s budget",
+                testName, (now - testStart) / 1_000_000, testBudget.getSeconds()));
+        List<String> all = new ArrayList<>(steps);
+        if (stepOpen) {
+            all.add(String.format("%s: %d ms (running)", stepName, (now - stepStart) / 1_000_000));
+        }
+        sb.append("\n  steps: ").append(String.join(", ", all));
+        sb.append("\n  waits:");
+        if (consumers.isEmpty()) {
+            sb.append(" -");
+        }
+        consumers.forEach((consumer, totals) -> sb.append(String.format(" %s=%d ms (%dx)",
+                consumer, totals[1] / 1_000_000, totals[0])));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,311 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.SessionCleanup;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DeviceGeometry - Screen geometry of a session, fetched once and cached
+ *
+ * Window size, display density, orientation and system-bar insets are read
+ * on first use and kept until the session rotates (setOrientation) or
+ * invalidate() is called, so gestures no longer ask the server for the window
+ * size every time. A rotation the framework did not cause (the app, a test
+ * step, the device) is caught by re-reading only the orientation once
+ * device.geometry.orientation.check.ms has passed since the last check; the
+ * full geometry is reloaded when it differs. Normalised test-data coordinates
+ * (0..1) are translated to pixels against the screenSize of the allocated
+ * device in device-matrix.json, falling back to the live window size.
+ */
+public final class DeviceGeometry {
+
+    private static final Logger logger = LogManager.getLogger(DeviceGeometry.class);
+    private static final Map<SessionId, DeviceGeometry> geometries = new ConcurrentHashMap<>();
+
+    /** Android baseline density (1 dp = 1 px) */
+    private static final int BASELINE_DENSITY = 160;
+
+    private static final AtomicLong loads = new AtomicLong();
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong orientationChecks = new AtomicLong();
+    private static final AtomicLong externalRotations = new AtomicLong();
+
+    private final AppiumDriver driver;
+    private final long orientationCheckNanos;
+    private volatile Snapshot snapshot;
+    private volatile long orientationCheckedAt;
+
+    private DeviceGeometry(AppiumDriver driver) {
+        this(driver, Duration.ofMillis(FrameworkConfig.getOrientationCheckMillis()));
+    }
+
+    DeviceGeometry(AppiumDriver driver, Duration orientationCheckInterval) {
+        this.driver = driver;
+        this.orientationCheckNanos = orientationCheckInterval.toNanos();
+    }
+
+    private static final class Snapshot {
+        final Dimension windowSize;
+        final Dimension screenSize;
+        final int density;
+        final String orientation;
+        final int statusBarHeight;
+        final int navigationBarHeight;
+
+        Snapshot(Dimension windowSize, Dimension screenSize, int density, String orientation,
+                 int statusBarHeight, int navigationBarHeight) {
+            this.windowSize = windowSize;
+            this.screenSize = screenSize;
+            this.density = density;
+            this.orientation = orientation;
+            this.statusBarHeight = statusBarHeight;
+            this.navigationBarHeight = navigationBarHeight;
+        }
+    }
+
+    static {
+        StatsRegistry.register("DeviceGeometry", DeviceGeometry::getStatsSummary);
+        SessionCleanup.register(driver -> geometries.remove(driver.getSessionId()));
+    }
+
+    /**
+     * Geometry of the given session
+     */
+    public static DeviceGeometry forDriver(AppiumDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        if (sessionId == null) {
+            return new DeviceGeometry(driver);
+        }
+        return geometries.computeIfAbsent(sessionId, id -> new DeviceGeometry(driver));
+    }
+
+    // ========================================
+    // ACCESSORS
+    // ========================================
+
+    public Dimension getWindowSize() {
+        return snapshot().windowSize;
+    }
+
+    /**
+     * Physical screen size in the current orientation
+     */
+    public Dimension getScreenSize() {
+        return snapshot().screenSize;
+    }
+
+    /**
+     * Display density in dpi
+     */
+    public int getDensity() {
+        return snapshot().density;
+    }
+
+    /**
+     * "PORTRAIT" or "LANDSCAPE"
+     */
+    public String getOrientation() {
+        return snapshot().orientation;
+    }
+
+    public int getStatusBarHeight() {
+        return snapshot().statusBarHeight;
+    }
+
+    public int getNavigationBarHeight() {
+        return snapshot().navigationBarHeight;
+    }
+
+    /**
+     * Convert density-independent pixels to pixels
+     */
+    public int dpToPx(int dp) {
+        return Math.round(dp * (float) getDensity() / BASELINE_DENSITY);
+    }
+
+    /**
+     * Translate normalised coordinates (0..1 of the screen) to pixels
+     * @return {x, y} in pixels, clamped to the screen
+     */
+    public int[] toPixels(double normalizedX, double normalizedY) {
+        Dimension screen = getScreenSize();
+        int x = (int) Math.round(normalizedX * screen.width);
+        int y = (int) Math.round(normalizedY * screen.height);
+        return new int[] {
+                Math.max(0, Math.min(screen.width - 1, x)),
+                Math.max(0, Math.min(screen.height - 1, y))
+        };
+    }
+
+    // ========================================
+    // ROTATION / INVALIDATION
+    // ========================================
+
+    /**
+     * Rotate the device and drop the cached geometry
+     * @param orientation "PORTRAIT" or "LANDSCAPE"
+     */
+    public void setOrientation(String orientation) {
+        driver.execute(DriverCommand.SET_SCREEN_ORIENTATION, Map.of("orientation", orientation.toUpperCase()));
+        invalidate();
+        logger.info("Device rotated to {}", orientation);
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Drop the cached geometry of a session (e.g. after an external rotation)
+     */
+    public static void invalidate(AppiumDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        DeviceGeometry geometry = sessionId == null ? null : geometries.get(sessionId);
+        if (geometry != null) {
+            geometry.invalidate();
+        }
+    }
+
+    // ========================================
+    // LOADING
+    // ========================================
+
+    private Snapshot snapshot() {
+        lookups.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current != null && rotatedSince(current)) {
+            invalidate();
+            current = null;
+        }
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * One orientation query, at most once per check interval
+     */
+    private boolean rotatedSince(Snapshot current) {
+        long now = System.nanoTime();
+        if (now - orientationCheckedAt < orientationCheckNanos) {
+            return false;
+        }
+        orientationCheckedAt = now;
+        orientationChecks.incrementAndGet();
+        String orientation;
+        try {
+            orientation = readOrientation(null);
+        } catch (Exception e) {
+            logger.debug("Orientation check failed, keeping cached geometry: {}", e.getMessage());
+            return false;
+        }
+        if (orientation.equals(current.orientation)) {
+            return false;
+        }
+        externalRotations.incrementAndGet();
+        logger.info("Device rotated to {} outside setOrientation, reloading geometry", orientation);
+        return true;
+    }
+
+    /**
+     * Orientation as reported by the server, else derived from the window size
+     * @param window window size if already fetched, null to fetch it when needed
+     */
+    private String readOrientation(Dimension window) {
+        try {
+            return String.valueOf(driver.execute(DriverCommand.GET_SCREEN_ORIENTATION).getValue()).toUpperCase();
+        } catch (Exception e) {
+            logger.debug("Orientation not reported, derived from window size: {}", e.getMessage());
+        }
+        Dimension size = window != null ? window : driver.manage().window().getSize();
+        return size.width > size.height ? "LANDSCAPE" : "PORTRAIT";
+    }
+
+    private Snapshot load() {
+        loads.incrementAndGet();
+        Dimension window = driver.manage().window().getSize();
+        Map<String, Object> matrixEntry = MobileDeviceUtils.getDeviceInfo(MobileDeviceUtils.getDeviceName(driver));
+
+        String orientation = readOrientation(window);
+        orientationCheckedAt = System.nanoTime();
+
+        Dimension screen = parseScreenSize(matrixEntry.get("screenSize"));
+        if (screen == null) {
+            screen = window;
+        } else if ("LANDSCAPE".equals(orientation) != (screen.width > screen.height)) {
+            screen = new Dimension(screen.height, screen.width);
+        }
+
+        int density = toInt(matrixEntry.get("density"), 0);
+        try {
+            density = toInt(driver.execute("getDisplayDensity").getValue(), density);
+        } catch (Exception e) {
+            logger.debug("Display density not reported: {}", e.getMessage());
+        }
+        if (density <= 0) {
+            density = BASELINE_DENSITY;
+        }
+
+        int statusBar = 0;
+        int navigationBar = 0;
+        try {
+            Response response = driver.execute("getSystemBars");
+            if (response.getValue() instanceof Map) {
+                Map<?, ?> bars = (Map<?, ?>) response.getValue();
+                statusBar = barHeight(bars.get("statusBar"));
+                navigationBar = barHeight(bars.get("navigationBar"));
+            }
+        } catch (Exception e) {
+            logger.debug("System bars not reported: {}", e.getMessage());
+        }
+
+        logger.info("Device geometry: window {}x{}, screen {}x{}, {} dpi, {}, status bar {} px, navigation bar {} px",
+                window.width, window.height, screen.width, screen.height, density, orientation, statusBar, navigationBar);
+        return new Snapshot(window, screen, density, orientation, statusBar, navigationBar);
+    }
+
+    private static Dimension parseScreenSize(Object value) {
+        if (value == null) return null;
+        String[] parts = value.toString().toLowerCase().split("x");
+        if (parts.length != 2) return null;
+        try {
+            return new Dimension(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int barHeight(Object bar) {
+        if (!(bar instanceof Map)) return 0;
+        Map<?, ?> values = (Map<?, ?>) bar;
+        if (Boolean.FALSE.equals(values.get("visible"))) return 0;
+        return toInt(values.get("height"), 0);
+    }
+
+    private static int toInt(Object value, int fallback) {
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    public static String getStatsSummary() {
+        return String.format("Device geometry: lookups=%d, server loads=%d, orientation checks=%d (external rotations=%d)",
+                lookups.get(), loads.get(), orientationChecks.get(), externalRotations.get());
+    }
+}
@@ -4,6 +4,7 @@ import com.company.framework.interfaces.driver.IDriverManager;
 import com.company.framework.interfaces.wait.IWaitStrategy;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -17,35 +18,54 @@ import java.time.Duration;
  */
 public class ExplicitWaitStrategy implements IWaitStrategy {
     
-    private final WebDriverWait wait;
+    private final IDriverManager driverManager;
+    private final Duration timeout;
     
     public ExplicitWaitStrategy(IDriverManager driverManager, long timeoutInSeconds) {
-        this.wait = new WebDriverWait(driverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+        this.driverManager = driverManager;
+        this.timeout = Duration.ofSeconds(timeoutInSeconds);
+    }
+    
+    /**
+     * Build the wait against the calling thread's session so one strategy
+     * instance can be shared across parallel workers
+     */
+    private WebDriverWait newWait() {
+        return DeadlineBudget.newWait(driverManager.getDriver(), timeout, "ExplicitWaitStrategy");
     }
     
     @Override
     public WebElement waitForVisibility(WebElement element) {
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return newWait().until(ExpectedConditions.visibilityOf(element));
     }
     
     @Override
     public WebElement waitForClickable(WebElement element) {
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return newWait().until(ExpectedConditions.elementToBeClickable(element));
     }
     
     @Override
     public boolean waitForInvisibility(By locator) {
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return newWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
     }
     
     @Override
     public boolean waitForTextToBePresentInElement(WebElement element, String text) {
-        return wait.until(ExpectedConditions.textToBePresentInElement(element, text));
+        return newWait().until(ExpectedConditions.textToBePresentInElement(element, text));
+    }
+    
+    @Override
+    public WebElement waitForAnyVisible(By... locators) {
+        MultiLocatorWait.Result result = MultiLocatorWait.waitForAny(driverManager.getDriver(), locators, timeout, true);
+        if (result == null) {
+            throw new TimeoutException("No element visible within " + timeout.getSeconds() + "s for any of " + locators.length + " locators");
+        }
+        return result.getFirstElement();
     }
     
     public void scrollToElement(WebElement element) {
         // For mobile apps, use TouchActionUtils directly for mobile-optimized scrolling
-        AppiumDriver driver = com.company.framework.managers.DependencyManager.getInstance().getDriverManager().getDriver();
+        AppiumDriver driver = driverManager.getDriver();
         com.company.framework.utils.TouchActionUtils touchUtils = new com.company.framework.utils.TouchActionUtils(driver);
         touchUtils.scrollToElement(element);
     }
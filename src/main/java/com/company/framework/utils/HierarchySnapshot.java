@@ -0,0 +1,360 @@
+package com.company.framework.utils;
+
+import com.company.framework.locators.common.LocatorStatistics;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HierarchySnapshot - Evaluates fallback locators locally over one page-source snapshot
+ *
+ * Instead of one driver.findElements round trip per fallback locator, the UI
+ * hierarchy is fetched once and every XPath / id / class name / accessibility id
+ * locator is evaluated in the JVM with the JDK XPath 1.0 engine, which covers the
+ * subset used in BildAppLocators and BaseLocators (attribute tests, contains(),
+ * string-length(), and/or). Only the winning locator is then resolved on the
+ * server. UiAutomator selectors cannot be evaluated locally and are reported as
+ * unsupported so callers can fall back to the live path. A bare By.id matches
+ * the way UiAutomator2 resolves it, i.e. with the app package prefixed.
+ *
+ * With locator.local.benchmark enabled, callers run the same lookup through
+ * both paths and time each with recordLookup(), so the averages compare like
+ * with like.
+ */
+public final class HierarchySnapshot {
+
+    private static final Logger logger = LogManager.getLogger(HierarchySnapshot.class);
+    private static final Pattern ANDROID_BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    private static final AtomicLong snapshots = new AtomicLong();
+    private static final AtomicLong snapshotNanos = new AtomicLong();
+    private static final AtomicLong localEvaluations = new AtomicLong();
+    private static final Map<String, AtomicLong[]> lookupStats = new ConcurrentHashMap<>();
+
+    private final Document document;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private final Map<String, XPathExpression> compiled = new HashMap<>();
+
+    static {
+        StatsRegistry.register("HierarchySnapshot", HierarchySnapshot::getStatsSummary);
+    }
+
+    private HierarchySnapshot(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * A locally matched node together with the locator that found it
+     */
+    public static final class Match {
+        private final By locator;
+        private final int index;
+        private final Map<String, String> attributes;
+
+        private Match(By locator, int index, Map<String, String> attributes) {
+            this.locator = locator;
+            this.index = index;
+            this.attributes = attributes;
+        }
+
+        public By getLocator() { return locator; }
+        public String getAttribute(String name) { return attributes.get(name); }
+
+        /**
+         * Resolve the matched node to a live element with a single server lookup
+         * @return element, or null if the UI changed since the snapshot
+         */
+        public WebElement resolve(AppiumDriver driver) {
+            List<WebElement> found = driver.findElements(locator);
+            return found.size() > index ? found.get(index) : null;
+        }
+    }
+
+    // ========================================
+    // SNAPSHOT
+    // ========================================
+
+    /**
+     * Parse a recorded UI hierarchy (e.g. a saved page source)
+     * @return snapshot, or null if the XML could not be parsed
+     */
+    public static HierarchySnapshot fromXml(String xml) {
+        try {
+            return new HierarchySnapshot(parse(xml));
+        } catch (Exception e) {
+            logger.warn("Could not parse recorded hierarchy: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetch and parse the current UI hierarchy
+     * @return snapshot, or null if the page source could not be parsed
+     */
+    public static HierarchySnapshot capture(AppiumDriver driver) {
+        long start = System.nanoTime();
+        try {
+            return new HierarchySnapshot(parse(driver.getPageSource()));
+        } catch (Exception e) {
+            logger.warn("Could not build hierarchy snapshot: {}", e.getMessage());
+            return null;
+        } finally {
+            snapshots.incrementAndGet();
+            snapshotNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    // ========================================
+    // EVALUATION
+    // ========================================
+
+    /**
+     * Check whether a locator can be evaluated locally
+     */
+    public static boolean isSupported(By locator) {
+        return toXPath(locator) != null;
+    }
+
+    /**
+     * First node matched by the locators, tried in order, that passes the filter
+     * @param locators fallback locators in priority order
+     * @param filter test on the node attributes (class, enabled, displayed, ...)
+     * @return match, or null if no supported locator matched
+     */
+    public Match findFirst(By[] locators, Predicate<Map<String, String>> filter) {
+        return findFirst(null, locators, filter);
+    }
+
+    /**
+     * Same as findFirst, also feeding the outcome into LocatorStatistics
+     * @param statsKey element key for LocatorStatistics, or null to skip recording
+     */
+    public Match findFirst(String statsKey, By[] locators, Predicate<Map<String, String>> filter) {
+        for (By locator : locators) {
+            long start = System.nanoTime();
+            NodeList nodes = evaluate(locator);
+            if (nodes == null) continue;
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Map<String, String> attributes = attributesOf(nodes.item(i));
+                if (filter.test(attributes)) {
+                    if (statsKey != null) {
+                        LocatorStatistics.recordHit(statsKey, locator, (System.nanoTime() - start) / 1_000_000);
+                    }
+                    return new Match(locator, i, attributes);
+                }
+            }
+            if (statsKey != null) {
+                LocatorStatistics.recordMiss(statsKey, locator);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * First node matched by any of the locators
+     */
+    public Match findFirst(By[] locators) {
+        return findFirst(locators, attributes -> true);
+    }
+
+    /**
+     * Whether any of the locators matches at least one node
+     */
+    public boolean anyMatch(By[] locators) {
+        return findFirst(locators) != null;
+    }
+
+    /**
+     * First node (in document order) a single locator matches, for identity checks
+     * @return node, or null if nothing matches or the locator is unsupported
+     */
+    Node firstNode(By locator) {
+        NodeList nodes = evaluate(locator);
+        return nodes == null || nodes.getLength() == 0 ? null : nodes.item(0);
+    }
+
+    /**
+     * Number of nodes a single locator matches in this snapshot
+     */
+    public int count(By locator) {
+        NodeList nodes = evaluate(locator);
+        return nodes == null ? 0 : nodes.getLength();
+    }
+
+    /**
+     * Screen bounds of every node a locator matches
+     * Reads the Android "bounds" attribute or the iOS x/y/width/height attributes
+     * @return bounds in document order, nodes without bounds are skipped
+     */
+    public List<Rectangle> boundsOf(By locator) {
+        List<Rectangle> bounds = new ArrayList<>();
+        NodeList nodes = evaluate(locator);
+        if (nodes == null) {
+            return bounds;
+        }
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Rectangle rect = parseBounds(attributesOf(nodes.item(i)));
+            if (rect != null) {
+                bounds.add(rect);
+            }
+        }
+        return bounds;
+    }
+
+    static Rectangle parseBounds(Map<String, String> attributes) {
+        try {
+            String android = attributes.get("bounds");
+            if (android != null) {
+                Matcher m = ANDROID_BOUNDS.matcher(android);
+                if (!m.matches()) return null;
+                int x1 = Integer.parseInt(m.group(1));
+                int y1 = Integer.parseInt(m.group(2));
+                return new Rectangle(x1, y1, Integer.parseInt(m.group(4)) - y1, Integer.parseInt(m.group(3)) - x1);
+            }
+            if (attributes.containsKey("x") && attributes.containsKey("height")) {
+                return new Rectangle(Integer.parseInt(attributes.get("x")), Integer.parseInt(attributes.get("y")),
+                        Integer.parseInt(attributes.get("height")), Integer.parseInt(attributes.get("width")));
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("Unparseable bounds: {}", attributes);
+        }
+        return null;
+    }
+
+    /**
+     * Whether every locator in the array can be evaluated locally
+     */
+    public static boolean allSupported(By[] locators) {
+        for (By locator : locators) {
+            if (!isSupported(locator)) return false;
+        }
+        return true;
+    }
+
+    private NodeList evaluate(By locator) {
+        String expression = toXPath(locator);
+        if (expression == null) {
+            return null;
+        }
+        localEvaluations.incrementAndGet();
+        try {
+            XPathExpression xp = compiled.get(expression);
+            if (xp == null) {
+                xp = xpath.compile(expression);
+                compiled.put(expression, xp);
+            }
+            return (NodeList) xp.evaluate(document, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            logger.debug("Local XPath evaluation failed for {}: {}", locator, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Translate a locator into an equivalent XPath over the UiAutomator2 hierarchy
+     * @return XPath expression, or null if the locator has no XPath equivalent
+     */
+    public static String toXPath(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters params = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(params.value());
+        switch (params.using()) {
+            case "xpath":
+                return value;
+            case "id":
+                if (value.contains(":")) {
+                    return "//*[@resource-id=" + literal(value) + "]";
+                }
+                // UiAutomator2 prefixes bare ids with the app package ("<package>:id/<value>")
+                String suffix = ":id/" + value;
+                return "//*[@resource-id=" + literal(value) + " or substring(@resource-id, string-length(@resource-id) - "
+                        + (suffix.length() - 1) + ")=" + literal(suffix) + "]";
+            case "class name":
+                return "//*[@class=" + literal(value) + "]";
+            case "accessibility id":
+                return "//*[@content-desc=" + literal(value) + "]";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * XPath string literal for any text, concat() when it has both quote kinds
+     */
+    static String literal(String value) {
+        if (!value.contains("'")) return "'" + value + "'";
+        if (!value.contains("\"")) return "\"" + value + "\"";
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private static Map<String, String> attributesOf(Node node) {
+        Map<String, String> attributes = new HashMap<>();
+        if (node instanceof Element) {
+            NamedNodeMap map = node.getAttributes();
+            for (int i = 0; i < map.getLength(); i++) {
+                attributes.put(map.item(i).getNodeName(), map.item(i).getNodeValue());
+            }
+            attributes.putIfAbsent("class", node.getNodeName());
+        }
+        return attributes;
+    }
+
+    // ========================================
+    // BENCHMARK
+    // ========================================
+
+    /**
+     * Record the wall time of one benchmarked lookup through a named path ("local" or "live")
+     */
+    public static void recordLookup(String path, long nanos) {
+        AtomicLong[] stats = lookupStats.computeIfAbsent(path, k -> new AtomicLong[] {new AtomicLong(), new AtomicLong()});
+        stats[0].incrementAndGet();
+        stats[1].addAndGet(nanos);
+    }
+
+    public static String getStatsSummary() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "Local locator engine: snapshots=%d (avg %d ms), local evaluations=%d",
+                snapshots.get(), snapshotNanos.get() / Math.max(1, snapshots.get()) / 1_000_000,
+                localEvaluations.get()));
+        lookupStats.forEach((path, stats) -> sb.append(String.format(", benchmark %s path=%d lookups avg %d ms",
+                path, stats[0].get(), stats[1].get() / Math.max(1, stats[0].get()) / 1_000_000)));
+        return sb.toString();
+    }
+}
@@ -12,7 +12,7 @@ public class LocatorFactory {
     public static By[] getCombinedLocators(LocatorType commonType, BildAppLocators.BildElementType bildType) {
         List<By> combined = new ArrayList<>();
 
-        // BILD-specific first
+        // BILD-specific first (already ranked under their element type)
         By[] bildLocators = BildAppLocators.getLocators(bildType);
         if (bildLocators != null) {
             for (By b : bildLocators) combined.add(b);
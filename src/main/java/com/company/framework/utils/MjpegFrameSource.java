@@ -0,0 +1,304 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.SessionCleanup;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MjpegFrameSource - Screenshots served from the UiAutomator2 MJPEG stream
+ *
+ * Optional (screenshot.mjpeg.enabled). Android sessions are created with their
+ * own appium:mjpegServerPort; Appium forwards that port to the server host. A
+ * daemon thread per session reads the stream continuously and keeps the last
+ * screenshot.mjpeg.buffer.frames JPEG frames in a ring buffer, so a screenshot
+ * is a buffer read instead of a server round trip.
+ *
+ * ScreenshotPipeline.fetch() asks latestFrame() first. Only a frame received
+ * after the request is served - a failure screenshot must show the screen at
+ * the failure, not up to one frame interval before it - so the caller waits
+ * for the next frame, at most screenshot.mjpeg.max.age.ms. It falls back to
+ * the screenshot command when the session has no stream, the stream is down,
+ * or no frame arrives in time; every fallback is counted by reason.
+ *
+ * The reader stops when its session ends (SessionCleanup); a pooled session
+ * gets a new reader with its next lease.
+ */
+public final class MjpegFrameSource {
+
+    private static final Logger logger = LogManager.getLogger(MjpegFrameSource.class);
+    private static final Map<SessionId, MjpegFrameSource> sources = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextPort = new AtomicInteger();
+
+    /** Stream attempts in a row that may fail before the reader gives up */
+    private static final int MAX_CONNECT_FAILURES = 3;
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final int READ_TIMEOUT_MS = 5000;
+
+    private static final AtomicLong framesRead = new AtomicLong();
+    private static final AtomicLong framesServed = new AtomicLong();
+    private static final AtomicLong fallbackNoStream = new AtomicLong();
+    private static final AtomicLong fallbackStale = new AtomicLong();
+    private static final AtomicLong streamErrors = new AtomicLong();
+
+    private final SessionId sessionId;
+    private final URL streamUrl;
+    private final AtomicReferenceArray<Frame> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final Object frameArrived = new Object();
+    private volatile boolean running = true;
+
+    static {
+        StatsRegistry.register("MjpegFrameSource", MjpegFrameSource::getStatsSummary);
+        SessionCleanup.register(MjpegFrameSource::stop);
+    }
+
+    MjpegFrameSource(SessionId sessionId, URL streamUrl) {
+        this.sessionId = sessionId;
+        this.streamUrl = streamUrl;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, FrameworkConfig.getMjpegBufferFrames()));
+    }
+
+    /**
+     * One JPEG frame of the stream
+     */
+    public static final class Frame {
+        private final byte[] jpeg;
+        private final long receivedAt;
+
+        private Frame(byte[] jpeg, long receivedAt) {
+            this.jpeg = jpeg;
+            this.receivedAt = receivedAt;
+        }
+
+        public byte[] getJpeg() { return jpeg; }
+
+        /** Age of the frame in milliseconds */
+        public long getAgeMillis() {
+            return (System.nanoTime() - receivedAt) / 1_000_000;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.isMjpegFrameSourceEnabled();
+    }
+
+    // ========================================
+    // SESSION LIFECYCLE
+    // ========================================
+
+    /**
+     * Give an Android session its own MJPEG server port before it is created
+     * (a port from the device matrix capabilities is kept)
+     */
+    public static void configure(MutableCapabilities capabilities, String platform) {
+        if (!isEnabled() || !"Android".equalsIgnoreCase(platform) || mjpegPort(capabilities) != null) {
+            return;
+        }
+        int port = FrameworkConfig.getMjpegBasePort() + nextPort.getAndIncrement() % 100;
+        capabilities.setCapability("appium:mjpegServerPort", port);
+    }
+
+    /**
+     * Start reading the stream of a session created with an MJPEG server port;
+     * a session whose reader is still running keeps it
+     */
+    public static void start(AppiumDriver driver) {
+        if (!isEnabled() || driver.getSessionId() == null || sources.containsKey(driver.getSessionId())) return;
+        Object port = mjpegPort(driver.getCapabilities());
+        if (port == null) return;
+        try {
+            URI server = new URI(FrameworkConfig.getAppiumServerUrl());
+            URL url = new URI("http", null, server.getHost(), Integer.parseInt(port.toString()), "/", null, null).toURL();
+            driver.setSettings(Map.of("mjpegScalingFactor", FrameworkConfig.getMjpegScalingFactor(),
+                    "mjpegServerFramerate", FrameworkConfig.getMjpegFramerate()));
+            MjpegFrameSource source = new MjpegFrameSource(driver.getSessionId(), url);
+            MjpegFrameSource previous = sources.put(driver.getSessionId(), source);
+            if (previous != null) previous.halt();
+            Thread reader = new Thread(source::readLoop, "mjpeg-" + driver.getSessionId());
+            reader.setDaemon(true);
+            reader.start();
+            logger.info("Reading MJPEG frames for session {} from {}", driver.getSessionId(), url);
+        } catch (Exception e) {
+            logger.warn("MJPEG frame source not started: {}", e.getMessage());
+        }
+    }
+
+    private static Object mjpegPort(Capabilities capabilities) {
+        Object port = capabilities.getCapability("appium:mjpegServerPort");
+        return port != null ? port : capabilities.getCapability("mjpegServerPort");
+    }
+
+    /**
+     * Stop the reader of a session that is quit or returned to the pool
+     */
+    public static void stop(AppiumDriver driver) {
+        MjpegFrameSource source = sources.remove(driver.getSessionId());
+        if (source != null) source.halt();
+    }
+
+    /**
+     * Stop all readers (suite teardown)
+     */
+    public static void stopAll() {
+        sources.values().forEach(MjpegFrameSource::halt);
+        sources.clear();
+    }
+
+    private void halt() {
+        running = false;
+        synchronized (frameArrived) {
+            frameArrived.notifyAll(); // Screenshots waiting for a frame fall back at once
+        }
+    }
+
+    // ========================================
+    // FRAMES
+    // ========================================
+
+    /**
+     * First frame of the session received after this call, waiting at most
+     * screenshot.mjpeg.max.age.ms for it; null if there is none (the reason is
+     * counted as a fallback)
+     */
+    public static byte[] latestFrame(WebDriver driver) {
+        long requestedAt = System.nanoTime();
+        MjpegFrameSource source = driver instanceof AppiumDriver
+                ? sources.get(((AppiumDriver) driver).getSessionId()) : null;
+        if (source == null || !source.running) {
+            fallbackNoStream.incrementAndGet();
+            return null;
+        }
+        Frame frame = source.frameAfter(requestedAt,
+                TimeUnit.MILLISECONDS.toNanos(FrameworkConfig.getMjpegMaxAgeMillis()));
+        if (frame == null) {
+            (source.latest() == null ? fallbackNoStream : fallbackStale).incrementAndGet();
+            return null;
+        }
+        framesServed.incrementAndGet();
+        return frame.getJpeg();
+    }
+
+    private Frame latest() {
+        long count = written.get();
+        return count == 0 ? null : ring.get((int) ((count - 1) % ring.length()));
+    }
+
+    /**
+     * Newest frame received after requestedAt (System.nanoTime()), waiting for
+     * the reader at most timeoutNanos from requestedAt
+     * @return frame, or null if none arrived in time or the reader stopped
+     */
+    Frame frameAfter(long requestedAt, long timeoutNanos) {
+        synchronized (frameArrived) {
+            Frame frame;
+            while ((frame = latest()) == null || frame.receivedAt - requestedAt < 0) {
+                long remaining = requestedAt + timeoutNanos - System.nanoTime();
+                if (remaining <= 0 || !running) return null;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(frameArrived, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            return frame;
+        }
+    }
+
+    /**
+     * Make a frame the newest one and wake screenshots waiting for it
+     */
+    void publish(byte[] jpeg) {
+        long slot = written.get();
+        ring.set((int) (slot % ring.length()), new Frame(jpeg, System.nanoTime()));
+        written.incrementAndGet(); // Publish after the slot holds the frame
+        framesRead.incrementAndGet();
+        synchronized (frameArrived) {
+            frameArrived.notifyAll();
+        }
+    }
+
+    private void readLoop() {
+        int failures = 0;
+        while (running && failures < MAX_CONNECT_FAILURES) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) streamUrl.openConnection();
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+                connection.setReadTimeout(READ_TIMEOUT_MS);
+                try (InputStream in = new BufferedInputStream(connection.getInputStream())) {
+                    byte[] jpeg;
+                    while (running && (jpeg = nextJpeg(in)) != null) {
+                        failures = 0;
+                        publish(jpeg);
+                    }
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                streamErrors.incrementAndGet();
+                logger.debug("MJPEG stream of session {} interrupted: {}", sessionId, e.getMessage());
+            }
+            failures++;
+            LockSupport.parkNanos(500_000_000L * failures);
+        }
+        halt();
+        sources.remove(sessionId, this);
+        logger.info("MJPEG reader for session {} stopped", sessionId);
+    }
+
+    /**
+     * Next JPEG of a multipart stream: the bytes from an SOI marker (FFD8) to
+     * the following EOI marker (FFD9); part headers and boundaries in between
+     * are skipped
+     * @return frame, or null at the end of the stream
+     */
+    static byte[] nextJpeg(InputStream in) throws IOException {
+        int previous = -1;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (previous == 0xFF && b == 0xD8) break;
+            previous = b;
+        }
+        if (b == -1) return null;
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(256 * 1024);
+        frame.write(0xFF);
+        frame.write(0xD8);
+        previous = -1;
+        while ((b = in.read()) != -1) {
+            frame.write(b);
+            if (previous == 0xFF && b == 0xD9) {
+                return frame.toByteArray();
+            }
+            previous = b;
+        }
+        return null;
+    }
+
+    public static String getStatsSummary() {
+        return String.format("MJPEG frames: enabled=%s, streams=%d, frames read=%d, screenshots served=%d, "
+                        + "fallbacks to screenshot command: no stream=%d, no fresh frame=%d, stream errors=%d",
+                isEnabled(), sources.size(), framesRead.get(), framesServed.get(),
+                fallbackNoStream.get(), fallbackStale.get(), streamErrors.get());
+    }
+}
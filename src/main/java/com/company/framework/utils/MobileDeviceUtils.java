@@ -3,6 +3,10 @@ package com.company.framework.utils;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.company.framework.config.FrameworkConfig;
+import com.company.framework.interfaces.driver.IDriverManager;
+import com.company.framework.managers.DependencyManager;
+import com.company.framework.managers.ThreadLocalDriverManager;
+import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.service.local.AppiumDriverLocalService;
 import io.appium.java_client.service.local.AppiumServiceBuilder;
 import org.apache.logging.log4j.LogManager;
@@ -175,30 +179,71 @@ public class MobileDeviceUtils {
     
     /**
      * Load device matrix from JSON configuration
+     * Supports both the flat {"devices": {name: info}} layout and the
+     * per-platform {"deviceMatrix": {platform: {"devices": [...]}}} layout
+     * used by config/device-matrix.json
      */
-    public static void loadDeviceMatrix() {
-        try (InputStream inputStream = MobileDeviceUtils.class.getClassLoader()
-                .getResourceAsStream("device-matrix.json")) {
-                
-            if (inputStream == null) {
+    public static synchronized void loadDeviceMatrix() {
+        if (!deviceMatrix.isEmpty()) {
+            return;
+        }
+
+        InputStream inputStream = MobileDeviceUtils.class.getClassLoader()
+                .getResourceAsStream("config/device-matrix.json");
+        if (inputStream == null) {
+            inputStream = MobileDeviceUtils.class.getClassLoader().getResourceAsStream("device-matrix.json");
+        }
+
+        try (InputStream in = inputStream) {
+            if (in == null) {
                 logger.warn("device-matrix.json not found, using default configuration");
                 createDefaultMatrix();
                 return;
             }
             
-            String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
             Gson gson = new Gson();
             Type type = new TypeToken<Map<String, Object>>(){}.getType();
-            
-            deviceMatrix.putAll(gson.fromJson(content, type));
+            Map<String, Object> parsed = gson.fromJson(content, type);
+
+            if (!parsed.containsKey("devices") && parsed.containsKey("deviceMatrix")) {
+                parsed.put("devices", flattenPlatformMatrix(parsed.get("deviceMatrix")));
+            }
+            deviceMatrix.putAll(parsed);
             logger.info("Device matrix loaded successfully with {} devices", 
                 getAvailableDevices().size());
                 
-        } catch (IOException e) {
+        } catch (Exception e) {
             logger.error("Failed to load device matrix", e);
             createDefaultMatrix();
         }
     }
+
+    /**
+     * Turn {platform: {"devices": [{deviceName: ...}]}} into {deviceName: info}
+     * with the platform recorded on each entry
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> flattenPlatformMatrix(Object platformMatrix) {
+        Map<String, Object> devices = new LinkedHashMap<>();
+        if (!(platformMatrix instanceof Map)) {
+            return devices;
+        }
+
+        for (Map.Entry<String, Object> platformEntry : ((Map<String, Object>) platformMatrix).entrySet()) {
+            String platform = "ios".equalsIgnoreCase(platformEntry.getKey()) ? "iOS" : "Android";
+            Object platformDevices = ((Map<String, Object>) platformEntry.getValue()).get("devices");
+            if (!(platformDevices instanceof List)) {
+                continue;
+            }
+            for (Object device : (List<Object>) platformDevices) {
+                Map<String, Object> deviceInfo = new HashMap<>((Map<String, Object>) device);
+                deviceInfo.put("platform", platform);
+                devices.put(String.valueOf(deviceInfo.get("deviceName")), deviceInfo);
+            }
+        }
+        return devices;
+    }
     
     /**
      * Create default device matrix if configuration file is not found
@@ -242,30 +287,51 @@ public class MobileDeviceUtils {
     }
     
     /**
-     * Allocate a device for testing
+     * Get devices of the matrix that belong to a platform, in matrix order
      */
-    public static String allocateDevice(String platform) {
+    @SuppressWarnings("unchecked")
+    public static List<String> getDevicesForPlatform(String platform) {
         Set<String> availableDevices = getAvailableDevices();
-        
-        List<String> platformDevices = availableDevices.stream()
+        Map<String, Object> devices = (Map<String, Object>) deviceMatrix.get("devices");
+
+        return availableDevices.stream()
             .filter(device -> {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> devices = (Map<String, Object>) deviceMatrix.get("devices");
-                @SuppressWarnings("unchecked")
                 Map<String, Object> deviceInfo = (Map<String, Object>) devices.get(device);
                 return platform.equalsIgnoreCase((String) deviceInfo.get("platform"));
             })
             .toList();
+    }
+
+    /**
+     * Allocate a device for testing
+     * Each thread keeps its device until releaseDevice(); free devices are preferred
+     * so parallel workers do not end up sharing one device.
+     */
+    public static synchronized String allocateDevice(String platform) {
+        String threadId = Thread.currentThread().getName();
+        String current = deviceAllocations.get(threadId);
+        if (current != null) {
+            return current;
+        }
+
+        List<String> platformDevices = getDevicesForPlatform(platform);
             
         if (platformDevices.isEmpty()) {
             throw new RuntimeException("No available devices for platform: " + platform);
         }
         
-        // Simple random allocation for now
-        String selectedDevice = platformDevices.get(
-            ThreadLocalRandom.current().nextInt(platformDevices.size()));
-            
-        String threadId = Thread.currentThread().getName();
+        List<String> freeDevices = platformDevices.stream()
+            .filter(device -> !deviceAllocations.containsValue(device))
+            .toList();
+        if (freeDevices.isEmpty()) {
+            logger.warn("All {} devices are allocated, thread '{}' will share one", platform, threadId);
+            freeDevices = platformDevices;
+        }
+
+        // Random allocation among free devices
+        String selectedDevice = freeDevices.get(
+            ThreadLocalRandom.current().nextInt(freeDevices.size()));
+
         deviceAllocations.put(threadId, selectedDevice);
         
         logger.info("Allocated device '{}' to thread '{}'", selectedDevice, threadId);
@@ -275,7 +341,7 @@ public class MobileDeviceUtils {
     /**
      * Release device allocation
      */
-    public static void releaseDevice() {
+    public static synchronized void releaseDevice() {
         String threadId = Thread.currentThread().getName();
         String device = deviceAllocations.remove(threadId);
         
@@ -346,6 +412,40 @@ public class MobileDeviceUtils {
     // CAPABILITY MANAGEMENT
     // ========================================
     
+    /**
+     * Matrix entry of a device (density, screenSize, tags, ...)
+     * @return read-only entry, empty if the device is not in the matrix
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getDeviceInfo(String deviceName) {
+        if (deviceMatrix.isEmpty()) {
+            loadDeviceMatrix();
+        }
+        Map<String, Object> devices = (Map<String, Object>) deviceMatrix.get("devices");
+        Object deviceInfo = devices != null ? devices.get(deviceName) : null;
+        return deviceInfo instanceof Map ? Collections.unmodifiableMap((Map<String, Object>) deviceInfo) : Map.of();
+    }
+
+    /**
+     * Device-matrix name of a session
+     * The server reports the udid as deviceName, so the device the driver manager
+     * allocated is preferred; the capability is only used for sessions it does not hold
+     */
+    public static String getDeviceName(AppiumDriver driver) {
+        IDriverManager manager = DependencyManager.getInstance().getDriverManager();
+        if (manager instanceof ThreadLocalDriverManager) {
+            String allocated = ((ThreadLocalDriverManager) manager).getDevice(driver);
+            if (allocated != null) {
+                return allocated;
+            }
+        }
+        Object deviceName = driver.getCapabilities().getCapability("deviceName");
+        if (deviceName == null) {
+            deviceName = driver.getCapabilities().getCapability("appium:deviceName");
+        }
+        return String.valueOf(deviceName);
+    }
+
     /**
      * Get comprehensive capabilities for device and platform
      */
@@ -354,19 +454,31 @@ public class MobileDeviceUtils {
         DesiredCapabilities capabilities = getPlatformCapabilities(platform);
         
         // Get device-specific settings from matrix
+        if (deviceMatrix.isEmpty()) {
+            loadDeviceMatrix();
+        }
         if (!deviceMatrix.isEmpty()) {
             Map<String, Object> devices = (Map<String, Object>) deviceMatrix.get("devices");
             if (devices != null && devices.containsKey(deviceName)) {
                 Map<String, Object> deviceInfo = (Map<String, Object>) devices.get(deviceName);
                 
                 // Apply device-specific capabilities
-                if (deviceInfo.containsKey("version")) {
-                    capabilities.setCapability("platformVersion", deviceInfo.get("version"));
+                Object version = deviceInfo.containsKey("platformVersion")
+                        ? deviceInfo.get("platformVersion") : deviceInfo.get("version");
+                if (version != null) {
+                    capabilities.setCapability("platformVersion", version);
                 }
                 
-                if (deviceInfo.containsKey("udid")) {
+                if (deviceInfo.containsKey("udid") && !"auto".equals(deviceInfo.get("udid"))) {
                     capabilities.setCapability("udid", deviceInfo.get("udid"));
                 }
+
+                Object deviceCapabilities = deviceInfo.get("capabilities");
+                if (deviceCapabilities instanceof Map) {
+                    for (Map.Entry<String, Object> entry : ((Map<String, Object>) deviceCapabilities).entrySet()) {
+                        capabilities.setCapability(entry.getKey(), normalizeJsonNumber(entry.getValue()));
+                    }
+                }
             }
         }
         
@@ -374,6 +486,16 @@ public class MobileDeviceUtils {
         return capabilities;
     }
     
+    /**
+     * Gson reads every JSON number as a double; send whole numbers as integers
+     */
+    private static Object normalizeJsonNumber(Object value) {
+        if (value instanceof Double && (Double) value == Math.rint((Double) value)) {
+            return ((Double) value).longValue();
+        }
+        return value;
+    }
+    
     /**
      * Merge additional capabilities
      */
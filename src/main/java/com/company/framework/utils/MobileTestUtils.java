@@ -1,5 +1,6 @@
 package com.company.framework.utils;
 
+import com.company.framework.config.ApplicationConstants;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,35 +40,46 @@ public class MobileTestUtils {
     private static final Logger logger = LogManager.getLogger(MobileTestUtils.class);
     private static final int DEFAULT_TIMEOUT_SECONDS = 10;
     private static final int SHORT_TIMEOUT_SECONDS = 5;
+    private static final String BILD_PACKAGE = ApplicationConstants.AppConfig.APP_PACKAGE_NAME;
     
     /**
      * Wait for page to load with content validation
+     * @return true if the page became ready within the default timeout
      */
-    public static void waitForPageToLoad(AppiumDriver driver) {
-        waitForPageToLoad(driver, DEFAULT_TIMEOUT_SECONDS);
+    public static boolean waitForPageToLoad(AppiumDriver driver) {
+        return waitForPageToLoad(driver, DEFAULT_TIMEOUT_SECONDS);
     }
     
     /**
      * Wait for page to load with custom timeout
+     * Native: K identical hierarchy fingerprints in a row (UiStabilityDetector);
+     * webview: document.readyState
+     * @return true if the page became ready, false on timeout or error (logged as a warning)
      */
-    public static void waitForPageToLoad(AppiumDriver driver, int timeoutSeconds) {
+    public static boolean waitForPageToLoad(AppiumDriver driver, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            
-            // Wait for page source to be available with meaningful content
-            wait.until(d -> {
-                try {
-                    String pageSource = d.getPageSource();
-                    return pageSource != null && pageSource.length() > 1000;
-                } catch (Exception e) {
+            Duration timeout = Duration.ofSeconds(timeoutSeconds);
+            ContextManager context = ContextManager.forDriver(driver);
+            if (context.isWebView()) {
+                if (!context.waitForReady(timeout)) {
+                    logger.warn("⚠️ Webview document not complete within {}s", timeoutSeconds);
                     return false;
                 }
-            });
+            } else {
+                UiStabilityDetector.Result result = UiStabilityDetector.waitForStable(driver, timeout);
+                if (!result.isStable()) {
+                    logger.warn("⚠️ Native hierarchy not stable within {}s ({} samples)",
+                            timeoutSeconds, result.getSampleCount());
+                    return false;
+                }
+            }
             
             logger.info("✅ Page loaded successfully");
+            return true;
             
         } catch (Exception e) {
             logger.warn("⚠️ Warning during page load: {}", e.getMessage());
+            return false;
         }
     }
     
@@ -83,7 +95,7 @@ public class MobileTestUtils {
      */
     public static WebElement waitForElementClickable(AppiumDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(timeoutSeconds), "MobileTestUtils");
             return wait.until(ExpectedConditions.elementToBeClickable(locator));
         } catch (TimeoutException e) {
             logger.warn("⚠️ Element not clickable within {} seconds: {}", timeoutSeconds, locator);
@@ -103,7 +115,7 @@ public class MobileTestUtils {
      */
     public static WebElement waitForElementVisible(AppiumDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(timeoutSeconds), "MobileTestUtils");
             return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.warn("⚠️ Element not visible within {} seconds: {}", timeoutSeconds, locator);
@@ -198,7 +210,7 @@ public class MobileTestUtils {
      */
     public static List<WebElement> findElementsWithTimeout(AppiumDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(timeoutSeconds), "MobileTestUtils");
             return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
         } catch (TimeoutException e) {
             logger.warn("⚠️ Elements not found within {} seconds: {}", timeoutSeconds, locator);
@@ -207,7 +219,7 @@ public class MobileTestUtils {
     }
     
     /**
-     * Wait for app to be responsive (page source available)
+     * Wait for app to be responsive (foreground and owning window focus)
      */
     public static boolean waitForAppResponsive(AppiumDriver driver) {
         return waitForAppResponsive(driver, DEFAULT_TIMEOUT_SECONDS);
@@ -218,16 +230,12 @@ public class MobileTestUtils {
      */
     public static boolean waitForAppResponsive(AppiumDriver driver, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(timeoutSeconds), "MobileTestUtils");
             
-            // Wait for page source to be available and non-empty
             wait.until(d -> {
-                try {
-                    String pageSource = d.getPageSource();
-                    return pageSource != null && pageSource.length() > 100;
-                } catch (Exception e) {
-                    return false;
-                }
+                AppStateProbe.recordPageSourceSaved();
+                return AppStateProbe.isInForeground(driver, BILD_PACKAGE)
+                        && AppStateProbe.hasWindowFocus(driver, BILD_PACKAGE);
             });
             
             logger.info("✅ App is responsive");
@@ -245,35 +253,21 @@ public class MobileTestUtils {
      * Verify BILD app is running
      */
     public static boolean isBildAppRunning(AppiumDriver driver) {
-        try {
-            String pageSource = driver.getPageSource();
-            if (pageSource != null) {
-                // Check for multiple BILD app indicators
-                return pageSource.contains("com.netbiscuits.bild.android") || 
-                       pageSource.toLowerCase().contains("bild") ||
-                       pageSource.contains("androidx.compose.ui.platform.ComposeView");
-            }
-            return false;
-        } catch (Exception e) {
-            logger.warn("⚠️ Error checking BILD app status: {}", e.getMessage());
-            return false;
-        }
+        AppStateProbe.recordPageSourceSaved();
+        return AppStateProbe.isInForeground(driver, BILD_PACKAGE);
     }
     
     /**
      * Get current app package name
      */
     public static String getCurrentAppPackage(AppiumDriver driver) {
-        try {
-            String pageSource = driver.getPageSource();
-            if (pageSource.contains("com.netbiscuits.bild.android")) {
-                return "com.netbiscuits.bild.android";
-            }
-            return "unknown";
-        } catch (Exception e) {
-            logger.warn("⚠️ Error getting app package: {}", e.getMessage());
+        AppStateProbe.recordPageSourceSaved();
+        String currentPackage = AppStateProbe.getCurrentPackage(driver);
+        if (currentPackage == null) {
+            logger.warn("⚠️ Error getting app package: probe returned no value");
             return "error";
         }
+        return currentPackage.isEmpty() ? "unknown" : currentPackage;
     }
     
     /**
@@ -285,12 +279,12 @@ public class MobileTestUtils {
     }
 
     public static WebElement waitWithFallback(AppiumDriver driver, By[] locators, int timeout) {
-    for (By locator : locators) {
-        try {
-            return waitForElementVisible(driver, locator, timeout);
-        } catch (Exception ignored) { }
+    // One shared deadline for all locators instead of the full timeout per locator
+    MultiLocatorWait.Result result = MultiLocatorWait.waitForAny(driver, locators, Duration.ofSeconds(timeout), true);
+    if (result == null) {
+        throw new NoSuchElementException("Element not found with any fallback locators");
     }
-    throw new NoSuchElementException("Element not found with any fallback locators");
+    return result.getFirstElement();
 }
 
 public static void tapAtCoordinates(AppiumDriver driver, int x, int y, int durationMs) {
@@ -0,0 +1,140 @@
+package com.company.framework.utils;
+
+import com.company.framework.locators.common.LocatorStatistics;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MultiLocatorWait - Waits for any of several fallback locators against one shared deadline
+ *
+ * Every poll cycle checks all locators in priority order, so a miss costs the
+ * timeout once instead of once per locator. The result names the locator that
+ * matched and how long it took.
+ */
+public final class MultiLocatorWait {
+
+    private static final Logger logger = LogManager.getLogger(MultiLocatorWait.class);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+    private MultiLocatorWait() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Outcome of a successful wait
+     */
+    public static final class Result {
+        private final By locator;
+        private final int locatorIndex;
+        private final List<WebElement> elements;
+        private final Duration elapsed;
+
+        private Result(By locator, int locatorIndex, List<WebElement> elements, Duration elapsed) {
+            this.locator = locator;
+            this.locatorIndex = locatorIndex;
+            this.elements = elements;
+            this.elapsed = elapsed;
+        }
+
+        public By getLocator() { return locator; }
+        public int getLocatorIndex() { return locatorIndex; }
+        public List<WebElement> getElements() { return elements; }
+        public WebElement getFirstElement() { return elements.get(0); }
+        public Duration getElapsed() { return elapsed; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (selector #%d) after %d ms", locator, locatorIndex, elapsed.toMillis());
+        }
+    }
+
+    /**
+     * Wait until any locator finds at least one element
+     * @param driver session to query
+     * @param locators fallback locators in priority order
+     * @param timeout shared deadline for all locators
+     * @param requireVisible only count displayed elements
+     * @return result, or null if nothing matched before the deadline
+     */
+    public static Result waitForAny(AppiumDriver driver, By[] locators, Duration timeout, boolean requireVisible) {
+        return waitForAny(driver, null, locators, timeout, requireVisible);
+    }
+
+    /**
+     * Same as waitForAny, also feeding the outcome into LocatorStatistics
+     * @param statsKey element key for LocatorStatistics, or null to skip recording
+     */
+    public static Result waitForAny(AppiumDriver driver, String statsKey, By[] locators, Duration timeout,
+                                    boolean requireVisible) {
+        long start = System.nanoTime();
+        String waitName = statsKey != null ? "MultiLocatorWait:" + statsKey : "MultiLocatorWait";
+        Duration tuned = AdaptiveTimeouts.tune(driver, waitName, timeout);
+        FluentWait<AppiumDriver> wait = new FluentWait<>(driver)
+                .withTimeout(DeadlineBudget.grant("MultiLocatorWait", tuned))
+                .pollingEvery(POLL_INTERVAL)
+                .ignoring(StaleElementReferenceException.class);
+        try {
+            Result result = wait.until(d -> {
+                for (int i = 0; i < locators.length; i++) {
+                    List<WebElement> found = findQuietly(d, locators[i]);
+                    if (requireVisible) {
+                        found = found.stream().filter(MultiLocatorWait::isDisplayed).collect(Collectors.toList());
+                    }
+                    if (!found.isEmpty()) {
+                        return new Result(locators[i], i, found, Duration.ofNanos(System.nanoTime() - start));
+                    }
+                }
+                return null;
+            });
+            DeadlineBudget.record("MultiLocatorWait", System.nanoTime() - start);
+            AdaptiveTimeouts.record(driver, waitName, result.getElapsed(), true, timeout, tuned);
+            logger.info("Matched {}", result);
+            if (statsKey != null) {
+                for (int i = 0; i < result.getLocatorIndex(); i++) {
+                    LocatorStatistics.recordMiss(statsKey, locators[i]);
+                }
+                LocatorStatistics.recordHit(statsKey, result.getLocator(), result.getElapsed().toMillis());
+            }
+            return result;
+        } catch (TimeoutException e) {
+            DeadlineBudget.record("MultiLocatorWait", System.nanoTime() - start);
+            AdaptiveTimeouts.record(driver, waitName, Duration.ofNanos(System.nanoTime() - start), false, timeout, tuned);
+            logger.warn("None of {} selectors matched within {} ms: {}", locators.length,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), Arrays.toString(locators));
+            if (statsKey != null) {
+                for (By locator : locators) {
+                    LocatorStatistics.recordMiss(statsKey, locator);
+                }
+            }
+            DeadlineBudget.checkpoint("MultiLocatorWait"); // Fail fast instead of letting the caller try more fallbacks
+            return null;
+        }
+    }
+
+    private static List<WebElement> findQuietly(AppiumDriver driver, By locator) {
+        try {
+            return driver.findElements(locator);
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private static boolean isDisplayed(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ScreenshotPipeline - Captures screenshots on the test thread, writes them in the background
+ *
+ * The test thread fetches the PNG bytes once and hands them to a bounded
+ * queue; a writer thread stores them through a FileChannel. The caller gets
+ * the destination path (and a future for the write) immediately. Named
+ * captures go through ScreenshotStore, which names files by content hash and
+ * skips identical images; files are opened with CREATE_NEW.
+ *
+ * When the queue is full the caller waits at most screenshot.queue.offer.ms;
+ * after that the capture is rejected instead of stalling the test, and the
+ * caller still holds the bytes to embed them as base64.
+ */
+public final class ScreenshotPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final AtomicInteger maxDepth = new AtomicInteger();
+
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong writeFailures = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong backpressureWaits = new AtomicLong();
+    private static final AtomicLong backpressureMillis = new AtomicLong();
+    private static final AtomicLong captureMillis = new AtomicLong();
+    private static final AtomicLong writeMillis = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+
+    private static final BlockingQueue<Runnable> queue =
+            new ArrayBlockingQueue<>(Math.max(1, FrameworkConfig.getScreenshotQueueCapacity()));
+    private static final ThreadPoolExecutor writer = createWriter();
+
+    static {
+        StatsRegistry.register("ScreenshotPipeline", ScreenshotPipeline::getStatsSummary);
+    }
+
+    private ScreenshotPipeline() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Writer threads are started up front and take tasks straight from the
+     * bounded queue, so queuing never runs a write on the test thread
+     */
+    private static ThreadPoolExecutor createWriter() {
+        int threads = Math.max(1, FrameworkConfig.getScreenshotWriterThreads());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+
+    /**
+     * A captured screenshot and the state of its write
+     */
+    public static final class Capture {
+        private final byte[] png;
+        private final Path path;
+        private final CompletableFuture<Path> written;
+        private final boolean stored;
+
+        private Capture(byte[] png, Path path, CompletableFuture<Path> written, boolean stored) {
+            this.png = png;
+            this.path = path;
+            this.written = written;
+            this.stored = stored;
+        }
+
+        /** Capture held by ScreenshotStore, stored (or being written) at the given path */
+        static Capture stored(byte[] png, Path path, CompletableFuture<Path> written) {
+            return new Capture(png, path, written, true);
+        }
+
+        /** Whether the capture was accepted by the writer */
+        public boolean isQueued() { return path != null; }
+
+        /** Destination file, or null if the capture was rejected */
+        public Path getPath() { return path; }
+
+        /** Completes with the path once the file is on disk */
+        public CompletableFuture<Path> getWritten() { return written; }
+
+        /** Path relative to the reports directory, as used by the Extent reports */
+        public String getReportPath() {
+            return path == null ? null : toReportPath(path);
+        }
+
+        /** Thumbnail relative to the reports directory, or null if no variants are generated */
+        public String getThumbnailReportPath() {
+            return hasVariants() ? toReportPath(ScreenshotVariants.thumbnailPath(path)) : null;
+        }
+
+        /** Compressed full-size image relative to the reports directory, or null if no variants are generated */
+        public String getFullSizeReportPath() {
+            return hasVariants() ? toReportPath(ScreenshotVariants.fullSizePath(path)) : null;
+        }
+
+        private boolean hasVariants() {
+            return stored && path != null && ScreenshotVariants.isEnabled();
+        }
+
+        public byte[] getBytes() { return png; }
+
+        /** The image as a data URI, for embedding in the report */
+        public String toDataUri() {
+            return ScreenshotPipeline.toDataUri(png);
+        }
+    }
+
+    // ========================================
+    // CAPTURE
+    // ========================================
+
+    /**
+     * Fetch a screenshot and store it in the content-addressed screenshot store
+     * @param name test/step label recorded in the store's index
+     */
+    public static Capture capture(WebDriver driver, String name) {
+        return ScreenshotStore.put(fetch(driver), name);
+    }
+
+    /**
+     * Fetch a screenshot and queue it at the given path
+     *
+     * A .png/.jpg/.jpeg destination gets the extension of the fetched format
+     * (an MJPEG frame is a JPEG); the capture's path is the file actually written.
+     */
+    public static Capture capture(WebDriver driver, Path destination) {
+        byte[] image = fetch(driver);
+        return submit(image, withImageExtension(destination, image));
+    }
+
+    /**
+     * Destination with its image extension matching the bytes; other names are kept
+     */
+    static Path withImageExtension(Path destination, byte[] image) {
+        String name = destination.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String extension = dot < 0 ? "" : name.substring(dot).toLowerCase(Locale.ROOT);
+        if (!extension.equals(".png") && !extension.equals(".jpg") && !extension.equals(".jpeg")) {
+            return destination;
+        }
+        String actual = isJpeg(image) ? ".jpg" : ".png";
+        return extension.equals(actual) || (extension.equals(".jpeg") && actual.equals(".jpg"))
+                ? destination
+                : destination.resolveSibling(name.substring(0, dot) + actual);
+    }
+
+    /**
+     * Fetch the image bytes of a screenshot: the latest MJPEG frame if the
+     * session streams one (see MjpegFrameSource), otherwise a PNG (one round trip)
+     */
+    public static byte[] fetch(WebDriver driver) {
+        long start = System.nanoTime();
+        byte[] image = MjpegFrameSource.isEnabled() ? MjpegFrameSource.latestFrame(driver) : null;
+        if (image == null) {
+            image = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        }
+        captures.incrementAndGet();
+        captureMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        return image;
+    }
+
+    /**
+     * Whether fetched bytes are a JPEG (an MJPEG frame) rather than a PNG
+     */
+    public static boolean isJpeg(byte[] image) {
+        return image.length > 1 && (image[0] & 0xFF) == 0xFF && (image[1] & 0xFF) == 0xD8;
+    }
+
+    /**
+     * Fetched bytes as a data URI carrying their real media type; Extent
+     * labels bare base64 as image/png
+     */
+    public static String toDataUri(byte[] image) {
+        return (isJpeg(image) ? "data:image/jpeg;base64," : "data:image/png;base64,")
+                + Base64.getEncoder().encodeToString(image);
+    }
+
+    /**
+     * Queue bytes for writing
+     * @return capture holding the bytes; not queued if the queue stayed full
+     */
+    public static Capture submit(byte[] png, Path destination) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        Runnable task = () -> write(png, destination, future);
+        pending.incrementAndGet();
+        if (!queue.offer(task) && !offerWithBackpressure(task)) {
+            pending.decrementAndGet();
+            rejected.incrementAndGet();
+            logger.warn("Screenshot queue full, {} not written", destination.getFileName());
+            future.completeExceptionally(new IOException("Screenshot queue full"));
+            return new Capture(png, null, future, false);
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        return new Capture(png, destination, future, false);
+    }
+
+    private static String toReportPath(Path path) {
+        return "../" + path.toString().replace('\\', '/');
+    }
+
+    private static boolean offerWithBackpressure(Runnable task) {
+        backpressureWaits.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return queue.offer(task, FrameworkConfig.getScreenshotQueueOfferMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            backpressureMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static void write(byte[] png, Path destination, CompletableFuture<Path> future) {
+        long start = System.nanoTime();
+        try {
+            if (destination.getParent() != null) {
+                Files.createDirectories(destination.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(destination,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(png);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            written.incrementAndGet();
+            bytesWritten.addAndGet(png.length);
+            future.complete(destination);
+        } catch (IOException e) {
+            writeFailures.incrementAndGet();
+            logger.warn("Could not write screenshot {}: {}", destination, e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            writeMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+            pending.decrementAndGet();
+        }
+    }
+
+    // ========================================
+    // LIFECYCLE / STATS
+    // ========================================
+
+    /**
+     * Number of screenshots queued or being written
+     */
+    public static int getQueueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * Wait until every queued screenshot is on disk
+     * @return true if the queue drained within the timeout
+     */
+    public static boolean awaitWrites(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                logger.warn("{} screenshots still pending after {} ms", pending.get(), timeout.toMillis());
+                return false;
+            }
+            LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+        }
+        return true;
+    }
+
+    public static String getStatsSummary() {
+        long count = captures.get();
+        return String.format("Screenshots: captured=%d (avg %d ms), written=%d (%d KB, avg %d ms), failed=%d, "
+                        + "rejected=%d, queue depth=%d (max %d), backpressure waits=%d (%d ms)",
+                count, captureMillis.get() / Math.max(1, count), written.get(), bytesWritten.get() / 1024,
+                writeMillis.get() / Math.max(1, written.get() + writeFailures.get()), writeFailures.get(),
+                rejected.get(), pending.get(), maxDepth.get(), backpressureWaits.get(), backpressureMillis.get());
+    }
+}
@@ -0,0 +1,356 @@
+package com.company.framework.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotStore - Content-addressed, deduplicated screenshot storage
+ *
+ * Each capture is named by the SHA-256 of its bytes and stored once under
+ * screenshots/<first two hex digits>/<hash>.png (.jpg for MJPEG frames); a pixel-identical frame
+ * (the same home screen after every test) is only referenced again. Every
+ * capture queues one line "epochMillis TAB object TAB label" for
+ * screenshots/index.log, so the index records which test/step saw which image.
+ * A single index writer thread appends the queued lines through one open
+ * channel, so test threads never wait for the disk.
+ *
+ * prune() keeps the index lines younger than the retention period and deletes
+ * exactly the objects no remaining line references - no directory listing.
+ */
+public final class ScreenshotStore {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+    private static final String INDEX_FILE = "index.log";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Objects known to be stored or queued, with the future of their write */
+    private static final Map<String, CompletableFuture<Path>> objects = new ConcurrentHashMap<>();
+    /** Guards objects against prune(): a lookup/insert and its queued index line are atomic */
+    private static final Object indexLock = new Object();
+    /** Index lines not yet appended, in capture order */
+    private static final Queue<String> indexLines = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private static final ExecutorService indexWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-index-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Guards the index channel: the writer's appends against prune()'s rewrite */
+    private static final Object channelLock = new Object();
+    private static FileChannel indexChannel;
+    private static volatile Path root = Paths.get(TestReportingUtils.getScreenshotsDirectory());
+    private static volatile boolean loaded;
+
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong bytesDeduplicated = new AtomicLong();
+    private static final AtomicLong pruned = new AtomicLong();
+    private static final AtomicLong malformedLines = new AtomicLong();
+
+    static {
+        StatsRegistry.register("ScreenshotStore", ScreenshotStore::getStatsSummary);
+    }
+
+    private ScreenshotStore() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Store a capture, writing its bytes only if no identical image is stored yet
+     *
+     * Only the lookup/insert and queuing the index line happen under the index
+     * lock, so prune() - which appends the queued lines before reading the
+     * index - cannot delete the object between this capture finding it and
+     * referencing it. Hashing, the existence check and the submit run unlocked.
+     * @param label test/step the capture belongs to, recorded in the index
+     * @return capture pointing at the content-addressed file
+     */
+    public static ScreenshotPipeline.Capture put(byte[] png, String label) {
+        ensureLoaded();
+        captures.incrementAndGet();
+        String hash = sha256(png) + extension(png);
+        Path path = objectPath(hash);
+        String line = System.currentTimeMillis() + "\t" + hash + "\t" + label.replaceAll("[\\t\\r\\n]", " ");
+
+        CompletableFuture<Path> pending = new CompletableFuture<>();
+        CompletableFuture<Path> existing;
+        synchronized (indexLock) {
+            existing = objects.putIfAbsent(hash, pending);
+            indexLines.add(line);
+        }
+
+        ScreenshotPipeline.Capture capture;
+        if (existing != null) {
+            duplicates.incrementAndGet();
+            bytesDeduplicated.addAndGet(png.length);
+            capture = ScreenshotPipeline.Capture.stored(png, path, existing);
+        } else if (Files.exists(path)) {
+            // Stored by an earlier run whose index lines were lost
+            pending.complete(path);
+            duplicates.incrementAndGet();
+            bytesDeduplicated.addAndGet(png.length);
+            capture = ScreenshotPipeline.Capture.stored(png, path, pending);
+            ScreenshotVariants.generate(png, path); // Skipped if the earlier run already encoded them
+        } else {
+            ScreenshotPipeline.Capture submitted = ScreenshotPipeline.submit(png, path);
+            if (submitted.isQueued()) {
+                capture = ScreenshotPipeline.Capture.stored(png, path, pending);
+                ScreenshotVariants.generate(png, path);
+                submitted.getWritten().whenComplete((written, error) -> {
+                    if (error != null) {
+                        objects.remove(hash, pending); // Let the next identical capture retry the write
+                        pending.completeExceptionally(error);
+                    } else {
+                        pending.complete(written);
+                    }
+                });
+            } else {
+                synchronized (indexLock) {
+                    objects.remove(hash, pending);
+                    indexLines.remove(line); // Nothing on disk to reference
+                }
+                pending.completeExceptionally(new IOException("Screenshot queue full"));
+                capture = submitted;
+            }
+        }
+        scheduleIndexWrite();
+        return capture;
+    }
+
+    // ========================================
+    // INDEX
+    // ========================================
+
+    private static Path root() {
+        return root;
+    }
+
+    /**
+     * Store under another directory and forget every known object (tests)
+     */
+    static void useDirectory(Path directory) {
+        synchronized (indexLock) {
+            flushIndex();
+            closeIndex();
+            root = directory;
+            objects.clear();
+            loaded = false;
+        }
+    }
+
+    private static Path indexPath() {
+        return root().resolve(INDEX_FILE);
+    }
+
+    /**
+     * @param object content hash plus file extension
+     */
+    static Path objectPath(String object) {
+        return root().resolve(object.substring(0, 2)).resolve(object);
+    }
+
+    private static String extension(byte[] image) {
+        return ScreenshotPipeline.isJpeg(image) ? ".jpg" : ".png";
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) return;
+        synchronized (indexLock) {
+            if (loaded) return;
+            for (String[] entry : readIndex()) {
+                Path path = objectPath(entry[1]);
+                if (!objects.containsKey(entry[1]) && Files.exists(path)) {
+                    objects.put(entry[1], CompletableFuture.completedFuture(path));
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private static List<String[]> readIndex() {
+        List<String[]> entries = new ArrayList<>();
+        Path index = indexPath();
+        if (!Files.exists(index)) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 3);
+                if (parts.length == 3 && isTimestamp(parts[0]) && parts[1].length() > 2) {
+                    entries.add(parts);
+                } else if (!line.isEmpty()) {
+                    malformedLines.incrementAndGet(); // Torn write or hand edit; dropped by the next prune
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read screenshot index {}: {}", index, e.getMessage());
+        }
+        return entries;
+    }
+
+    private static boolean isTimestamp(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void scheduleIndexWrite() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            indexWriter.execute(() -> {
+                drainScheduled.set(false); // Lines queued from here on schedule another run
+                flushIndex();
+            });
+        }
+    }
+
+    /**
+     * Append every queued index line now (called at suite end so no line is
+     * lost with the daemon writer thread)
+     */
+    public static void flushIndex() {
+        synchronized (channelLock) {
+            StringBuilder lines = new StringBuilder();
+            for (String line = indexLines.poll(); line != null; line = indexLines.poll()) {
+                lines.append(line).append('\n');
+            }
+            if (lines.length() == 0) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            try {
+                if (indexChannel == null) {
+                    Files.createDirectories(root());
+                    indexChannel = FileChannel.open(indexPath(),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                while (buffer.hasRemaining()) {
+                    indexChannel.write(buffer);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not append to screenshot index: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Close the index channel; the next append reopens it (after a rewrite or a directory change)
+     */
+    private static void closeIndex() {
+        synchronized (channelLock) {
+            if (indexChannel == null) return;
+            try {
+                indexChannel.close();
+            } catch (IOException e) {
+                logger.warn("Could not close screenshot index: {}", e.getMessage());
+            }
+            indexChannel = null;
+        }
+    }
+
+    // ========================================
+    // PRUNING
+    // ========================================
+
+    /**
+     * Drop index lines older than the retention period and delete the images
+     * no remaining line references
+     * @return number of images deleted
+     */
+    public static int prune(Duration keep) {
+        long cutoff = System.currentTimeMillis() - keep.toMillis();
+        int deleted = 0;
+        synchronized (indexLock) {
+            flushIndex(); // Every line queued by put() so far references its object
+            long malformedBefore = malformedLines.get();
+            List<String[]> entries = readIndex();
+            boolean dropMalformed = malformedLines.get() > malformedBefore;
+            Map<String, Integer> refCounts = new HashMap<>();
+            List<String> kept = new ArrayList<>();
+            for (String[] entry : entries) {
+                int delta = Long.parseLong(entry[0]) >= cutoff ? 1 : 0;
+                refCounts.merge(entry[1], delta, Integer::sum);
+                if (delta == 1) {
+                    kept.add(String.join("\t", entry));
+                }
+            }
+            for (Map.Entry<String, Integer> ref : refCounts.entrySet()) {
+                if (ref.getValue() == 0) {
+                    try {
+                        if (Files.deleteIfExists(objectPath(ref.getKey()))) {
+                            deleted++;
+                        }
+                        ScreenshotVariants.delete(objectPath(ref.getKey()));
+                        objects.remove(ref.getKey());
+                    } catch (IOException e) {
+                        logger.warn("Could not delete screenshot {}: {}", ref.getKey(), e.getMessage());
+                    }
+                }
+            }
+            if (kept.size() < entries.size() || dropMalformed) {
+                synchronized (channelLock) {
+                    closeIndex(); // Appends must go to the compacted file, not the replaced one
+                    try {
+                        Path compacted = indexPath().resolveSibling(INDEX_FILE + ".tmp");
+                        Files.write(compacted, kept, StandardCharsets.UTF_8);
+                        Files.move(compacted, indexPath(), StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        logger.warn("Could not compact screenshot index: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+        pruned.addAndGet(deleted);
+        logger.info("Pruned {} unreferenced screenshots older than {} days", deleted, keep.toDays());
+        return deleted;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String getStatsSummary() {
+        return String.format("Screenshot store: captures=%d, duplicates=%d (%d KB not written), objects=%d, pruned=%d, "
+                        + "malformed index lines=%d",
+                captures.get(), duplicates.get(), bytesDeduplicated.get() / 1024, objects.size(), pruned.get(),
+                malformedLines.get());
+    }
+}
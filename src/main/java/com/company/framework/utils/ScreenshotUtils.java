@@ -4,18 +4,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 
-import java.io.File;
-import java.nio.file.*;
-
 public class ScreenshotUtils {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
     public static String captureScreenshot(WebDriver driver, String name) {
         try {
-            File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            String dest = "screenshots/" + name + "_" + System.currentTimeMillis() + ".png";
-            Files.createDirectories(Paths.get("screenshots"));
-            Files.copy(src.toPath(), Paths.get(dest));
-            return dest;
+            ScreenshotPipeline.Capture capture = ScreenshotPipeline.capture(driver, name);
+            return capture.isQueued() ? capture.getPath().toString() : null;
         } catch (Exception e) {
             logger.warn("⚠️ Screenshot capture failed: {}", e.getMessage());
             return null;
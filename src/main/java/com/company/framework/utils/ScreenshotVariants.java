@@ -0,0 +1,182 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotVariants - Thumbnail and compressed full-size copies of stored screenshots
+ *
+ * For every new image in ScreenshotStore a thumbnail (screenshot.thumbnail.width
+ * pixels wide) and a full-size JPEG (screenshot.jpeg.quality) are encoded on a
+ * fork-join pool with one worker per core, off the test thread. Reports show
+ * the thumbnail inline and link it to the full-size JPEG, instead of embedding
+ * the 1080x2400 PNG; the original PNG stays in the store as evidence.
+ *
+ * Variants sit next to the original: <hash>_thumb.jpg and <hash>_full.jpg.
+ */
+public final class ScreenshotVariants {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotVariants.class);
+    private static final ForkJoinPool encoders = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicLong encoded = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+    private static final AtomicLong encodeMillis = new AtomicLong();
+    private static final AtomicLong originalBytes = new AtomicLong();
+    private static final AtomicLong thumbnailBytes = new AtomicLong();
+    private static final AtomicLong fullBytes = new AtomicLong();
+
+    static {
+        StatsRegistry.register("ScreenshotVariants", ScreenshotVariants::getStatsSummary);
+    }
+
+    private ScreenshotVariants() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.isScreenshotVariantsEnabled();
+    }
+
+    public static Path thumbnailPath(Path original) {
+        return original.resolveSibling(baseName(original) + "_thumb.jpg");
+    }
+
+    public static Path fullSizePath(Path original) {
+        return original.resolveSibling(baseName(original) + "_full.jpg");
+    }
+
+    private static String baseName(Path original) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    // ========================================
+    // ENCODING
+    // ========================================
+
+    /**
+     * Encode the variants of an image in the background unless they already exist
+     * @param png bytes of the original
+     * @param original path of the original in the store
+     */
+    public static void generate(byte[] png, Path original) {
+        if (!isEnabled()) return;
+        encoders.execute(() -> {
+            Path thumbnail = thumbnailPath(original);
+            Path fullSize = fullSizePath(original);
+            if (Files.exists(thumbnail) && Files.exists(fullSize)) return;
+            long start = System.nanoTime();
+            try {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+                if (image == null) {
+                    throw new IOException("not a readable image");
+                }
+                BufferedImage rgb = toRgb(image, image.getWidth(), image.getHeight());
+                int width = Math.min(image.getWidth(), FrameworkConfig.getScreenshotThumbnailWidth());
+                int height = Math.max(1, image.getHeight() * width / image.getWidth());
+                byte[] thumbnailJpeg = jpeg(toRgb(image, width, height));
+                byte[] fullJpeg = jpeg(rgb);
+                Files.createDirectories(original.getParent()); // The original may still be queued for writing
+                writeAtomically(thumbnail, thumbnailJpeg);
+                writeAtomically(fullSize, fullJpeg);
+                encoded.incrementAndGet();
+                originalBytes.addAndGet(png.length);
+                thumbnailBytes.addAndGet(thumbnailJpeg.length);
+                fullBytes.addAndGet(fullJpeg.length);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                logger.warn("Could not encode variants of {}: {}", original.getFileName(), e.getMessage());
+            } finally {
+                encodeMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+            }
+        });
+    }
+
+    /** Scaled copy without alpha - JPEG has no alpha channel */
+    private static BufferedImage toRgb(BufferedImage image, int width, int height) {
+        BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(FrameworkConfig.getScreenshotJpegQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /** Write next to the target and move it in place, so a report never links a half-written file */
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Delete the variants of an image removed from the store
+     */
+    public static void delete(Path original) throws IOException {
+        Files.deleteIfExists(thumbnailPath(original));
+        Files.deleteIfExists(fullSizePath(original));
+    }
+
+    // ========================================
+    // LIFECYCLE / STATS
+    // ========================================
+
+    /**
+     * Wait until all queued encodings are done
+     * @return true if the pool went idle within the timeout
+     */
+    public static boolean awaitEncodings(Duration timeout) {
+        return encoders.awaitQuiescence(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static String getStatsSummary() {
+        long count = encoded.get();
+        long original = originalBytes.get();
+        return String.format("Screenshot variants (%d encoders): encoded=%d (avg %d ms), failed=%d, "
+                        + "inline %d KB PNG -> %d KB thumbnails, full size %d KB PNG -> %d KB JPEG, saved %d KB",
+                encoders.getParallelism(), count, encodeMillis.get() / Math.max(1, count + failures.get()),
+                failures.get(), original / 1024, thumbnailBytes.get() / 1024, original / 1024,
+                fullBytes.get() / 1024, Math.max(0, original - thumbnailBytes.get()) / 1024);
+    }
+}
@@ -1,6 +1,8 @@
 package com.company.framework.utils;
 
+import com.company.framework.config.FrameworkConfig;
 import com.company.framework.interfaces.actions.IScrollActions;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
@@ -34,22 +36,41 @@ public class ScrollActions implements IScrollActions {
     @Override
     public void scrollToText(String visibleText) {
         try {
-            TouchActionUtils touchUtils = new TouchActionUtils(driver);
-            touchUtils.scrollDown(); // Simplified - all text scrolling uses vertical scroll
-            logger.info("Successfully scrolled to find text: " + visibleText);
+            try {
+                if (scrollIntoView(MatchBy.TEXT_CONTAINS, visibleText, FrameworkConfig.getScrollMaxSwipes()) != null) {
+                    logger.info("Successfully scrolled to find text: " + visibleText);
+                } else {
+                    logger.warn("Text not found within max swipes: " + visibleText);
+                }
+                return;
+            } catch (UnsupportedOperationException notAndroid) {
+                // Client-side scrolling below
+            }
+            String literal = HierarchySnapshot.literal(visibleText);
+            By textLocator = By.xpath("//*[contains(@text, " + literal + ") or contains(@content-desc, " + literal + ")]");
+            if (ScrollEngine.forDriver(driver).scrollUntilVisible(textLocator, FrameworkConfig.getScrollMaxSwipes()) != null) {
+                logger.info("Successfully scrolled to find text: " + visibleText);
+            } else {
+                logger.warn("Text not found before end of list: " + visibleText);
+            }
         } catch (Exception e) {
             logger.error("Failed to scroll to text: " + e.getMessage());
             throw new RuntimeException("Scroll to text operation failed", e);
         }
     }
 
+    @Override
+    public WebElement scrollIntoView(MatchBy matchBy, String value, int maxSwipes) {
+        return ScrollEngine.forDriver(driver).scrollIntoView(matchBy, value, maxSwipes);
+    }
+
     @Override
     public void scrollVertically(int pixels) {
-        scrollToText(""); // Delegate to scrollToText since they both use scrollDown()
+        ScrollEngine.forDriver(driver).scrollDown();
     }
 
     @Override
     public void scrollHorizontally(int pixels) {
-        scrollToText(""); // Delegate to scrollToText since horizontal isn't supported
+        ScrollEngine.forDriver(driver).scrollDown(); // Horizontal isn't supported, scroll vertically as before
     }
 }
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.company.framework.utils;
+
+import com.company.framework.interfaces.actions.IScrollActions.MatchBy;
+import com.company.framework.managers.PageSourceCachingExecutor;
+import com.company.framework.managers.SessionCleanup;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.SessionId;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ScrollEngine - One scroll implementation per session, shared by all gesture utilities
+ *
+ * The first scroll of a session probes the available gestures in order
+ * (UiAutomator2: mobile: scrollGesture, mobile: swipeGesture; XCUITest:
+ * mobile: swipe; then W3C pointer actions and window.scrollBy) and caches the first one that works, so later scrolls never pay for failed
+ * attempts. End of list is detected from the gesture result where the driver
+ * reports it (scrollGesture returns canScrollMore) and otherwise by comparing
+ * a fingerprint of the visible hierarchy taken right before the gesture with
+ * one taken once the content has settled (the UiStabilityDetector hash, so a
+ * ticking clock does not count as movement). Neither is carried over from an
+ * earlier scroll: any command in between may have changed the screen.
+ *
+ * scrollIntoView() uses the element bounds, the viewport and the enclosing
+ * scrollable container to compute one drag that brings the element to the
+ * middle of the container, so a known target costs a single gesture.
+ *
+ * scrollIntoView(MatchBy, ...) hands the whole search to UiScrollable on
+ * Android, so the server swipes and checks without a round trip per swipe.
+ */
+public class ScrollEngine {
+
+    private static final Logger logger = LogManager.getLogger(ScrollEngine.class);
+    private static final Map<SessionId, ScrollEngine> engines = new ConcurrentHashMap<>();
+
+    private static final AtomicLong gestures = new AtomicLong();
+    private static final AtomicLong probes = new AtomicLong();
+    private static final AtomicLong failedProbeAttempts = new AtomicLong();
+    private static final AtomicLong endOfListStops = new AtomicLong();
+    private static final AtomicLong oneShotScrolls = new AtomicLong();
+    private static final AtomicLong oneShotHits = new AtomicLong();
+    private static final AtomicLong serverSideScrolls = new AtomicLong();
+    private static final AtomicLong serverSideHits = new AtomicLong();
+
+    /** Distance the finger travels before Android starts scrolling */
+    private static final int TOUCH_SLOP_DP = 8;
+    /** Drag speed slow enough that the list does not fling past the target */
+    private static final double DRAG_PX_PER_MS = 1.5;
+    /** Hold before lifting the finger so the remaining velocity is zero */
+    private static final Duration SETTLE_PAUSE = Duration.ofMillis(150);
+    /** Part of the container height one drag may cover */
+    private static final double MAX_DRAG_FRACTION = 0.8;
+    /** Upper bound on waiting for a fling to come to rest before the after-sample */
+    private static final Duration FLING_SETTLE_TIMEOUT = Duration.ofSeconds(2);
+
+    enum Strategy { SCROLL_GESTURE, SWIPE_GESTURE, SWIPE, W3C_ACTIONS, WEB_SCROLL }
+
+    private static final List<Strategy> ANDROID_PROBE_ORDER = List.of(
+            Strategy.SCROLL_GESTURE, Strategy.SWIPE_GESTURE, Strategy.W3C_ACTIONS, Strategy.WEB_SCROLL);
+    private static final List<Strategy> IOS_PROBE_ORDER = List.of(
+            Strategy.SWIPE, Strategy.W3C_ACTIONS, Strategy.WEB_SCROLL);
+
+    private final AppiumDriver driver;
+    private volatile Strategy strategy;
+
+    private ScrollEngine(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    static {
+        StatsRegistry.register("ScrollEngine", ScrollEngine::getStatsSummary);
+        SessionCleanup.register(driver -> engines.remove(driver.getSessionId()));
+    }
+
+    /**
+     * Engine bound to the given session
+     */
+    public static ScrollEngine forDriver(AppiumDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        if (sessionId == null) {
+            return new ScrollEngine(driver);
+        }
+        return engines.computeIfAbsent(sessionId, id -> new ScrollEngine(driver));
+    }
+
+    // ========================================
+    // SCROLLING
+    // ========================================
+
+    /**
+     * Scroll the content down by roughly one screen
+     * @return true if the content moved, false at the end of the list
+     */
+    public synchronized boolean scrollDown() {
+        Long before = fingerprint();
+
+        Boolean canScrollMore = strategy == null ? probe() : perform(strategy);
+        gestures.incrementAndGet();
+        if (Boolean.FALSE.equals(canScrollMore)) {
+            endOfListStops.incrementAndGet();
+            logger.info("End of list reported by {}", strategy);
+            return false;
+        }
+
+        // Sampling mid-fling would see content that is still moving
+        Long after = UiStabilityDetector.waitForStable(driver, FLING_SETTLE_TIMEOUT, 1).getFingerprint();
+        if (before != null && before.equals(after)) {
+            endOfListStops.incrementAndGet();
+            logger.info("End of list detected: hierarchy unchanged after scroll");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scroll until the condition holds, stopping early at the end of the list
+     * @param condition checked before the first scroll and after each one
+     * @param maxScrolls upper bound on gestures
+     * @return true if the condition was met
+     */
+    public boolean scrollUntil(BooleanSupplier condition, int maxScrolls) {
+        if (condition.getAsBoolean()) {
+            return true;
+        }
+        for (int i = 0; i < maxScrolls; i++) {
+            DeadlineBudget.checkpoint("ScrollEngine.scrollUntil");
+            boolean moved = scrollDown();
+            if (condition.getAsBoolean()) {
+                logger.info("Scroll target reached after {} scroll(s)", i + 1);
+                return true;
+            }
+            if (!moved) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scroll until an element matching the locator is displayed
+     * @return the displayed element, or null if not found
+     */
+    public WebElement scrollUntilVisible(By locator, int maxScrolls) {
+        WebElement[] found = new WebElement[1];
+        scrollUntil(() -> {
+            List<WebElement> elements = driver.findElements(locator);
+            for (WebElement element : elements) {
+                try {
+                    if (element.isDisplayed()) {
+                        found[0] = element;
+                        return true;
+                    }
+                } catch (Exception ignored) {
+                    // Stale after scroll, check the next one
+                }
+            }
+            return false;
+        }, maxScrolls);
+        return found[0];
+    }
+
+    /**
+     * Bring an element to the middle of its scrollable container with one drag
+     * @param element element whose bounds are known but which is not fully visible
+     * @return true if the element is displayed afterwards
+     */
+    public synchronized boolean scrollIntoView(WebElement element) {
+        Rectangle target;
+        try {
+            target = element.getRect();
+        } catch (Exception e) {
+            logger.debug("Element bounds unavailable, one-shot scroll skipped: {}", e.getMessage());
+            return false;
+        }
+        Rectangle container = containerOf(target);
+        int targetCenter = target.y + target.height / 2;
+        if (target.y >= container.y && target.y + target.height <= container.y + container.height) {
+            return isDisplayed(element);
+        }
+
+        int containerCenter = container.y + container.height / 2;
+        int maxDrag = (int) (container.height * MAX_DRAG_FRACTION);
+        int distance = Math.max(-maxDrag, Math.min(maxDrag, targetCenter - containerCenter));
+        int drag = distance + Integer.signum(distance) * DeviceGeometry.forDriver(driver).dpToPx(TOUCH_SLOP_DP);
+        int startY = clamp(containerCenter + drag / 2, container);
+        int endY = clamp(containerCenter - drag / 2, container);
+        int x = container.x + container.width / 2;
+        Duration dragTime = Duration.ofMillis(Math.max(200, (long) (Math.abs(drag) / DRAG_PX_PER_MS)));
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence scroll = new Sequence(finger, 1);
+        scroll.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, startY));
+        scroll.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        scroll.addAction(finger.createPointerMove(dragTime, PointerInput.Origin.viewport(), x, endY));
+        scroll.addAction(new Pause(finger, SETTLE_PAUSE));
+        scroll.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver.perform(List.of(scroll));
+        oneShotScrolls.incrementAndGet();
+
+        boolean visible = isDisplayed(element);
+        if (visible) {
+            oneShotHits.incrementAndGet();
+        }
+        logger.info("One-shot scroll of {} px in {} ms, element visible: {}", startY - endY, dragTime.toMillis(), visible);
+        return visible;
+    }
+
+    /**
+     * Let the server scroll the first scrollable container until a match is in view
+     * @param matchBy attribute to match on
+     * @param value expected attribute value
+     * @param maxSwipes upper bound on swipes
+     * @return the element, or null if it was not found within maxSwipes
+     * @throws UnsupportedOperationException if the session is not UiAutomator2
+     */
+    public WebElement scrollIntoView(MatchBy matchBy, String value, int maxSwipes) {
+        if (!isAndroid()) {
+            throw new UnsupportedOperationException("Server-side scroll-into-view requires UiAutomator2");
+        }
+        serverSideScrolls.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            WebElement element = driver.findElement(AppiumBy.androidUIAutomator(uiScrollable(matchBy, value, maxSwipes)));
+            serverSideHits.incrementAndGet();
+            logger.info("Scrolled {} '{}' into view server-side in {} ms", matchBy, value,
+                    (System.nanoTime() - start) / 1_000_000);
+            return element;
+        } catch (NoSuchElementException e) {
+            logger.info("{} '{}' not found within {} swipes", matchBy, value, maxSwipes);
+            return null;
+        } finally {
+            // The find scrolled the screen, but FIND_ELEMENT does not clear the page-source cache
+            PageSourceCachingExecutor.invalidate(driver);
+        }
+    }
+
+    static String uiScrollable(MatchBy matchBy, String value, int maxSwipes) {
+        String method;
+        switch (matchBy) {
+            case TEXT: method = "text"; break;
+            case TEXT_CONTAINS: method = "textContains"; break;
+            case DESCRIPTION: method = "description"; break;
+            default: method = "resourceId"; break;
+        }
+        String literal = "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        return "new UiScrollable(new UiSelector().scrollable(true)).setMaxSearchSwipes(" + maxSwipes + ")"
+                + ".scrollIntoView(new UiSelector()." + method + "(" + literal + "))";
+    }
+
+    private boolean isAndroid() {
+        Object platform = driver.getCapabilities().getCapability("platformName");
+        return platform != null && "android".equalsIgnoreCase(platform.toString());
+    }
+
+    /**
+     * Smallest scrollable container that spans the target horizontally, or the viewport
+     */
+    private Rectangle containerOf(Rectangle target) {
+        Dimension size = windowSize();
+        Rectangle best = new Rectangle(0, 0, size.height, size.width);
+        HierarchySnapshot snapshot = HierarchySnapshot.capture(driver);
+        if (snapshot == null) {
+            return best;
+        }
+        int centerX = target.x + target.width / 2;
+        for (Rectangle candidate : snapshot.boundsOf(By.xpath("//*[@scrollable='true']"))) {
+            boolean spans = centerX >= candidate.x && centerX <= candidate.x + candidate.width;
+            if (spans && candidate.height > 0 && candidate.height * candidate.width < best.height * best.width) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static int clamp(int y, Rectangle container) {
+        int margin = Math.max(1, container.height / 20);
+        return Math.max(container.y + margin, Math.min(container.y + container.height - margin, y));
+    }
+
+    private static boolean isDisplayed(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // ========================================
+    // STRATEGIES
+    // ========================================
+
+    /**
+     * Try each strategy once and keep the first that works for this session
+     */
+    private Boolean probe() {
+        probes.incrementAndGet();
+        for (Strategy candidate : isAndroid() ? ANDROID_PROBE_ORDER : IOS_PROBE_ORDER) {
+            try {
+                Boolean result = perform(candidate);
+                strategy = candidate;
+                logger.info("Scroll strategy for session {}: {}", driver.getSessionId(), candidate);
+                return result;
+            } catch (Exception e) {
+                failedProbeAttempts.incrementAndGet();
+                logger.debug("Scroll strategy {} not available: {}", candidate, e.getMessage());
+            }
+        }
+        throw new IllegalStateException("No scroll strategy works for session " + driver.getSessionId());
+    }
+
+    /**
+     * Run one scroll gesture
+     * @return canScrollMore if the strategy reports it, otherwise null
+     */
+    private Boolean perform(Strategy s) {
+        Dimension size = windowSize();
+        int left = (int) (size.width * 0.1);
+        int top = (int) (size.height * 0.2);
+        int width = (int) (size.width * 0.8);
+        int height = (int) (size.height * 0.6);
+
+        switch (s) {
+            case SCROLL_GESTURE:
+                Object result = driver.executeScript("mobile: scrollGesture", Map.of(
+                        "left", left, "top", top, "width", width, "height", height,
+                        "direction", "down", "percent", 0.75));
+                return result instanceof Boolean ? (Boolean) result : null;
+            case SWIPE_GESTURE:
+                driver.executeScript("mobile: swipeGesture", Map.of(
+                        "left", left, "top", top, "width", width, "height", height,
+                        "direction", "up", "percent", 0.75));
+                return null;
+            case SWIPE:
+                // XCUITest only
+                driver.executeScript("mobile: swipe", Map.of("direction", "up"));
+                return null;
+            case W3C_ACTIONS:
+                int x = size.width / 2;
+                PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+                Sequence swipe = new Sequence(finger, 1);
+                swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, top + height));
+                swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+                swipe.addAction(finger.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), x, top));
+                swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+                driver.perform(List.of(swipe));
+                return null;
+            default:
+                driver.executeScript("window.scrollBy(0, " + height + ");");
+                return null;
+        }
+    }
+
+    private Dimension windowSize() {
+        return DeviceGeometry.forDriver(driver).getWindowSize();
+    }
+
+    /**
+     * Hash of the visible hierarchy without self-changing parts, or null if it could not be read
+     */
+    private Long fingerprint() {
+        try {
+            PageSourceCachingExecutor.invalidate(driver);
+            return UiStabilityDetector.fingerprint(driver.getPageSource());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static String getStatsSummary() {
+        return String.format("Scroll engine: gestures=%d, strategy probes=%d (failed attempts=%d), end-of-list stops=%d, one-shot scrolls=%d (on target=%d)",
+                gestures.get(), probes.get(), failedProbeAttempts.get(), endOfListStops.get(),
+                oneShotScrolls.get(), oneShotHits.get())
+                + String.format(", server-side scrolls=%d (found=%d)", serverSideScrolls.get(), serverSideHits.get());
+    }
+}
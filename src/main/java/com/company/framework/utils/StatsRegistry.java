@@ -0,0 +1,69 @@
+package com.company.framework.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * StatsRegistry - Suite-wide statistics summaries, logged once at suite teardown
+ *
+ * Utilities that count what they did (cache hits, probes, fallbacks, ...)
+ * register their summary from their static initializer, so the teardown logs
+ * every loaded utility without naming each one. Classes that were never loaded
+ * have nothing to report and are not listed.
+ */
+public final class StatsRegistry {
+
+    private static final Logger logger = LogManager.getLogger(StatsRegistry.class);
+    private static final Map<String, Supplier<String>> providers = new LinkedHashMap<>();
+
+    private StatsRegistry() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Register a summary; registering a name again replaces its supplier
+     * @param name utility the summary belongs to
+     * @param summary one line of statistics, evaluated at every summaries() call
+     */
+    public static void register(String name, Supplier<String> summary) {
+        synchronized (providers) {
+            providers.put(name, summary);
+        }
+    }
+
+    /**
+     * Drop a registered summary
+     */
+    public static void unregister(String name) {
+        synchronized (providers) {
+            providers.remove(name);
+        }
+    }
+
+    /**
+     * Current summaries in registration order; a failing supplier is reported
+     * in its line instead of hiding the others
+     */
+    public static List<String> summaries() {
+        Map<String, Supplier<String>> snapshot;
+        synchronized (providers) {
+            snapshot = new LinkedHashMap<>(providers);
+        }
+        List<String> summaries = new ArrayList<>(snapshot.size());
+        for (Map.Entry<String, Supplier<String>> provider : snapshot.entrySet()) {
+            try {
+                summaries.add(provider.getValue().get());
+            } catch (Exception e) {
+                logger.debug("Stats of {} unavailable", provider.getKey(), e);
+                summaries.add(provider.getKey() + ": statistics unavailable (" + e.getMessage() + ")");
+            }
+        }
+        return summaries;
+    }
+}
@@ -2,6 +2,7 @@ package com.company.framework.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.appium.java_client.AppiumDriver;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -126,16 +127,24 @@ public static String getPatternSearchTerm() {
 }
     
     /**
-     * Get pattern search submit button coordinates
+     * Get pattern search submit button coordinates in pixels for the session's device
+     * Test data holds normalised coordinates (0..1 of the screen); values above 1
+     * are taken as absolute pixels
      */
-    public static int[] getPatternSearchCoordinates() {
+    public static int[] getPatternSearchCoordinates(AppiumDriver driver) {
+        double x;
+        double y;
         try {
-            int x = bildHomePageData.get("TestSearchData").get("submitButtonCoordinates").get("x").asInt();
-            int y = bildHomePageData.get("TestSearchData").get("submitButtonCoordinates").get("y").asInt();
-            return new int[]{x, y};
+            x = bildHomePageData.get("TestSearchData").get("submitButtonCoordinates").get("x").asDouble();
+            y = bildHomePageData.get("TestSearchData").get("submitButtonCoordinates").get("y").asDouble();
         } catch (Exception e) {
-            return new int[]{1000, 2164}; // Fallback default
+            x = 0.926; // Fallback default
+            y = 0.902;
         }
+        if (x > 1 || y > 1) {
+            return new int[]{(int) x, (int) y};
+        }
+        return DeviceGeometry.forDriver(driver).toPixels(x, y);
     }
     
     /**
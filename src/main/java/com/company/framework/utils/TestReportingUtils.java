@@ -1,18 +1,19 @@
 package com.company.framework.utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.company.framework.config.FrameworkConfig;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import com.company.framework.reporting.ExtentReportWriter;
 import org.openqa.selenium.WebDriver;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * TestReportingUtils - Consolidated utility for test reporting and screenshots
@@ -25,7 +26,7 @@ import java.time.format.DateTimeFormatter;
  */
 public class TestReportingUtils {
     
-    private static ExtentReports extent;
+    private static final AtomicReference<ExtentReports> extent = new AtomicReference<>();
         
     // ========================================
     // EXTENT REPORTS MANAGEMENT
@@ -33,9 +34,13 @@ public class TestReportingUtils {
     
     /**
      * Get configured ExtentReports instance (singleton)
+     * Lock-free: concurrent first callers may each build one, only the first published is kept
+     * The instance is owned by an ExtentReportWriter (see getReportWriter()); log through
+     * ExtentReportWriter.logTo() instead of calling the tests directly
      */
-    public synchronized static ExtentReports getExtentReports() {
-        if (extent == null) {
+    public static ExtentReports getExtentReports() {
+        ExtentReports current = extent.get();
+        if (current == null) {
             // Create timestamp for unique report names
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
             String reportPath = "reports/ExtentReport_" + timestamp + ".html";
@@ -44,27 +49,41 @@ public class TestReportingUtils {
             sparkReporter.config().setDocumentTitle(FrameworkConfig.getFrameworkName() + " - Test Report");
             sparkReporter.config().setReportName("Test Execution Report");
 
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
+            ExtentReports created = new ExtentReports();
+            created.attachReporter(sparkReporter);
 
             // Add system and framework information to the report
-            extent.setSystemInfo("Framework", FrameworkConfig.getFrameworkName());
-            extent.setSystemInfo("Framework Version", FrameworkConfig.getFrameworkVersion());
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("OS Version", System.getProperty("os.version"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("User Name", System.getProperty("user.name"));
-            extent.setSystemInfo("Execution Date", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            created.setSystemInfo("Framework", FrameworkConfig.getFrameworkName());
+            created.setSystemInfo("Framework Version", FrameworkConfig.getFrameworkVersion());
+            created.setSystemInfo("OS", System.getProperty("os.name"));
+            created.setSystemInfo("OS Version", System.getProperty("os.version"));
+            created.setSystemInfo("Java Version", System.getProperty("java.version"));
+            created.setSystemInfo("User Name", System.getProperty("user.name"));
+            created.setSystemInfo("Execution Date", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            if (extent.compareAndSet(null, created)) {
+                new ExtentReportWriter(created);
+                current = created;
+            } else {
+                current = extent.get();
+            }
         }
-        return extent;
+        return current;
+    }
+
+    /**
+     * Writer owning the shared report; create tests through it
+     */
+    public static ExtentReportWriter getReportWriter() {
+        return ExtentReportWriter.forReport(getExtentReports());
     }
     
     /**
      * Flush and finalize the ExtentReports
      */
     public static void flushReports() {
-        if (extent != null) {
-            extent.flush();
+        ExtentReportWriter writer = ExtentReportWriter.forReport(extent.get());
+        if (writer != null) {
+            writer.flush();
         }
     }
     
@@ -72,9 +91,9 @@ public class TestReportingUtils {
      * Reset ExtentReports instance (for testing or cleanup)
      */
     public static void resetReports() {
-        if (extent != null) {
-            extent.flush();
-            extent = null;
+        ExtentReportWriter writer = ExtentReportWriter.forReport(extent.getAndSet(null));
+        if (writer != null) {
+            writer.close();
         }
     }
     
@@ -84,24 +103,31 @@ public class TestReportingUtils {
     
     /**
      * Capture screenshot with automatic naming
+     * The file is written in the background (see ScreenshotPipeline)
+     * @return path relative to the reports directory, or null if the writer queue was full
      */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
-        File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        String fileName = screenshotName + "_" + System.currentTimeMillis() + ".png";
-        String destPath = "screenshots/" + fileName;
-        
-        try {
-            Files.createDirectories(Paths.get("screenshots")); // ensure folder exists
-            Files.copy(src.toPath(), Paths.get(destPath));
-            
-            // Return relative path that works from reports directory
-            return "../" + destPath;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return ScreenshotPipeline.capture(driver, screenshotName).getReportPath();
     }
     
+    /**
+     * Attach a capture to a test: the thumbnail inline, linked to the compressed
+     * full-size image (the original PNG is shown if the thumbnail is missing).
+     * Captures without variants are attached by path, rejected ones as base64.
+     */
+    public static void attachScreenshot(ExtentTest test, ScreenshotPipeline.Capture capture) {
+        if (!capture.isQueued()) {
+            ExtentReportWriter.attachBase64To(test, capture.toDataUri());
+        } else if (capture.getThumbnailReportPath() == null) {
+            ExtentReportWriter.attachPathTo(test, capture.getReportPath());
+        } else {
+            ExtentReportWriter.logTo(test, Status.INFO, String.format("<a href='%s' target='_blank'><img src='%s' style='max-width:%dpx' "
+                            + "onerror=\"this.onerror=null;this.src='%s'\"/></a>",
+                    capture.getFullSizeReportPath(), capture.getThumbnailReportPath(),
+                    FrameworkConfig.getScreenshotThumbnailWidth(), capture.getReportPath()));
+        }
+    }
+
     /**
      * Capture screenshot with timestamp
      */
@@ -111,29 +137,20 @@ public class TestReportingUtils {
     }
     
     /**
-     * Capture screenshot and return as base64 string for embedding in reports
+     * Capture screenshot and return it as a base64 data URI for embedding in reports
+     * (image/jpeg when it is an MJPEG frame, image/png otherwise)
      */
     public static String captureScreenshotAsBase64(WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        return ScreenshotPipeline.toDataUri(ScreenshotPipeline.fetch(driver));
     }
     
     /**
      * Capture screenshot and save with custom path
+     * @return path of the file written - .jpg instead of .png for an MJPEG frame - or null if not queued
      */
     public static String captureScreenshotToPath(WebDriver driver, String fullPath) {
-        File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        
-        try {
-            // Ensure parent directory exists
-            File destFile = new File(fullPath);
-            Files.createDirectories(destFile.getParentFile().toPath());
-            
-            Files.copy(src.toPath(), destFile.toPath());
-            return fullPath;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+        ScreenshotPipeline.Capture capture = ScreenshotPipeline.capture(driver, Paths.get(fullPath));
+        return capture.isQueued() ? capture.getPath().toString() : null;
     }
     
     // ========================================
@@ -170,26 +187,11 @@ public class TestReportingUtils {
     
     /**
      * Clean up old screenshot files (keep last N days)
+     * Images still referenced by a newer capture are kept (see ScreenshotStore.prune)
      */
     public static void cleanupOldScreenshots(int keepLastDays) {
         try {
-            File screenshotsDir = new File("screenshots");
-            if (!screenshotsDir.exists()) {
-                return;
-            }
-            
-            long cutoffTime = System.currentTimeMillis() - (keepLastDays * 24L * 60L * 60L * 1000L);
-            
-            File[] screenshotFiles = screenshotsDir.listFiles((dir, name) -> 
-                name.endsWith(".png") || name.endsWith(".jpg"));
-                
-            if (screenshotFiles != null) {
-                for (File file : screenshotFiles) {
-                    if (file.lastModified() < cutoffTime) {
-                        file.delete();
-                    }
-                }
-            }
+            ScreenshotStore.prune(Duration.ofDays(keepLastDays));
         } catch (Exception e) {
             // Silently fail for cleanup operations
         }
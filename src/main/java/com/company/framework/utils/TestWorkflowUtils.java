@@ -1,5 +1,7 @@
 package com.company.framework.utils;
 
+import com.aventstack.extentreports.Status;
+import com.company.framework.reporting.ExtentReportWriter;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,31 +28,31 @@ public class TestWorkflowUtils {
                                                        com.aventstack.extentreports.ExtentTest test) {
         try {
             // Perform search with touch tap
-            test.info("Performing search with touch tap for: " + searchTerm);
+            ExtentReportWriter.logTo(test, Status.INFO, "Performing search with touch tap for: " + searchTerm);
             bildHomePage.performSearchWithTap(searchTerm);
-            test.pass("Successfully performed search with touch tap at coordinates (993, 2153)");
+            ExtentReportWriter.logTo(test, Status.PASS, "Successfully performed search with touch tap at coordinates (993, 2153)");
             
             // Wait for results to load using wait utility
-            WaitUtils waitUtils = new WaitUtils(10);
+            WaitUtils waitUtils = new WaitUtils(bildHomePage.getDriver(), 10);
             waitUtils.waitForSearchResults(test);
-            test.info("Verifying search execution with touch tap method");
+            ExtentReportWriter.logTo(test, Status.INFO, "Verifying search execution with touch tap method");
             
             // Collect and verify results
             List<WebElement> panelResults = bildHomePage.collectResultsFromPanel();
-            test.info("Collected " + panelResults.size() + " results from the main results panel");
+            ExtentReportWriter.logTo(test, Status.INFO, "Collected " + panelResults.size() + " results from the main results panel");
             
             boolean verified = bildHomePage.verifySearchResults(panelResults, searchTerm);
             
             if (verified) {
-                test.pass("VERIFICATION SUCCESS: Found '" + searchTerm + "' in results panel");
+                ExtentReportWriter.logTo(test, Status.PASS, "VERIFICATION SUCCESS: Found '" + searchTerm + "' in results panel");
                 return true;
             } else {
-                test.info("Verification: No '" + searchTerm + "' text found in " + panelResults.size() + " results");
+                ExtentReportWriter.logTo(test, Status.INFO, "Verification: No '" + searchTerm + "' text found in " + panelResults.size() + " results");
                 return false;
             }
             
         } catch (Exception e) {
-            test.fail("Error during search verification: " + e.getMessage());
+            ExtentReportWriter.logTo(test, Status.FAIL, "Error during search verification: " + e.getMessage());
             logger.error("Search verification failed", e);
             return false;
         }
@@ -64,15 +66,15 @@ public class TestWorkflowUtils {
     public static void handleCancelButton(ImprovedBildHomePage bildHomePage, 
                                         com.aventstack.extentreports.ExtentTest test) {
         try {
-            test.info("Attempting to click Cancel button after search verification");
+            ExtentReportWriter.logTo(test, Status.INFO, "Attempting to click Cancel button after search verification");
             if (bildHomePage.isCancelButtonDisplayed()) {
                 bildHomePage.clickCancel();
-                test.pass("Successfully clicked Cancel (Abbrechen) button");
+                ExtentReportWriter.logTo(test, Status.PASS, "Successfully clicked Cancel (Abbrechen) button");
             } else {
-                test.info("Cancel button not displayed - may not be available in current context");
+                ExtentReportWriter.logTo(test, Status.INFO, "Cancel button not displayed - may not be available in current context");
             }
         } catch (Exception e) {
-            test.info("Could not click Cancel button: " + e.getMessage());
+            ExtentReportWriter.logTo(test, Status.INFO, "Could not click Cancel button: " + e.getMessage());
             logger.warn("Cancel button operation failed", e);
         }
     }
@@ -89,15 +91,15 @@ public class TestWorkflowUtils {
             // Verify BILD Premium element is displayed
             boolean isPremiumElementDisplayed = bildHomePage.isBildPremiumElementDisplayed();
             if (isPremiumElementDisplayed) {
-                test.pass("BILD Premium element is displayed on the home page");
+                ExtentReportWriter.logTo(test, Status.PASS, "BILD Premium element is displayed on the home page");
                 
                 // Click on BILD Premium element
                 bildHomePage.clickBildPremiumElement();
-                test.pass("Successfully clicked on BILD Premium element");
+                ExtentReportWriter.logTo(test, Status.PASS, "Successfully clicked on BILD Premium element");
                 
                 // Wait for page to load
                 // Use wait utility for premium element visibility
-                WaitUtils waitUtils = new WaitUtils(10);
+                WaitUtils waitUtils = new WaitUtils(bildHomePage.getDriver(), 10);
                 waitUtils.waitForPremiumElements(test);
                 
                 // Verify account exists TextView
@@ -107,18 +109,18 @@ public class TestWorkflowUtils {
                 String expectedAccountText = TestDataManager.getPrimaryAccountVerificationText();
                 
                 if (isAccountTextDisplayed) {
-                    test.pass("SUCCESS: Found TextView with text '" + expectedAccountText + "' after clicking BILD Premium");
+                    ExtentReportWriter.logTo(test, Status.PASS, "SUCCESS: Found TextView with text '" + expectedAccountText + "' after clicking BILD Premium");
                     return true;
                 } else {
-                    test.info("TextView '" + expectedAccountText + "' not found after clicking BILD Premium");
+                    ExtentReportWriter.logTo(test, Status.INFO, "TextView '" + expectedAccountText + "' not found after clicking BILD Premium");
                     return false;
                 }
             } else {
-                test.info("BILD Premium element is not displayed - this may be expected");
+                ExtentReportWriter.logTo(test, Status.INFO, "BILD Premium element is not displayed - this may be expected");
                 return false;
             }
         } catch (Exception e) {
-            test.info("Could not verify BILD Premium element: " + e.getMessage());
+            ExtentReportWriter.logTo(test, Status.INFO, "Could not verify BILD Premium element: " + e.getMessage());
             logger.warn("Premium element verification failed", e);
             return false;
         }
@@ -136,22 +138,22 @@ public class TestWorkflowUtils {
             String sportMenu = TestDataManager.getMenuName(0); // "sport"
             String homeMenu = TestDataManager.getMenuName(3);  // "home"
             
-            test.info("Testing navigation menus from external test data");
+            ExtentReportWriter.logTo(test, Status.INFO, "Testing navigation menus from external test data");
             
             // Test Sport menu navigation
             bildHomePage.clickSportMenu();
-            test.pass("Successfully clicked on " + sportMenu + " menu");
+            ExtentReportWriter.logTo(test, Status.PASS, "Successfully clicked on " + sportMenu + " menu");
             
             // Test BILD Play menu navigation (hardcoded as it's UI specific)
             bildHomePage.clickBildPlayMenu();
-            test.pass("Successfully clicked on BILD Play menu");
+            ExtentReportWriter.logTo(test, Status.PASS, "Successfully clicked on BILD Play menu");
 
             // Test Home menu navigation
             bildHomePage.clickHomeMenu();
-            test.pass("Successfully clicked on " + homeMenu + " menu");
+            ExtentReportWriter.logTo(test, Status.PASS, "Successfully clicked on " + homeMenu + " menu");
             
         } catch (Exception e) {
-            test.fail("Navigation menu testing failed: " + e.getMessage());
+            ExtentReportWriter.logTo(test, Status.FAIL, "Navigation menu testing failed: " + e.getMessage());
             logger.error("Navigation menu test failed", e);
         }
     }
@@ -6,6 +6,7 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
@@ -15,7 +16,6 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.time.Duration;
 import java.util.Arrays;
-import java.util.Map;
 
 /**
  * TouchActionUtils - Utility class for advanced touch interactions
@@ -29,7 +29,7 @@ public class TouchActionUtils {
     
     public TouchActionUtils(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "TouchActionUtils");
     }
     
     /**
@@ -140,59 +140,12 @@ public class TouchActionUtils {
     }
 
     /**
-     * Scrolls down on mobile device using various scroll strategies
+     * Scrolls down on mobile device using the session's probed scroll strategy
+     * @return true if the content moved, false at the end of the list
      */
-    public void scrollDown() {
+    public boolean scrollDown() {
         logger.info("Performing scroll down action");
-        
-        try {
-            // First try using touch actions with Dimension
-            org.openqa.selenium.Dimension size = driver.manage().window().getSize();
-            int startY = (int) (size.height * 0.8);
-            int endY = (int) (size.height * 0.2);
-            
-            // Use mobile: swipeGesture for Android UiAutomator2
-            Map<String, Object> params = Map.of(
-                "left", 0,
-                "top", startY,
-                "width", size.width,
-                "height", endY - startY,
-                "direction", "up",
-                "percent", 0.75
-            );
-            ((JavascriptExecutor) driver).executeScript("mobile: swipeGesture", params);
-            logger.info("Scroll down completed using swipeGesture");
-            
-        } catch (Exception e) {
-            logger.warn("swipeGesture failed, trying swipe fallback: " + e.getMessage());
-            // Fallback: Try using direct coordinates
-            try {
-                Map<String, Object> swipeParams = Map.of(
-                    "startX", 500,
-                    "startY", 1500, 
-                    "endX", 500,
-                    "endY", 800,
-                    "duration", 1000
-                );
-                ((JavascriptExecutor) driver).executeScript("mobile: swipe", swipeParams);
-                logger.info("Scroll down completed using mobile: swipe");
-            } catch (Exception ex) {
-                logger.warn("mobile: swipe failed, trying scrollGesture: " + ex.getMessage());
-                // Final fallback - use UiScrollable if available
-                try {
-                    ((JavascriptExecutor) driver).executeScript("mobile: scrollGesture", Map.of(
-                        "left", 0, "top", 0, "width", 500, "height", 1000,
-                        "direction", "down",
-                        "percent", 3.0
-                    ));
-                    logger.info("Scroll down completed using scrollGesture");
-                } catch (Exception finalEx) {
-                    logger.warn("All mobile scroll methods failed, using basic web scroll: " + finalEx.getMessage());
-                    // Most basic fallback
-                    ((JavascriptExecutor) driver).executeScript("window.scrollBy(0, 500);");
-                }
-            }
-        }
+        return ScrollEngine.forDriver(driver).scrollDown();
     }
 
     /**
@@ -214,32 +167,27 @@ public class TouchActionUtils {
             // Try multiple scroll approaches
             boolean elementFound = false;
             
-            // Approach 1: Scroll down multiple times to find the element
+            ScrollEngine engine = ScrollEngine.forDriver(driver);
+
+            // Approach 1: One drag computed from the element and container bounds
+            try {
+                elementFound = engine.scrollIntoView(element);
+            } catch (Exception scrollEx) {
+                logger.warn("One-shot scroll failed: {}", scrollEx.getMessage());
+            }
+
+            // Approach 2: Scroll down until visible, stopping early at the end of the list
             int maxScrolls = 5;
-            for (int i = 0; i < maxScrolls && !elementFound; i++) {
+            if (!elementFound) {
                 try {
-                    scrollDown();
-                    // Wait for scroll animation to complete using WebDriverWait
-                    try {
-                        // Wait for any element to be stable after scroll - better than arbitrary sleep
-                        wait.until(driver -> ((JavascriptExecutor) driver).executeScript(
-                            "return document.readyState").equals("complete"));
-                    } catch (Exception waitEx) {
-                        logger.warn("Scroll wait failed, continuing: {}", waitEx.getMessage());
-                    }
-                    
-                    if (isElementVisible(element)) {
-                        logger.info("Element found after {} scroll(s)", i + 1);
-                        elementFound = true;
-                        break;
-                    }
+                    elementFound = engine.scrollUntil(() -> isElementVisible(element), maxScrolls);
                 } catch (Exception scrollEx) {
-                    logger.warn("Scroll attempt {} failed: {}", i + 1, scrollEx.getMessage());
+                    logger.warn("Scrolling failed: {}", scrollEx.getMessage());
                 }
             }
             
-            // If still not found, try JavaScript scroll as fallback
-            if (!elementFound) {
+            // If still not found, try JavaScript scroll as fallback (only meaningful in a webview)
+            if (!elementFound && ContextManager.forDriver(driver).isWebView()) {
                 try {
                     logger.info("Trying JavaScript scroll as fallback");
                     ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
@@ -259,6 +207,9 @@ public class TouchActionUtils {
         } catch (Exception e) {
             logger.error("ScrollToElement encountered an error: {}", e.getMessage());
             // Final fallback to basic scroll
+            if (!ContextManager.forDriver(driver).isWebView()) {
+                return;
+            }
             try {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
             } catch (Exception finalEx) {
@@ -305,17 +256,10 @@ public void tapOnElement(WebElement element) {
 public WebElement scrollUntilVisibleAndClickable(By locator, int maxScrolls, int timeoutSec) {
     logger.info("Scrolling until element {} is visible and clickable", locator);
 
-    for (int i = 0; i < maxScrolls; i++) {
-        try {
-            WebElement element = driver.findElement(locator);
-            if (element.isDisplayed()) {
-                // Wait until clickable to avoid stale reference
-                return MobileTestUtils.waitForElementClickable(driver, locator, timeoutSec);
-            }
-        } catch (Exception ignored) {
-            // not found yet
-        }
-        scrollDown();
+    WebElement element = ScrollEngine.forDriver(driver).scrollUntilVisible(locator, maxScrolls);
+    if (element != null) {
+        // Wait until clickable to avoid stale reference
+        return MobileTestUtils.waitForElementClickable(driver, locator, timeoutSec);
     }
 
     logger.warn("Element {} not found after {} scroll attempts", locator, maxScrolls);
@@ -356,11 +300,16 @@ public void dragAndDrop(WebElement sourceElement, WebElement targetElement) {
 public void pinchZoom(WebElement element, boolean zoomIn) {
     logger.info("Performing {} on element", zoomIn ? "zoom in" : "zoom out");
     try {
-        Point center = element.getLocation();
-        int centerX = center.getX() + (element.getSize().width / 2);
-        int centerY = center.getY() + (element.getSize().height / 2);
+        Rectangle rect = element.getRect();
+        int centerX = rect.x + rect.width / 2;
+        int centerY = rect.y + rect.height / 2;
 
-        int moveOffset = 200; // adjust as needed
+        // Finger offsets in dp so the gesture covers the same physical distance on every
+        // density, kept inside the cached window bounds
+        DeviceGeometry geometry = DeviceGeometry.forDriver(driver);
+        int windowWidth = geometry.getWindowSize().width;
+        int moveOffset = Math.min(geometry.dpToPx(76), Math.min(centerX, windowWidth - 1 - centerX));
+        int nearOffset = Math.min(geometry.dpToPx(19), moveOffset);
 
         // Two fingers
         PointerInput finger1 = new PointerInput(PointerInput.Kind.TOUCH, "finger1");
@@ -375,16 +324,16 @@ public void pinchZoom(WebElement element, boolean zoomIn) {
             seq2.addAction(finger2.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX + moveOffset, centerY));
         } else {
             // Fingers start close -> move apart
-            seq1.addAction(finger1.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX - 50, centerY));
-            seq2.addAction(finger2.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX + 50, centerY));
+            seq1.addAction(finger1.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX - nearOffset, centerY));
+            seq2.addAction(finger2.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX + nearOffset, centerY));
         }
 
         seq1.addAction(finger1.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
         seq2.addAction(finger2.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
 
         if (zoomIn) {
-            seq1.addAction(finger1.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX - 50, centerY));
-            seq2.addAction(finger2.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX + 50, centerY));
+            seq1.addAction(finger1.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX - nearOffset, centerY));
+            seq2.addAction(finger2.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX + nearOffset, centerY));
         } else {
             seq1.addAction(finger1.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX - moveOffset, centerY));
             seq2.addAction(finger2.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), centerX + moveOffset, centerY));
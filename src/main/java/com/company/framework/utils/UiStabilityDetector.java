@@ -0,0 +1,227 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.managers.PageSourceCachingExecutor;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * UiStabilityDetector - Waits until the visible hierarchy stops changing
+ *
+ * Each sample folds every node's class, resource-id, text, content-desc and
+ * bounds into a rolling polynomial hash. Parts that change on their own are
+ * left out: nodes whose class or resource-id matches ui.stability.ignore.pattern
+ * (progress bars, clocks, tickers, ad slots) together with their subtrees, and
+ * time-of-day texts. The UI counts as stable once K consecutive samples hash
+ * the same.
+ *
+ * Polling adapts: while the UI is still changing the interval doubles up to a
+ * cap so an animation is not sampled needlessly; once a match is seen it drops
+ * back to the minimum so stability is confirmed quickly.
+ */
+public final class UiStabilityDetector {
+
+    private static final Logger logger = LogManager.getLogger(UiStabilityDetector.class);
+    private static final XMLInputFactory XML_INPUT = XMLInputFactory.newInstance();
+    private static final Pattern TIME_OF_DAY = Pattern.compile("\\d{1,2}:\\d{2}(:\\d{2})?");
+    private static final long HASH_MULTIPLIER = 1_000_003L;
+
+    private static final Duration MIN_POLL = Duration.ofMillis(100);
+    private static final Duration MAX_POLL = Duration.ofMillis(1000);
+
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong stableWaits = new AtomicLong();
+    private static final AtomicLong samples = new AtomicLong();
+    private static final AtomicLong timeToStableMillis = new AtomicLong();
+
+    static {
+        XML_INPUT.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        StatsRegistry.register("UiStabilityDetector", UiStabilityDetector::getStatsSummary);
+    }
+
+    private UiStabilityDetector() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Outcome of a stability wait
+     */
+    public static final class Result {
+        private final boolean stable;
+        private final Duration timeToStable;
+        private final int sampleCount;
+        private final Long fingerprint;
+
+        private Result(boolean stable, Duration timeToStable, int sampleCount, Long fingerprint) {
+            this.stable = stable;
+            this.timeToStable = timeToStable;
+            this.sampleCount = sampleCount;
+            this.fingerprint = fingerprint;
+        }
+
+        public boolean isStable() { return stable; }
+        public Duration getTimeToStable() { return timeToStable; }
+        public int getSampleCount() { return sampleCount; }
+        /** Hash of the last sample, null if it could not be read */
+        public Long getFingerprint() { return fingerprint; }
+
+        @Override
+        public String toString() {
+            return String.format("%s after %d ms (%d samples)", stable ? "stable" : "still changing",
+                    timeToStable.toMillis(), sampleCount);
+        }
+    }
+
+    /**
+     * Wait until ui.stability.required.matches consecutive samples hash the same
+     * @param timeout give up after this long
+     * @return result with the time it took to become stable
+     */
+    public static Result waitForStable(AppiumDriver driver, Duration timeout) {
+        return waitForStable(driver, timeout, FrameworkConfig.getUiStabilityRequiredMatches());
+    }
+
+    /**
+     * Wait until the given number of consecutive samples hash the same
+     * @param requiredMatches K - identical samples in a row after the first
+     */
+    public static Result waitForStable(AppiumDriver driver, Duration timeout, int requiredMatches) {
+        waits.incrementAndGet();
+        long start = System.nanoTime();
+        long deadline = start + DeadlineBudget.grant("UiStabilityDetector", timeout).toNanos();
+        long interval = MIN_POLL.toNanos();
+        Long previous = null;
+        int matches = 0;
+        int sampleCount = 0;
+
+        while (true) {
+            Long hash = sample(driver);
+            sampleCount++;
+            if (hash != null && hash.equals(previous)) {
+                matches++;
+                interval = MIN_POLL.toNanos();
+                if (matches >= requiredMatches) {
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                    stableWaits.incrementAndGet();
+                    timeToStableMillis.addAndGet(elapsed.toMillis());
+                    DeadlineBudget.record("UiStabilityDetector", elapsed.toNanos());
+                    Result result = new Result(true, elapsed, sampleCount, hash);
+                    logger.info("UI {}", result);
+                    return result;
+                }
+            } else {
+                matches = 0;
+                if (previous != null) {
+                    interval = Math.min(interval * 2, MAX_POLL.toNanos());
+                }
+            }
+            previous = hash;
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                Result result = new Result(false, Duration.ofNanos(System.nanoTime() - start), sampleCount, hash);
+                DeadlineBudget.record("UiStabilityDetector", result.getTimeToStable().toNanos());
+                logger.warn("UI {}", result);
+                return result;
+            }
+            LockSupport.parkNanos(Math.min(interval, remaining));
+        }
+    }
+
+    private static Long sample(AppiumDriver driver) {
+        samples.incrementAndGet();
+        try {
+            PageSourceCachingExecutor.invalidate(driver); // Every sample must see the live hierarchy
+            return fingerprint(driver.getPageSource());
+        } catch (Exception e) {
+            logger.debug("Hierarchy sample failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================================
+    // FINGERPRINT
+    // ========================================
+
+    /**
+     * Rolling hash of the stable part of a hierarchy
+     * @return hash, or null if the XML could not be read
+     */
+    public static Long fingerprint(String hierarchyXml) {
+        Pattern ignore = FrameworkConfig.getUiStabilityIgnorePattern();
+        long hash = 17;
+        int skipDepth = 0;
+        try {
+            XMLStreamReader reader = XML_INPUT.createXMLStreamReader(new StringReader(hierarchyXml));
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (skipDepth > 0) {
+                            skipDepth++;
+                            continue;
+                        }
+                        String className = attribute(reader, "class", reader.getLocalName());
+                        String resourceId = attribute(reader, "resource-id", attribute(reader, "name", ""));
+                        if (ignore.matcher(className).matches() || ignore.matcher(resourceId).matches()) {
+                            skipDepth = 1;
+                            continue;
+                        }
+                        hash = mix(hash, reader.getLocalName());
+                        hash = mix(hash, resourceId);
+                        hash = mix(hash, stableText(attribute(reader, "text", attribute(reader, "value", ""))));
+                        hash = mix(hash, stableText(attribute(reader, "content-desc", attribute(reader, "label", ""))));
+                        hash = mix(hash, attribute(reader, "bounds", attribute(reader, "x", "") + ","
+                                + attribute(reader, "y", "") + "," + attribute(reader, "width", "") + ","
+                                + attribute(reader, "height", "")));
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (skipDepth > 0) {
+                            skipDepth--;
+                        } else {
+                            hash = hash * HASH_MULTIPLIER + '/';
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+            return hash;
+        } catch (Exception e) {
+            logger.debug("Could not fingerprint hierarchy: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash * HASH_MULTIPLIER + value.charAt(i);
+        }
+        return hash * HASH_MULTIPLIER + '|';
+    }
+
+    private static String stableText(String text) {
+        return TIME_OF_DAY.matcher(text).find() ? TIME_OF_DAY.matcher(text).replaceAll("#") : text;
+    }
+
+    private static String attribute(XMLStreamReader reader, String name, String fallback) {
+        String value = reader.getAttributeValue(null, name);
+        return value != null ? value : fallback;
+    }
+
+    public static String getStatsSummary() {
+        return String.format("UI stability: waits=%d, stable=%d, samples=%d, avg time-to-stable %d ms",
+                waits.get(), stableWaits.get(), samples.get(),
+                timeToStableMillis.get() / Math.max(1, stableWaits.get()));
+    }
+}
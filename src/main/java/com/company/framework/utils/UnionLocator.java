@@ -0,0 +1,268 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.locators.common.LocatorStatistics;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * UnionLocator - Finds a whole fallback array in one server round trip
+ *
+ * Every candidate (XPath, id, class name or accessibility id) is translated to
+ * XPath and combined into a single union query. Plain XPath unions come back
+ * in document order, which loses the fallback priority, so the lower-priority
+ * remainder of the array is guarded by the absence of each candidate in turn:
+ *
+ *   (c1) | ((c2) | (c3)[not(c2)])[not(c1)]
+ *
+ * The nested form grows linearly with the array. A flat form that repeats all
+ * higher-priority candidates in every guard is quadratic, and the JDK XPath
+ * engine mis-evaluates it from four guard members on (see UnionLocatorTest).
+ *
+ * The server therefore returns only the elements of the highest-priority
+ * candidate that matches, and a miss costs one round trip instead of one per
+ * candidate. Arrays containing UiAutomator selectors fall back to the
+ * sequential loop.
+ *
+ * A union hit does not say which candidate matched. When the outcome is fed
+ * into LocatorStatistics, only every locator.union.stats.sample.every-th union
+ * lookup of an element is recorded (the first one always is); on a sampled hit
+ * the winner is found with a binary search over sub-ranges of the array (about
+ * log2(n) extra queries). All other lookups stay at one query.
+ */
+public final class UnionLocator {
+
+    private static final Logger logger = LogManager.getLogger(UnionLocator.class);
+    private static final Map<String, By> unionCache = new ConcurrentHashMap<>();
+    /** Union lookups per statistics key, for sampling */
+    private static final Map<String, AtomicLong> unionLookups = new ConcurrentHashMap<>();
+
+    private UnionLocator() {
+        throw new AssertionError("Utility class - cannot instantiate");
+    }
+
+    /**
+     * Priority-preserving union of the candidates
+     * @param candidates fallback locators in priority order
+     * @return XPath locator, or null if a candidate has no XPath equivalent
+     */
+    public static By union(By[] candidates) {
+        List<String> xpaths = new ArrayList<>();
+        for (By candidate : candidates) {
+            String xpath = HierarchySnapshot.toXPath(candidate);
+            if (xpath == null || !xpath.startsWith("/")) {
+                return null;
+            }
+            xpaths.add(xpath);
+        }
+        String key = String.join("\n", xpaths);
+        return unionCache.computeIfAbsent(key, k -> By.xpath(buildGuardedUnion(xpaths)));
+    }
+
+    static String buildGuardedUnion(List<String> xpaths) {
+        int last = xpaths.size() - 1;
+        String union = "(" + xpaths.get(last) + ")";
+        for (int i = last - 1; i >= 0; i--) {
+            String rest = i == last - 1 ? union : "(" + union + ")";
+            union = "(" + xpaths.get(i) + ") | " + rest + "[not(" + xpaths.get(i) + ")]";
+        }
+        return union;
+    }
+
+    /**
+     * Elements of the highest-priority candidate that matches
+     * Uses one union query when enabled and possible, otherwise one query per candidate
+     * @return matching elements, empty if no candidate matches
+     */
+    public static List<WebElement> findElements(AppiumDriver driver, By[] candidates) {
+        return findElements(driver, null, candidates);
+    }
+
+    /**
+     * Same as findElements, also feeding the outcome into LocatorStatistics
+     * @param statsKey element key for LocatorStatistics, or null to skip recording
+     */
+    public static List<WebElement> findElements(AppiumDriver driver, String statsKey, By[] candidates) {
+        return findElements(driver, statsKey, candidates, FrameworkConfig.getLocatorUnionStatsSampleEvery());
+    }
+
+    /**
+     * @param sampleEvery record every n-th union lookup of the statsKey (1 = all)
+     */
+    static List<WebElement> findElements(AppiumDriver driver, String statsKey, By[] candidates, int sampleEvery) {
+        By union = FrameworkConfig.isLocatorUnionEnabled() && candidates.length > 1 ? union(candidates) : null;
+        if (union != null) {
+            long start = System.nanoTime();
+            List<WebElement> found = driver.findElements(union);
+            long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+            if (statsKey != null && isSampled(statsKey, sampleEvery)) {
+                int winner = found.isEmpty() ? candidates.length
+                        : winnerIndex(candidates, range -> !driver.findElements(anyOf(range)).isEmpty());
+                recordOutcome(statsKey, candidates, winner, latencyMillis);
+            }
+            return found;
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            long start = System.nanoTime();
+            List<WebElement> found = driver.findElements(candidates[i]);
+            if (!found.isEmpty()) {
+                if (statsKey != null) {
+                    recordOutcome(statsKey, candidates, i, (System.nanoTime() - start) / 1_000_000);
+                }
+                return found;
+            }
+        }
+        if (statsKey != null) {
+            recordOutcome(statsKey, candidates, candidates.length, 0);
+        }
+        return List.of();
+    }
+
+    private static boolean isSampled(String statsKey, int sampleEvery) {
+        long lookup = unionLookups.computeIfAbsent(statsKey, key -> new AtomicLong()).getAndIncrement();
+        return sampleEvery <= 1 || lookup % sampleEvery == 0;
+    }
+
+    /**
+     * Index of the highest-priority candidate that matches, given that at least one does
+     * @param anyMatches whether any candidate of a contiguous sub-range matches
+     */
+    static int winnerIndex(By[] candidates, Predicate<By[]> anyMatches) {
+        int low = 0;
+        int high = candidates.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (anyMatches.test(Arrays.copyOfRange(candidates, low, mid + 1))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static By anyOf(By[] range) {
+        return range.length == 1 ? range[0] : union(range);
+    }
+
+    /**
+     * Misses for the candidates before the winner, a hit for the winner
+     * @param winner index of the matching candidate, candidates.length for a miss
+     */
+    private static void recordOutcome(String statsKey, By[] candidates, int winner, long latencyMillis) {
+        for (int i = 0; i < winner && i < candidates.length; i++) {
+            LocatorStatistics.recordMiss(statsKey, candidates[i]);
+        }
+        if (winner < candidates.length) {
+            LocatorStatistics.recordHit(statsKey, candidates[winner], latencyMillis);
+        }
+    }
+
+    // ========================================
+    // BENCHMARK
+    // ========================================
+
+    /**
+     * Time the sequential loop against the union query on a live session
+     * @param iterations repetitions of each path
+     * @return one-line summary
+     */
+    public static String benchmark(AppiumDriver driver, By[] candidates, int iterations) {
+        By union = union(candidates);
+        if (union == null) {
+            return "Union benchmark skipped: candidates are not all XPath-expressible";
+        }
+
+        long sequentialNanos = 0;
+        long sequentialCalls = 0;
+        long unionNanos = 0;
+        boolean sameFirst = true;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            WebElement sequentialFirst = null;
+            for (By candidate : candidates) {
+                sequentialCalls++;
+                List<WebElement> found = driver.findElements(candidate);
+                if (!found.isEmpty()) {
+                    sequentialFirst = found.get(0);
+                    break;
+                }
+            }
+            sequentialNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<WebElement> found = driver.findElements(union);
+            unionNanos += System.nanoTime() - start;
+            sameFirst &= Objects.equals(sequentialFirst, found.isEmpty() ? null : found.get(0));
+        }
+
+        String summary = String.format("Union benchmark (%d candidates, %d runs): sequential avg %d ms (%.1f calls), union avg %d ms (1 call), same first element=%s",
+                candidates.length, iterations, sequentialNanos / iterations / 1_000_000,
+                (double) sequentialCalls / iterations, unionNanos / iterations / 1_000_000, sameFirst);
+        logger.info(summary);
+        return summary;
+    }
+
+    /**
+     * Check the union against the sequential loop on a recorded hierarchy
+     * and time both evaluations locally
+     * @param hierarchyXml recorded page source
+     * @return one-line summary
+     */
+    public static String benchmark(String hierarchyXml, By[] candidates, int iterations) {
+        HierarchySnapshot snapshot = HierarchySnapshot.fromXml(hierarchyXml);
+        By union = union(candidates);
+        if (snapshot == null || union == null) {
+            return "Union benchmark skipped: hierarchy not parseable or candidates not XPath-expressible";
+        }
+
+        long sequentialNanos = 0;
+        long unionNanos = 0;
+        boolean sameFirst = true;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            Node sequentialFirst = firstInPriorityOrder(snapshot, candidates);
+            sequentialNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Node unionFirst = snapshot.firstNode(union);
+            unionNanos += System.nanoTime() - start;
+            sameFirst &= sequentialFirst == unionFirst;
+        }
+
+        String summary = String.format("Union benchmark on recorded hierarchy (%d candidates, %d runs): sequential avg %d us, union avg %d us, same first element=%s",
+                candidates.length, iterations, sequentialNanos / iterations / 1_000,
+                unionNanos / iterations / 1_000, sameFirst);
+        logger.info(summary);
+        return summary;
+    }
+
+    /**
+     * Whether the union finds the same first node as trying the candidates in priority order
+     */
+    static boolean agreesWithPriorityOrder(HierarchySnapshot snapshot, By[] candidates) {
+        By union = union(candidates);
+        return union != null && firstInPriorityOrder(snapshot, candidates) == snapshot.firstNode(union);
+    }
+
+    private static Node firstInPriorityOrder(HierarchySnapshot snapshot, By[] candidates) {
+        for (By candidate : candidates) {
+            Node first = snapshot.firstNode(candidate);
+            if (first != null) return first;
+        }
+        return null;
+    }
+}
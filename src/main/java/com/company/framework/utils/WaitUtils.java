@@ -1,5 +1,7 @@
 package com.company.framework.utils;
 
+import com.aventstack.extentreports.Status;
+import com.company.framework.reporting.ExtentReportWriter;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -11,10 +13,22 @@ import java.time.Duration;
 public class WaitUtils {
     private final AppiumDriver driver;
     private final WebDriverWait wait;
+    private final Duration timeout;
 
+    /**
+     * Bind the waits to an explicit session (preferred - safe under parallel execution)
+     */
+    public WaitUtils(AppiumDriver driver, long timeoutInSeconds) {
+        this.driver = driver;
+        this.timeout = Duration.ofSeconds(timeoutInSeconds);
+        this.wait = DeadlineBudget.newWait(driver, timeout, "WaitUtils");
+    }
+
+    /**
+     * Bind the waits to the calling thread's session from the driver manager
+     */
     public WaitUtils(long timeoutInSeconds) {
-        this.driver = com.company.framework.managers.DependencyManager.getInstance().getDriverManager().getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        this(com.company.framework.managers.DependencyManager.getInstance().getDriverManager().getDriver(), timeoutInSeconds);
     }
 
     // Removed: Use PageActions.waitAndClick() instead
@@ -93,6 +107,7 @@ public class WaitUtils {
 
     /**
      * Generic wait for elements with custom message and fallback selectors
+     * All selectors are checked on every poll against one shared deadline
      * @param selectors Array of By selectors to try
      * @param description Description for logging
      * @param testReporter ExtentTest instance for logging (optional, can be null)
@@ -100,22 +115,17 @@ public class WaitUtils {
      */
     public boolean waitForElementsWithFallback(By[] selectors, String description, 
                                              com.aventstack.extentreports.ExtentTest testReporter) {
-        for (By selector : selectors) {
-            try {
-                boolean found = waitForElementsToBePresent(selector);
-                if (found) {
-                    if (testReporter != null) {
-                        testReporter.info(description + " - Elements found using: " + selector);
-                    }
-                    return true;
-                }
-            } catch (Exception e) {
-                // Continue to next selector
+        MultiLocatorWait.Result result = MultiLocatorWait.waitForAny(driver, selectors, timeout, false);
+        if (result != null) {
+            if (testReporter != null) {
+                ExtentReportWriter.logTo(testReporter, Status.INFO, description + " - Elements found using: "
+                        + result.getLocator() + " in " + result.getElapsed().toMillis() + " ms");
             }
+            return true;
         }
         
         if (testReporter != null) {
-            testReporter.info(description + " - No elements found with any selector");
+            ExtentReportWriter.logTo(testReporter, Status.INFO, description + " - No elements found with any selector");
         }
         return false;
     }
@@ -1,9 +1,18 @@
 package com.company.framework.base;
 
 import com.aventstack.extentreports.ExtentTest;
+import com.company.framework.config.FrameworkConfig;
 import com.company.framework.interfaces.reporting.IReportingManager;
+import com.company.framework.locators.common.LocatorStatistics;
 import com.company.framework.managers.*;
+import com.company.framework.utils.AdaptiveTimeouts;
+import com.company.framework.utils.DeadlineBudget;
+import com.company.framework.utils.ScreenshotPipeline;
+import com.company.framework.utils.ScreenshotStore;
+import com.company.framework.utils.ScreenshotVariants;
+import com.company.framework.utils.MjpegFrameSource;
 import com.company.framework.utils.MobileDeviceUtils;
+import com.company.framework.utils.StatsRegistry;
 import com.company.framework.utils.TestReportingUtils;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
@@ -12,6 +21,7 @@ import org.testng.ITestResult;
 import org.testng.annotations.*;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -39,8 +49,15 @@ public abstract class BaseTestMobile {
         // Appium starts in Github Actions already. So removing this part.
         // MobileDeviceUtils.startAppiumServer();
         // logger.info("📱 Appium server started.");
+        TestReportingUtils.cleanupOldScreenshots(FrameworkConfig.getScreenshotRetentionDays());
         reportingManager = new ExtentReportingManager();
         reportingManager.initializeReport(reportPath);
+
+        if (FrameworkConfig.isSessionPoolEnabled()) {
+            String platform = DependencyManager.getInstance().getConfigurationManager()
+                    .getProperty("platformName", "Android");
+            AppiumSessionPool.start(platform, FrameworkConfig.getSessionPoolSize());
+        }
     }
 
     // ---------- Class Setup ----------
@@ -63,29 +80,32 @@ public abstract class BaseTestMobile {
         String name = method.getName();
         String desc = getTestDescription(method);
         test = reportingManager.createTest(name, desc);
+        DeadlineBudget.startTest(name);
         logger.info("🧩 Starting test: {}", name);
     }
 
     // ---------- Test Teardown ----------
     @AfterMethod(alwaysRun = true)
     public void teardownTest(ITestResult result) {
+        String timeReport = DeadlineBudget.endTest();
         if (test == null) return;
+        if (timeReport != null) {
+            logger.info(timeReport);
+            reportingManager.logInfo(test, timeReport.replace("\n", "<br>"));
+        }
 
         String method = result.getMethod().getMethodName();
         String status = "";
 
         try {
-            String screenshotPath = reportingManager.captureScreenshot(driver, method,
-                    result.getStatus() == ITestResult.SUCCESS ? "PASS" :
-                    result.getStatus() == ITestResult.FAILURE ? "FAILURE" : "SKIP");
-
-            if (screenshotPath != null) {
-                test.addScreenCaptureFromPath(screenshotPath);
-                logger.info("📸 Screenshot attached: {}", screenshotPath);
-            } else if (result.getStatus() == ITestResult.FAILURE) {
-                // fallback base64 screenshot
-                String base64 = TestReportingUtils.captureScreenshotAsBase64(driver);
-                test.addScreenCaptureFromBase64String(base64);
+            ScreenshotPipeline.Capture capture = ScreenshotPipeline.capture(driver, method + "_" +
+                    (result.getStatus() == ITestResult.SUCCESS ? "PASS" :
+                    result.getStatus() == ITestResult.FAILURE ? "FAILURE" : "SKIP"));
+
+            // With the writer queue full the capture is embedded as base64, which is only worth it on failure
+            if (capture.isQueued() || result.getStatus() == ITestResult.FAILURE) {
+                TestReportingUtils.attachScreenshot(test, capture);
+                logger.info("📸 Screenshot attached: {}", capture.isQueued() ? capture.getPath() : "base64");
             }
         } catch (Exception e) {
             logger.warn("⚠️ Screenshot capture failed: {}", e.getMessage());
@@ -111,12 +131,27 @@ public abstract class BaseTestMobile {
     // ---------- Class & Suite Teardown ----------
     @AfterClass(alwaysRun = true)
     public void teardownClass() {
-        DependencyManager.getInstance().getDriverManager().quitDriver();
-        logger.info("📱 Driver closed for class {}", getClass().getSimpleName());
+        // Healthy sessions stay open for the next class when session reuse is enabled
+        DependencyManager.getInstance().getDriverManager().releaseDriver();
+        logger.info("📱 Driver released for class {}", getClass().getSimpleName());
     }
 
     @AfterSuite(alwaysRun = true)
     public void teardownSuite() {
+        var driverManager = DependencyManager.getInstance().getDriverManager();
+        if (driverManager instanceof ThreadLocalDriverManager) {
+            // Close sessions left open by worker threads
+            ((ThreadLocalDriverManager) driverManager).quitAllDrivers();
+        }
+        // Logs pool hit rate and lease wait before closing pooled sessions
+        AppiumSessionPool.shutdown();
+        ScreenshotPipeline.awaitWrites(Duration.ofSeconds(30)); // Report links must resolve before the flush
+        ScreenshotStore.flushIndex();
+        ScreenshotVariants.awaitEncodings(Duration.ofSeconds(30));
+        StatsRegistry.summaries().forEach(logger::info);
+        MjpegFrameSource.stopAll();
+        LocatorStatistics.save();
+        AdaptiveTimeouts.save();
         reportingManager.flush();
         logger.info("📊 Extent report flushed and suite completed.");
         MobileDeviceUtils.stopAppiumServer();
@@ -132,7 +167,8 @@ public abstract class BaseTestMobile {
     }
 
     protected void logTestStep(String message) {
-        if (test != null) test.info(message);
+        DeadlineBudget.startStep(message);
+        reportingManager.logInfo(test, message);
         logger.info(message);
     }
 
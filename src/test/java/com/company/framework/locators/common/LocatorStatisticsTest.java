@@ -0,0 +1,66 @@
+package com.company.framework.locators.common;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class LocatorStatisticsTest {
+
+    private static final By FIRST = By.xpath("//*[@text='first']");
+    private static final By SECOND = By.xpath("//*[@text='second']");
+    private static final By THIRD = By.xpath("//*[@text='third']");
+
+    @Test
+    public void unknownElementKeepsDeclaredOrder() {
+        By[] candidates = {FIRST, SECOND, THIRD};
+        assertEquals(LocatorStatistics.rank("LocatorStatisticsTest.unknown", candidates), candidates);
+    }
+
+    @Test
+    public void singleCandidateIsReturnedAsIs() {
+        By[] candidates = {FIRST};
+        LocatorStatistics.recordMiss("LocatorStatisticsTest.single", FIRST);
+        assertSame(LocatorStatistics.rank("LocatorStatisticsTest.single", candidates), candidates);
+    }
+
+    @Test
+    public void winnersFirstThenUntriedThenMisses() {
+        String key = "LocatorStatisticsTest.tiers";
+        LocatorStatistics.recordMiss(key, FIRST);
+        LocatorStatistics.recordHit(key, THIRD, 40);
+
+        By[] ranked = LocatorStatistics.rank(key, new By[] {FIRST, SECOND, THIRD});
+
+        assertEquals(ranked, new By[] {THIRD, SECOND, FIRST});
+    }
+
+    @Test
+    public void moreHitsWinThenLowerLatency() {
+        String key = "LocatorStatisticsTest.hits";
+        LocatorStatistics.recordHit(key, FIRST, 10);
+        LocatorStatistics.recordHit(key, SECOND, 300);
+        LocatorStatistics.recordHit(key, SECOND, 300);
+        LocatorStatistics.recordHit(key, THIRD, 5);
+
+        assertEquals(LocatorStatistics.rank(key, new By[] {FIRST, SECOND, THIRD}), new By[] {SECOND, THIRD, FIRST});
+    }
+
+    @Test
+    public void candidatesThatNeverMatchAreReportedDead() {
+        String key = "LocatorStatisticsTest.dead";
+        for (int i = 0; i < 3; i++) {
+            LocatorStatistics.recordMiss(key, FIRST);
+        }
+        LocatorStatistics.recordMiss(key, SECOND);
+        LocatorStatistics.recordMiss(key, THIRD);
+        LocatorStatistics.recordHit(key, THIRD, 20);
+
+        String deadFirst = key + " -> " + FIRST + " (3 misses)";
+        assertTrue(LocatorStatistics.getDeadLocators().contains(deadFirst));
+        assertTrue(LocatorStatistics.getDeadLocators().stream().noneMatch(line -> line.startsWith(key + " -> " + SECOND)));
+        assertTrue(LocatorStatistics.getDeadLocators().stream().noneMatch(line -> line.startsWith(key + " -> " + THIRD)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.framework.managers;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class AppiumSessionPoolTest {
+
+    private static StubAppiumDriver healthySession() {
+        StubAppiumDriver session = new StubAppiumDriver();
+        session.on("getSettings", params -> Map.of());
+        return session;
+    }
+
+    @Test
+    public void releasedSessionIsResetBeforeItIsOfferedAgain() {
+        AtomicInteger resets = new AtomicInteger();
+        AppiumSessionPool pool = new AppiumSessionPool("Android", (driver, policy) -> resets.incrementAndGet());
+        pool.add(new AppiumSessionPool.PooledSession(healthySession(), "emulator-5554"));
+
+        AppiumSessionPool.PooledSession leased = pool.lease(Duration.ZERO);
+        assertEquals(pool.getIdleCount(), 0);
+        pool.release(leased);
+
+        assertEquals(resets.get(), 1);
+        assertEquals(pool.getIdleCount(), 1);
+        assertSame(pool.lease(Duration.ZERO), leased);
+    }
+
+    @Test
+    public void sessionWhoseResetFailsIsNotOfferedAgain() {
+        AppiumSessionPool pool = new AppiumSessionPool("Android", (driver, policy) -> {
+            throw new TimeoutException("App not in foreground");
+        });
+        pool.add(new AppiumSessionPool.PooledSession(healthySession(), "emulator-5554"));
+
+        pool.release(pool.lease(Duration.ZERO));
+
+        assertEquals(pool.getIdleCount(), 0);
+        assertEquals(pool.getSize(), 0);
+        assertEquals(pool.getReplacementCount(), 1);
+        assertNull(pool.lease(Duration.ZERO));
+    }
+
+    @Test
+    public void discardedSessionIsNeverOfferedAgain() {
+        AtomicInteger resets = new AtomicInteger();
+        AppiumSessionPool pool = new AppiumSessionPool("Android", (driver, policy) -> resets.incrementAndGet());
+        pool.add(new AppiumSessionPool.PooledSession(healthySession(), "emulator-5554"));
+
+        AppiumSessionPool.PooledSession leased = pool.lease(Duration.ZERO);
+        pool.discard(leased);
+        pool.release(leased);
+
+        assertEquals(resets.get(), 0);
+        assertEquals(pool.getIdleCount(), 0);
+        assertEquals(pool.getReplacementCount(), 1);
+    }
+}
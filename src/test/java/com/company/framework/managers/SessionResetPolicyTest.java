@@ -0,0 +1,24 @@
+package com.company.framework.managers;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class SessionResetPolicyTest {
+
+    @Test
+    public void parsesNamesInAnySpelling() {
+        assertEquals(SessionResetPolicy.fromString("relaunch", SessionResetPolicy.NONE), SessionResetPolicy.RELAUNCH);
+        assertEquals(SessionResetPolicy.fromString(" Home ", SessionResetPolicy.NONE), SessionResetPolicy.HOME);
+        assertEquals(SessionResetPolicy.fromString("clear data", SessionResetPolicy.NONE), SessionResetPolicy.CLEAR_DATA);
+        assertEquals(SessionResetPolicy.fromString("clear-data", SessionResetPolicy.NONE), SessionResetPolicy.CLEAR_DATA);
+        assertEquals(SessionResetPolicy.fromString("CLEAR_DATA", SessionResetPolicy.NONE), SessionResetPolicy.CLEAR_DATA);
+    }
+
+    @Test
+    public void fallsBackForBlankOrUnknownValues() {
+        assertEquals(SessionResetPolicy.fromString(null, SessionResetPolicy.RELAUNCH), SessionResetPolicy.RELAUNCH);
+        assertEquals(SessionResetPolicy.fromString("  ", SessionResetPolicy.RELAUNCH), SessionResetPolicy.RELAUNCH);
+        assertEquals(SessionResetPolicy.fromString("factory-reset", SessionResetPolicy.HOME), SessionResetPolicy.HOME);
+    }
+}
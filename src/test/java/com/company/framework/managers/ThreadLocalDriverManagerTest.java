@@ -0,0 +1,85 @@
+package com.company.framework.managers;
+
+import com.company.framework.support.StubAppiumDriver;
+import com.company.framework.utils.MobileDeviceUtils;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ThreadLocalDriverManagerTest {
+
+    @Test
+    public void resetSessionIsReused() {
+        List<SessionResetPolicy> applied = new ArrayList<>();
+        ThreadLocalDriverManager manager = new ThreadLocalDriverManager(
+                new ConfigurationManager(), (session, policy) -> applied.add(policy));
+        StubAppiumDriver session = new StubAppiumDriver();
+        manager.bind(session, "emulator-5554");
+
+        manager.reuseSession();
+
+        assertEquals(applied.size(), 1);
+        assertTrue(manager.isDriverInitialized());
+        assertSame(manager.getDriver(), session);
+        assertEquals(manager.getReusedSessionCount(), 1);
+        assertEquals(session.count(DriverCommand.QUIT), 0);
+        manager.quitDriver();
+    }
+
+    @Test
+    public void sessionThatCannotBeResetIsDiscarded() {
+        ThreadLocalDriverManager manager = new ThreadLocalDriverManager(new ConfigurationManager(), (session, policy) -> {
+            throw new TimeoutException("App not in foreground");
+        });
+        StubAppiumDriver session = new StubAppiumDriver();
+        manager.bind(session, "emulator-5554");
+
+        manager.reuseSession();
+
+        assertFalse(manager.isDriverInitialized(), "a session whose reset failed must not stay bound");
+        assertEquals(manager.getReusedSessionCount(), 0);
+        assertEquals(manager.getDiscardedSessionCount(), 1);
+        assertEquals(manager.getActiveSessionCount(), 0);
+        assertEquals(session.count(DriverCommand.QUIT), 1);
+    }
+
+    @Test
+    public void discardSurvivesAQuitThatFails() {
+        ThreadLocalDriverManager manager = new ThreadLocalDriverManager(new ConfigurationManager(), (session, policy) -> {
+            throw new TimeoutException("App not in foreground");
+        });
+        StubAppiumDriver session = new StubAppiumDriver();
+        session.on(DriverCommand.QUIT, params -> {
+            throw new IllegalStateException("session already gone");
+        });
+        manager.bind(session, "emulator-5554");
+
+        manager.reuseSession();
+
+        assertFalse(manager.isDriverInitialized());
+        assertEquals(manager.getDiscardedSessionCount(), 1);
+    }
+
+    @Test
+    public void deviceNameComesFromTheAllocationNotTheServer() {
+        ThreadLocalDriverManager manager = (ThreadLocalDriverManager) DependencyManager.getInstance().getDriverManager();
+        StubAppiumDriver session = new StubAppiumDriver();
+        manager.bind(session, "pixel_7");
+        try {
+            assertEquals(manager.getDevice(session), "pixel_7");
+            assertEquals(MobileDeviceUtils.getDeviceName(session), "pixel_7");
+        } finally {
+            manager.quitDriver();
+        }
+        assertNull(manager.getDevice(session));
+    }
+}
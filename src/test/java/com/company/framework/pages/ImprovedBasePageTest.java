@@ -0,0 +1,47 @@
+package com.company.framework.pages;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class ImprovedBasePageTest {
+
+    @AppiumSettingsProfile(waitForIdleTimeout = 100)
+    static class ProfiledPage extends ImprovedBasePage {
+        ProfiledPage(StubAppiumDriver driver) { super(driver); }
+        @Override public boolean isPageLoaded() { return true; }
+    }
+
+    static class PlainPage extends ImprovedBasePage {
+        PlainPage(StubAppiumDriver driver) { super(driver); }
+        @Override public boolean isPageLoaded() { return true; }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void profileFollowsTheActivePage() {
+        List<Map<String, Object>> sent = new ArrayList<>();
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on("getSettings", params -> new HashMap<>(Map.of("waitForIdleTimeout", 10000)));
+        driver.on("setSettings", params -> {
+            sent.add((Map<String, Object>) params.get("settings"));
+            return null;
+        });
+
+        ProfiledPage home = new ProfiledPage(driver);
+        new PlainPage(driver);
+        home.activate();
+        home.activate();
+
+        assertEquals(sent, List.of(
+                Map.of("waitForIdleTimeout", 100L),
+                Map.of("waitForIdleTimeout", 10000L),
+                Map.of("waitForIdleTimeout", 100L)), "each switch sends one delta, re-activating the active page none");
+    }
+}
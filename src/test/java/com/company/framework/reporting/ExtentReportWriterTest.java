@@ -0,0 +1,48 @@
+package com.company.framework.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class ExtentReportWriterTest {
+
+    @Test
+    public void closedWriterStaysTheRouteForItsTests() {
+        ExtentReports extent = new ExtentReports();
+        ExtentReportWriter writer = new ExtentReportWriter(extent);
+        writer.close();
+
+        assertSame(ExtentReportWriter.forReport(extent), writer);
+    }
+
+    @Test
+    public void eventsQueuedBeforeCloseAreApplied() {
+        ExtentReportWriter writer = new ExtentReportWriter(new ExtentReports());
+        ExtentTest test = writer.createTest("queued", "");
+        for (int i = 0; i < 100; i++) {
+            ExtentReportWriter.logTo(test, Status.INFO, "step " + i);
+        }
+        writer.close();
+
+        assertEquals(test.getModel().getLogs().size(), 100);
+    }
+
+    @Test
+    public void eventsAfterCloseAreAppliedOnTheCaller() {
+        ExtentReportWriter writer = new ExtentReportWriter(new ExtentReports());
+        ExtentTest test = writer.createTest("finishing late", "");
+        writer.close();
+
+        ExtentReportWriter.logTo(test, Status.PASS, "passed after the next report was initialized");
+        ExtentReportWriter.attachBase64To(test, "data:image/jpeg;base64,/9j/");
+        ExtentTest created = writer.createTest("created late", "");
+
+        assertEquals(test.getModel().getLogs().size(), 1);
+        assertEquals(test.getModel().getMedia().size(), 1);
+        assertEquals(created.getModel().getName(), "created late");
+    }
+}
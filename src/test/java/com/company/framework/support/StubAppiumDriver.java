@@ -0,0 +1,149 @@
+package com.company.framework.support;
+
+import com.company.framework.utils.HierarchySnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.Response;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * StubAppiumDriver - AppiumDriver answered in-process, for unit tests without a device
+ *
+ * Commands are answered by handlers registered per command name; scripts
+ * (executeScript) are looked up by their script text, e.g. "mobile: activateApp".
+ * Unhandled commands return null. A handler may throw to simulate a server error.
+ * Every command is recorded so tests can assert what was sent.
+ */
+public class StubAppiumDriver extends AppiumDriver {
+
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    private final StubExecutor stub;
+
+    public StubAppiumDriver() {
+        this(new StubExecutor());
+    }
+
+    private StubAppiumDriver(StubExecutor stub) {
+        super(stub, stubCapabilities());
+        this.stub = stub;
+    }
+
+    private static MutableCapabilities stubCapabilities() {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        return capabilities;
+    }
+
+    /**
+     * Answer a command (DriverCommand name) or a script
+     */
+    public StubAppiumDriver on(String commandOrScript, Function<Map<String, ?>, Object> handler) {
+        stub.handlers.put(commandOrScript, handler);
+        return this;
+    }
+
+    /**
+     * Answer findElements / findElement by evaluating the locator over a recorded
+     * hierarchy (see HierarchySnapshot); every matching node becomes one element
+     */
+    public StubAppiumDriver serveHierarchy(String hierarchyXml) {
+        HierarchySnapshot snapshot = HierarchySnapshot.fromXml(hierarchyXml);
+        on(DriverCommand.FIND_ELEMENTS, params -> elements(snapshot.count(locatorOf(params))));
+        on(DriverCommand.FIND_ELEMENT, params -> {
+            List<Map<String, String>> found = elements(snapshot.count(locatorOf(params)));
+            if (found.isEmpty()) {
+                throw new NoSuchElementException("No element for " + params);
+            }
+            return found.get(0);
+        });
+        return this;
+    }
+
+    private static By locatorOf(Map<String, ?> params) {
+        String value = String.valueOf(params.get("value"));
+        switch (String.valueOf(params.get("using"))) {
+            case "xpath": return By.xpath(value);
+            case "id": return By.id(value);
+            case "class name": return AppiumBy.className(value);
+            case "accessibility id": return AppiumBy.accessibilityId(value);
+            default: throw new IllegalArgumentException("Unsupported locator strategy: " + params.get("using"));
+        }
+    }
+
+    private static List<Map<String, String>> elements(int count) {
+        List<Map<String, String>> elements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elements.add(Map.of(W3C_ELEMENT_KEY, "element-" + i));
+        }
+        return elements;
+    }
+
+    /**
+     * Commands and scripts sent so far, in order
+     */
+    public List<String> getSent() {
+        synchronized (stub.sent) {
+            return new ArrayList<>(stub.sent);
+        }
+    }
+
+    public int count(String commandOrScript) {
+        return Collections.frequency(getSent(), commandOrScript);
+    }
+
+    private static final class StubExecutor extends HttpCommandExecutor {
+        private final Map<String, Function<Map<String, ?>, Object>> handlers = new ConcurrentHashMap<>();
+        private final List<String> sent = new ArrayList<>();
+
+        StubExecutor() {
+            super(localhost());
+        }
+
+        private static URL localhost() {
+            try {
+                return new URL("http://127.0.0.1:4723");
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Response execute(Command command) {
+            Response response = new Response();
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                response.setSessionId(UUID.randomUUID().toString());
+                response.setValue(Map.of("platformName", "Android", "automationName", "UiAutomator2"));
+                return response;
+            }
+            response.setSessionId(command.getSessionId() != null ? command.getSessionId().toString() : null);
+
+            String name = command.getName();
+            if (DriverCommand.EXECUTE_SCRIPT.equals(name)) {
+                name = String.valueOf(command.getParameters().get("script"));
+            }
+            synchronized (sent) {
+                sent.add(name);
+            }
+            Function<Map<String, ?>, Object> handler = handlers.get(name);
+            response.setValue(handler != null ? handler.apply(command.getParameters()) : null);
+            return response;
+        }
+    }
+}
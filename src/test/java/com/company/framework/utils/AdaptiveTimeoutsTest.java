@@ -0,0 +1,79 @@
+package com.company.framework.utils;
+
+import com.company.framework.utils.AdaptiveTimeouts.WaitStats;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class AdaptiveTimeoutsTest {
+
+    private static final Duration REQUESTED = Duration.ofSeconds(10);
+
+    private static WaitStats samples(long... millis) {
+        WaitStats s = new WaitStats();
+        for (long m : millis) {
+            s.add(m);
+        }
+        return s;
+    }
+
+    @Test
+    public void percentileIsNearestRank() {
+        WaitStats s = new WaitStats();
+        for (long m = 1; m <= 100; m++) {
+            s.add(m * 10);
+        }
+        assertEquals(s.percentile(0.5), 500);
+        assertEquals(s.percentile(0.99), 990);
+        assertEquals(s.percentile(1.0), 1000);
+        assertEquals(samples(42).percentile(0.99), 42);
+    }
+
+    @Test
+    public void tuneUsesP99PlusMarginWithinBounds() {
+        WaitStats s = new WaitStats();
+        for (int i = 0; i < 100; i++) {
+            s.add(1000 + i);
+        }
+        assertEquals(AdaptiveTimeouts.tuned(s, REQUESTED, 0.5, 20), Duration.ofMillis(1647));
+        assertEquals(AdaptiveTimeouts.tuned(s, REQUESTED, 0.5, 101), REQUESTED, "not enough samples yet");
+        assertEquals(AdaptiveTimeouts.tuned(s, Duration.ofSeconds(1), 0.5, 20), Duration.ofSeconds(1), "never above the request");
+        assertEquals(AdaptiveTimeouts.tuned(samples(10, 10, 10), REQUESTED, 0.5, 1), Duration.ofMillis(500), "floor");
+        assertEquals(AdaptiveTimeouts.tuned(null, REQUESTED, 0.5, 1), REQUESTED);
+    }
+
+    @Test
+    public void timeoutsUnderATunedValueBackOff() {
+        WaitStats s = new WaitStats();
+        for (int i = 0; i < 99; i++) {
+            s.add(400);
+        }
+        Duration tuned = AdaptiveTimeouts.tuned(s, REQUESTED, 0.5, 20);
+        assertEquals(tuned, Duration.ofMillis(600));
+
+        // The screen got slower: each wait now times out at the tuned value.
+        // Every second timeout lifts p99 to the last censored value, so the timeout grows by the margin
+        int timeouts = 0;
+        while (tuned.compareTo(REQUESTED) < 0 && timeouts < 50) {
+            s.addTimeout(tuned.toMillis());
+            timeouts++;
+            Duration next = AdaptiveTimeouts.tuned(s, REQUESTED, 0.5, 20);
+            assertTrue(next.compareTo(tuned) >= 0, next + " after timing out at " + tuned);
+            tuned = next;
+        }
+        assertEquals(tuned, REQUESTED);
+        assertEquals(timeouts, 14, "600 ms x 1.5^7 > 10 s");
+        assertEquals(s.timeouts, 14);
+    }
+
+    @Test
+    public void callSiteIsTheFirstCallerOutsideTheWaitHelpers() {
+        assertEquals(AdaptiveTimeouts.callSite(), "AdaptiveTimeoutsTest.callSiteIsTheFirstCallerOutsideTheWaitHelpers");
+        Supplier<String> fromLambda = AdaptiveTimeouts::callSite;
+        assertEquals(fromLambda.get(), "AdaptiveTimeoutsTest.callSiteIsTheFirstCallerOutsideTheWaitHelpers");
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.framework.utils;
+
+import com.company.framework.interfaces.driver.IDriverManager;
+import com.company.framework.support.StubAppiumDriver;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class BackoffWaitStrategyTest {
+
+    private static IDriverManager managerOf(AppiumDriver driver) {
+        return new IDriverManager() {
+            @Override public void initializeDriver() { }
+            @Override public AppiumDriver getDriver() { return driver; }
+            @Override public void quitDriver() { }
+            @Override public boolean isDriverInitialized() { return true; }
+            @Override public AppiumDriver initializeAndGetDriver() { return driver; }
+        };
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void closeBudget() {
+        DeadlineBudget.endTest();
+    }
+
+    @Test
+    public void timeoutWithinTheBudgetIsTheWaitsOwn() {
+        BackoffWaitStrategy waits = new BackoffWaitStrategy(managerOf(new StubAppiumDriver()), 1);
+        TimeoutException e = expectThrows(TimeoutException.class, () -> waits.until("never", d -> false));
+        assertTrue(e.getMessage().startsWith("Expected condition failed"), e.getMessage());
+    }
+
+    @Test
+    public void timeoutThatSpentTheBudgetReportsIt() {
+        DeadlineBudget.startTest("budgeted", Duration.ofMinutes(10), Duration.ofMillis(200));
+        BackoffWaitStrategy waits = new BackoffWaitStrategy(managerOf(new StubAppiumDriver()), 30);
+
+        TimeoutException e = expectThrows(TimeoutException.class, () -> waits.until("never", d -> false));
+
+        assertTrue(e.getMessage().startsWith("Time budget exhausted in step 'setup' by BackoffWaitStrategy.never"),
+                e.getMessage());
+        assertEquals(e.getCause().getClass(), TimeoutException.class, "the wait's own timeout is kept as the cause");
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.framework.utils;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ContextManagerTest {
+
+    @Test
+    public void switchMadeOutsideTheManagerIsSeen() {
+        AtomicReference<String> context = new AtomicReference<>(ContextManager.NATIVE_CONTEXT);
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.GET_CURRENT_CONTEXT_HANDLE, params -> context.get());
+        ContextManager manager = ContextManager.forDriver(driver);
+        assertFalse(manager.isWebView());
+
+        // e.g. driver.context(...) called directly by a test step
+        context.set("WEBVIEW_com.netbiscuits.bild.android");
+
+        assertTrue(manager.isWebView());
+    }
+
+    @Test
+    public void nativeReadinessIsAStableHierarchy() {
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.GET_CURRENT_CONTEXT_HANDLE, params -> ContextManager.NATIVE_CONTEXT);
+        driver.on(DriverCommand.GET_PAGE_SOURCE, params ->
+                "<hierarchy><android.widget.TextView text=\"Startseite\" bounds=\"[0,0][100,50]\"/></hierarchy>");
+
+        assertTrue(ContextManager.forDriver(driver).waitForReady(Duration.ofSeconds(2)));
+        assertTrue(driver.count(DriverCommand.GET_PAGE_SOURCE) >= 2);
+        assertEquals(driver.count("return document.readyState"), 0, "no JavaScript in the native context");
+        assertEquals(driver.count("mobile: queryAppState"), 0);
+    }
+}
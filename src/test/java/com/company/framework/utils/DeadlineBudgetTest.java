@@ -0,0 +1,76 @@
+package com.company.framework.utils;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class DeadlineBudgetTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void closeBudget() {
+        DeadlineBudget.endTest();
+    }
+
+    @Test
+    public void outsideATestEveryRequestIsGrantedUnchanged() {
+        assertNull(DeadlineBudget.remaining());
+        assertEquals(DeadlineBudget.grant("wait", Duration.ofHours(1)), Duration.ofHours(1));
+        DeadlineBudget.checkpoint("loop");
+        assertFalse(DeadlineBudget.isExhausted());
+    }
+
+    @Test
+    public void grantIsCappedByTheStepBudget() {
+        DeadlineBudget.startTest("capped", Duration.ofMinutes(10), Duration.ofSeconds(30));
+        assertEquals(DeadlineBudget.grant("short wait", Duration.ofSeconds(5)), Duration.ofSeconds(5));
+        Duration granted = DeadlineBudget.grant("long wait", Duration.ofHours(1));
+        assertTrue(granted.compareTo(Duration.ofSeconds(30)) <= 0 && granted.compareTo(Duration.ofSeconds(29)) > 0,
+                "granted " + granted);
+    }
+
+    @Test
+    public void stepsNeverOutliveTheTest() {
+        DeadlineBudget.startTest("short test", Duration.ofSeconds(1), Duration.ofSeconds(30));
+        assertTrue(DeadlineBudget.grant("wait", Duration.ofSeconds(10)).compareTo(Duration.ofSeconds(1)) <= 0);
+        DeadlineBudget.startStep("second step");
+        assertTrue(DeadlineBudget.grant("wait", Duration.ofSeconds(10)).compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    public void spentStepFailsFastWithATimeReport() throws InterruptedException {
+        DeadlineBudget.startTest("spent", Duration.ofMinutes(10), Duration.ofMillis(50));
+        TimeUnit.MILLISECONDS.sleep(80);
+
+        assertTrue(DeadlineBudget.isExhausted());
+        TimeoutException e = expectThrows(TimeoutException.class, () -> DeadlineBudget.checkpoint("ScrollEngine.scrollUntil"));
+        assertTrue(e.getMessage().startsWith("Time budget exhausted in step 'setup' by ScrollEngine.scrollUntil"), e.getMessage());
+        assertTrue(e.getMessage().contains("Time report for spent"), e.getMessage());
+
+        DeadlineBudget.startStep("next step");
+        assertEquals(DeadlineBudget.grant("wait", Duration.ofMillis(10)), Duration.ofMillis(10), "a new step gets a new budget");
+    }
+
+    @Test
+    public void waitIsCutToTheRemainingBudgetAndCharged() {
+        DeadlineBudget.startTest("waiting", Duration.ofMinutes(10), Duration.ofMillis(300));
+        StubAppiumDriver driver = new StubAppiumDriver();
+        long start = System.nanoTime();
+
+        TimeoutException e = expectThrows(TimeoutException.class,
+                () -> DeadlineBudget.newWait(driver, Duration.ofSeconds(10), "DeadlineBudgetTest.wait").until(d -> false));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "the 10 s wait ran into the 300 ms budget");
+        assertTrue(e.getMessage().startsWith("Time budget exhausted"), e.getMessage());
+        assertTrue(DeadlineBudget.endTest().contains("DeadlineBudgetTest.wait="));
+    }
+}
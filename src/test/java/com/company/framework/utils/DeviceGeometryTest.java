@@ -0,0 +1,55 @@
+package com.company.framework.utils;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+
+public class DeviceGeometryTest {
+
+    private final AtomicReference<String> orientation = new AtomicReference<>();
+    private final AtomicReference<Dimension> window = new AtomicReference<>();
+
+    private StubAppiumDriver portraitDevice() {
+        orientation.set("PORTRAIT");
+        window.set(new Dimension(1080, 1920));
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.GET_SCREEN_ORIENTATION, params -> orientation.get());
+        driver.on(DriverCommand.GET_CURRENT_WINDOW_SIZE, params ->
+                Map.of("width", window.get().width, "height", window.get().height));
+        return driver;
+    }
+
+    @Test
+    public void externalRotationReloadsTheGeometry() {
+        StubAppiumDriver driver = portraitDevice();
+        DeviceGeometry geometry = new DeviceGeometry(driver, Duration.ZERO);
+        assertEquals(geometry.getWindowSize(), new Dimension(1080, 1920));
+        assertEquals(geometry.getWindowSize(), new Dimension(1080, 1920));
+        assertEquals(driver.count(DriverCommand.GET_CURRENT_WINDOW_SIZE), 1, "unchanged orientation keeps the cache");
+
+        orientation.set("LANDSCAPE");
+        window.set(new Dimension(1920, 1080));
+
+        assertEquals(geometry.getWindowSize(), new Dimension(1920, 1080));
+        assertEquals(geometry.getOrientation(), "LANDSCAPE");
+        assertEquals(driver.count(DriverCommand.GET_CURRENT_WINDOW_SIZE), 2);
+    }
+
+    @Test
+    public void orientationIsCheckedAtMostOncePerInterval() {
+        StubAppiumDriver driver = portraitDevice();
+        DeviceGeometry geometry = new DeviceGeometry(driver, Duration.ofHours(1));
+        for (int i = 0; i < 5; i++) {
+            geometry.getWindowSize();
+        }
+        assertEquals(driver.count(DriverCommand.GET_SCREEN_ORIENTATION), 1, "only the initial load asks");
+        assertEquals(driver.count(DriverCommand.GET_CURRENT_WINDOW_SIZE), 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.framework.utils;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class HierarchySnapshotTest {
+
+    private HierarchySnapshot snapshot;
+
+    static String recordedHierarchy() throws IOException {
+        try (InputStream in = HierarchySnapshotTest.class.getResourceAsStream("/hierarchy/bild-home-search.xml")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @BeforeClass
+    public void loadRecordedHierarchy() throws IOException {
+        snapshot = HierarchySnapshot.fromXml(recordedHierarchy());
+        assertNotNull(snapshot);
+    }
+
+    @Test
+    public void translatesLocatorsToXPath() {
+        assertEquals(HierarchySnapshot.toXPath(By.xpath("//android.widget.Button")), "//android.widget.Button");
+        assertEquals(HierarchySnapshot.toXPath(By.id("com.netbiscuits.bild.android:id/search")),
+                "//*[@resource-id='com.netbiscuits.bild.android:id/search']");
+        assertEquals(HierarchySnapshot.toXPath(AppiumBy.className("android.widget.EditText")),
+                "//*[@class='android.widget.EditText']");
+        assertEquals(HierarchySnapshot.toXPath(AppiumBy.accessibilityId("Search")), "//*[@content-desc='Search']");
+        assertEquals(HierarchySnapshot.toXPath(By.xpath("//*[@text=\"it's\"]")), "//*[@text=\"it's\"]");
+    }
+
+    @Test
+    public void uiAutomatorSelectorsAreNotSupported() {
+        By selector = AppiumBy.androidUIAutomator("new UiSelector().text(\"Mehr\")");
+        assertNull(HierarchySnapshot.toXPath(selector));
+        assertFalse(HierarchySnapshot.isSupported(selector));
+        assertFalse(HierarchySnapshot.allSupported(new By[] {By.id("search"), selector}));
+    }
+
+    @Test
+    public void bareIdMatchesWithTheAppPackagePrefixed() {
+        assertEquals(snapshot.count(By.id("search_input")), 1);
+        assertEquals(snapshot.count(By.id("com.netbiscuits.bild.android:id/search_input")), 1);
+        assertEquals(snapshot.count(By.id("input")), 0, "a bare id must match the whole id, not any suffix");
+        assertEquals(snapshot.count(By.id("article_title")), 2);
+    }
+
+    @Test
+    public void literalsWithBothQuoteKindsAreEscaped() {
+        String xpath = HierarchySnapshot.toXPath(AppiumBy.accessibilityId("it's \"quoted\""));
+        assertEquals(xpath, "//*[@content-desc=concat('it', \"'\", 's \"quoted\"')]");
+        assertEquals(snapshot.count(AppiumBy.accessibilityId("it's \"quoted\"")), 0);
+    }
+
+    @Test
+    public void findFirstHonoursLocatorOrderAndFilter() {
+        By[] locators = {
+                By.xpath("//android.widget.TextView[contains(@text, 'Nicht da')]"),
+                By.id("search_button"),
+                AppiumBy.accessibilityId("Search")
+        };
+        HierarchySnapshot.Match match = snapshot.findFirst(locators);
+        assertNotNull(match);
+        assertEquals(match.getLocator(), locators[1]);
+        assertEquals(match.getAttribute("class"), "android.widget.Button");
+
+        HierarchySnapshot.Match filtered = snapshot.findFirst(locators,
+                attributes -> "android.widget.ImageView".equals(attributes.get("class")));
+        assertEquals(filtered.getLocator(), locators[2]);
+        assertTrue(snapshot.anyMatch(locators));
+    }
+
+    @Test
+    public void parsesAndroidBounds() {
+        Rectangle rect = HierarchySnapshot.parseBounds(Map.of("bounds", "[42,231][1038,357]"));
+        assertEquals(rect.getX(), 42);
+        assertEquals(rect.getY(), 231);
+        assertEquals(rect.getWidth(), 996);
+        assertEquals(rect.getHeight(), 126);
+    }
+
+    @Test
+    public void parsesIosBounds() {
+        Rectangle rect = HierarchySnapshot.parseBounds(Map.of("x", "10", "y", "20", "width", "300", "height", "44"));
+        assertEquals(rect.getX(), 10);
+        assertEquals(rect.getY(), 20);
+        assertEquals(rect.getWidth(), 300);
+        assertEquals(rect.getHeight(), 44);
+    }
+
+    @Test
+    public void rejectsMalformedBounds() {
+        assertNull(HierarchySnapshot.parseBounds(Map.of("bounds", "[42,231][1038]")));
+        assertNull(HierarchySnapshot.parseBounds(Map.of("x", "ten", "y", "20", "width", "300", "height", "44")));
+        assertNull(HierarchySnapshot.parseBounds(Map.of("text", "no bounds")));
+    }
+
+    @Test
+    public void boundsOfListsEveryMatchInDocumentOrder() {
+        assertEquals(snapshot.boundsOf(By.id("article_title")).size(), 2);
+        assertEquals(snapshot.boundsOf(By.id("article_title")).get(1).getY(), 546);
+    }
+}
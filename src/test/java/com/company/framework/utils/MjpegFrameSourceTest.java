@@ -0,0 +1,84 @@
+package com.company.framework.utils;
+
+import org.openqa.selenium.remote.SessionId;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class MjpegFrameSourceTest {
+
+    private static final byte[] FIRST = {(byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, 3, (byte) 0xFF, (byte) 0xD9};
+    private static final byte[] SECOND = {(byte) 0xFF, (byte) 0xD8, 4, (byte) 0xFF, (byte) 0xD9};
+
+    private static InputStream multipart(byte[]... frames) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            stream.write(("--BoundaryString\r\nContent-type: image/jpeg\r\nContent-Length: " + frame.length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            stream.write(frame);
+            stream.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        return new ByteArrayInputStream(stream.toByteArray());
+    }
+
+    private static MjpegFrameSource source() throws IOException {
+        return new MjpegFrameSource(new SessionId("session"), new URL("http://127.0.0.1:8200/"));
+    }
+
+    @Test
+    public void framesAreCutFromStartToEndMarkerAcrossPartHeaders() throws IOException {
+        InputStream in = multipart(FIRST, SECOND);
+
+        assertEquals(MjpegFrameSource.nextJpeg(in), FIRST, "an 0xFF inside the frame does not end it");
+        assertEquals(MjpegFrameSource.nextJpeg(in), SECOND);
+        assertNull(MjpegFrameSource.nextJpeg(in));
+    }
+
+    @Test
+    public void truncatedFrameIsNotReturned() throws IOException {
+        byte[] truncated = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3};
+
+        assertNull(MjpegFrameSource.nextJpeg(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    public void frameReceivedBeforeTheRequestIsNotServed() throws IOException {
+        MjpegFrameSource source = source();
+        source.publish(FIRST);
+
+        assertNull(source.frameAfter(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    @Test
+    public void requestWaitsForTheNextFrame() throws Exception {
+        MjpegFrameSource source = source();
+        source.publish(FIRST);
+        long requestedAt = System.nanoTime();
+        Thread reader = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            source.publish(SECOND);
+        });
+        reader.start();
+
+        MjpegFrameSource.Frame frame = source.frameAfter(requestedAt, TimeUnit.SECONDS.toNanos(5));
+        reader.join();
+
+        assertNotNull(frame);
+        assertSame(frame.getJpeg(), SECOND);
+    }
+}
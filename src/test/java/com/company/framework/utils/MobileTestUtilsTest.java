@@ -0,0 +1,35 @@
+package com.company.framework.utils;
+
+import com.company.framework.config.FrameworkConfig;
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MobileTestUtilsTest {
+
+    private static String hierarchy(String text) {
+        return "<hierarchy><android.widget.TextView text=\"" + text + "\" bounds=\"[0,0][100,50]\"/></hierarchy>";
+    }
+
+    @Test
+    public void nativePageLoadWaitsUntilTheHierarchyStopsChanging() {
+        Deque<String> pageSources = new ArrayDeque<>(List.of(
+                hierarchy("Laden..."), hierarchy("Startseite"), hierarchy("Startseite mit Teasern")));
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.GET_CURRENT_CONTEXT_HANDLE, params -> ContextManager.NATIVE_CONTEXT);
+        driver.on(DriverCommand.GET_PAGE_SOURCE, params ->
+                pageSources.size() > 1 ? pageSources.poll() : pageSources.peek());
+
+        assertTrue(MobileTestUtils.waitForPageToLoad(driver, 5), "the page settled within the timeout");
+
+        assertEquals(pageSources.size(), 1, "every intermediate hierarchy was sampled");
+        assertTrue(driver.count(DriverCommand.GET_PAGE_SOURCE) >= 3 + FrameworkConfig.getUiStabilityRequiredMatches());
+    }
+}
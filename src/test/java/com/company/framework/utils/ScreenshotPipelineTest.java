@@ -0,0 +1,58 @@
+package com.company.framework.utils;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ScreenshotPipelineTest {
+
+    private static byte[] image(String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void jpegCaptureToPngPathIsWrittenAsJpg() throws IOException {
+        byte[] jpeg = image("jpg");
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.SCREENSHOT, params -> Base64.getEncoder().encodeToString(jpeg));
+        Path directory = Files.createTempDirectory("screenshots");
+
+        String written = TestReportingUtils.captureScreenshotToPath(driver, directory.resolve("failure.png").toString());
+        ScreenshotPipeline.awaitWrites(Duration.ofSeconds(10));
+
+        assertEquals(written, directory.resolve("failure.jpg").toString());
+        assertTrue(Arrays.equals(Files.readAllBytes(Paths.get(written)), jpeg));
+        assertFalse(Files.exists(directory.resolve("failure.png")));
+        Files.delete(Paths.get(written));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void extensionFollowsTheImageFormat() throws IOException {
+        byte[] png = image("png");
+        byte[] jpeg = image("jpg");
+
+        assertEquals(ScreenshotPipeline.withImageExtension(Paths.get("a/shot.png"), png), Paths.get("a/shot.png"));
+        assertEquals(ScreenshotPipeline.withImageExtension(Paths.get("a/shot.PNG"), jpeg), Paths.get("a/shot.jpg"));
+        assertEquals(ScreenshotPipeline.withImageExtension(Paths.get("a/shot.jpg"), png), Paths.get("a/shot.png"));
+        assertEquals(ScreenshotPipeline.withImageExtension(Paths.get("a/shot.jpeg"), jpeg), Paths.get("a/shot.jpeg"));
+        assertEquals(ScreenshotPipeline.withImageExtension(Paths.get("a/shot.bin"), jpeg), Paths.get("a/shot.bin"));
+    }
+}
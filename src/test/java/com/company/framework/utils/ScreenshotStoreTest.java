@@ -0,0 +1,119 @@
+package com.company.framework.utils;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ScreenshotStoreTest {
+
+    private static final String OLD_ONLY = "aa11.png";
+    private static final String SHARED = "bb22.png";
+    private static final String RECENT = "cc33.jpg";
+
+    private Path directory;
+
+    @BeforeMethod
+    public void useTemporaryDirectory() throws IOException {
+        directory = Files.createTempDirectory("screenshots");
+        ScreenshotStore.useDirectory(directory);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreDirectory() throws IOException {
+        ScreenshotStore.useDirectory(Paths.get(TestReportingUtils.getScreenshotsDirectory()));
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private void storeObjects(String... objects) throws IOException {
+        for (String object : objects) {
+            Path path = ScreenshotStore.objectPath(object);
+            Files.createDirectories(path.getParent());
+            Files.write(path, new byte[] {1, 2, 3});
+        }
+    }
+
+    private Path index(String... lines) throws IOException {
+        return Files.write(directory.resolve("index.log"), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void pruneDeletesOnlyImagesNoRecentLineReferences() throws IOException {
+        long old = System.currentTimeMillis() - Duration.ofDays(10).toMillis();
+        long recent = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        storeObjects(OLD_ONLY, SHARED, RECENT);
+        Path index = index(
+                old + "\t" + OLD_ONLY + "\tLoginTest/failure",
+                old + "\t" + SHARED + "\tLoginTest/home",
+                recent + "\t" + SHARED + "\tSearchTest/home",
+                recent + "\t" + RECENT + "\tSearchTest/frame");
+
+        assertEquals(ScreenshotStore.prune(Duration.ofDays(7)), 1);
+
+        assertFalse(Files.exists(ScreenshotStore.objectPath(OLD_ONLY)));
+        assertTrue(Files.exists(ScreenshotStore.objectPath(SHARED)), "still referenced by a recent capture");
+        assertTrue(Files.exists(ScreenshotStore.objectPath(RECENT)));
+        assertEquals(Files.readAllLines(index, StandardCharsets.UTF_8), List.of(
+                recent + "\t" + SHARED + "\tSearchTest/home",
+                recent + "\t" + RECENT + "\tSearchTest/frame"));
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void identicalCapturesShareOneObjectAndEachGetAnIndexLine() throws IOException {
+        byte[] png = png();
+
+        ScreenshotPipeline.Capture first = ScreenshotStore.put(png, "LoginTest/home");
+        ScreenshotPipeline.Capture second = ScreenshotStore.put(png, "SearchTest/home");
+        ScreenshotPipeline.awaitWrites(Duration.ofSeconds(10));
+        ScreenshotVariants.awaitEncodings(Duration.ofSeconds(10));
+        ScreenshotStore.flushIndex();
+
+        assertEquals(second.getPath(), first.getPath());
+        assertTrue(Files.exists(first.getPath()));
+        List<String> lines = Files.readAllLines(directory.resolve("index.log"), StandardCharsets.UTF_8);
+        assertEquals(lines.size(), 2);
+        assertTrue(lines.get(0).endsWith("\t" + first.getPath().getFileName() + "\tLoginTest/home"), lines.get(0));
+        assertTrue(lines.get(1).endsWith("\t" + first.getPath().getFileName() + "\tSearchTest/home"), lines.get(1));
+    }
+
+    @Test
+    public void malformedIndexLinesAreSkippedAndDropped() throws IOException {
+        long recent = System.currentTimeMillis();
+        storeObjects(RECENT);
+        Path index = index(
+                "not-a-timestamp\t" + OLD_ONLY + "\tLoginTest/failure",
+                recent + "\t" + RECENT,
+                recent + "\t" + RECENT + "\tSearchTest/frame",
+                "1700000");
+
+        assertEquals(ScreenshotStore.prune(Duration.ofDays(7)), 0);
+
+        assertTrue(Files.exists(ScreenshotStore.objectPath(RECENT)));
+        assertEquals(Files.readAllLines(index, StandardCharsets.UTF_8), List.of(
+                recent + "\t" + RECENT + "\tSearchTest/frame"));
+    }
+}
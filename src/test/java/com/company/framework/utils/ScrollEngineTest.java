@@ -0,0 +1,87 @@
+package com.company.framework.utils;
+
+import com.company.framework.support.StubAppiumDriver;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ScrollEngineTest {
+
+    private static String hierarchy(String text) {
+        return "<hierarchy><android.widget.TextView text=\"" + text + "\" bounds=\"[0,0][100,50]\"/></hierarchy>";
+    }
+
+    /**
+     * Stub whose page source is served from a queue; the last entry sticks
+     */
+    private static StubAppiumDriver driver(Deque<String> pageSources) {
+        StubAppiumDriver driver = new StubAppiumDriver();
+        driver.on(DriverCommand.GET_CURRENT_WINDOW_SIZE, params -> Map.of("width", 1080, "height", 1920));
+        driver.on(DriverCommand.GET_PAGE_SOURCE, params ->
+                pageSources.size() > 1 ? pageSources.poll() : pageSources.peek());
+        return driver;
+    }
+
+    @Test
+    public void screenChangedBetweenScrollsIsNotTakenForMovement() {
+        Deque<String> pageSources = new ArrayDeque<>();
+        pageSources.add(hierarchy("first page"));
+        StubAppiumDriver driver = driver(pageSources);
+        driver.on("mobile: scrollGesture", params -> {
+            pageSources.clear();
+            pageSources.add(hierarchy("second page"));
+            return null;
+        });
+        ScrollEngine engine = ScrollEngine.forDriver(driver);
+        assertTrue(engine.scrollDown());
+
+        // Another command navigates; the next scroll hits the end of the new list
+        pageSources.clear();
+        pageSources.add(hierarchy("other screen"));
+        driver.on("mobile: scrollGesture", params -> null);
+
+        assertFalse(engine.scrollDown(), "the before-sample must be taken fresh, not kept from the last scroll");
+    }
+
+    @Test
+    public void contentIsSampledOnceTheFlingHasSettled() {
+        Deque<String> pageSources = new ArrayDeque<>();
+        pageSources.add(hierarchy("top"));
+        StubAppiumDriver driver = driver(pageSources);
+        driver.on("mobile: scrollGesture", params -> {
+            // The first sample after the gesture still shows the old content
+            pageSources.clear();
+            pageSources.add(hierarchy("top"));
+            pageSources.add(hierarchy("further down"));
+            return null;
+        });
+
+        assertTrue(ScrollEngine.forDriver(driver).scrollDown(), "a list that starts moving late is not at its end");
+    }
+
+    @Test
+    public void androidFallsBackToSwipeGestureNotTheXcuiTestSwipe() {
+        Deque<String> pageSources = new ArrayDeque<>();
+        pageSources.add(hierarchy("top"));
+        StubAppiumDriver driver = driver(pageSources);
+        driver.on("mobile: scrollGesture", params -> {
+            throw new UnsupportedOperationException("scrollGesture not supported");
+        });
+        driver.on("mobile: swipeGesture", params -> {
+            pageSources.clear();
+            pageSources.add(hierarchy("further down"));
+            return null;
+        });
+
+        assertTrue(ScrollEngine.forDriver(driver).scrollDown());
+        assertEquals(driver.count("mobile: swipeGesture"), 1);
+        assertEquals(driver.count("mobile: swipe"), 0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.framework.utils;
+
+import com.company.framework.managers.AppLifecycleManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class StatsRegistryTest {
+
+    private static final String REPLACED = "StatsRegistryTest.replaced";
+    private static final String FAILING = "StatsRegistryTest.failing";
+    private static final String WORKING = "StatsRegistryTest.working";
+
+    @AfterMethod(alwaysRun = true)
+    public void unregisterTestSummaries() {
+        StatsRegistry.unregister(REPLACED);
+        StatsRegistry.unregister(FAILING);
+        StatsRegistry.unregister(WORKING);
+    }
+
+    @Test
+    public void loadedUtilitiesRegisterThemselves() {
+        String summary = AppLifecycleManager.getStatsSummary(); // Loads the class
+
+        assertTrue(StatsRegistry.summaries().contains(summary));
+    }
+
+    @Test
+    public void registeringANameAgainReplacesItsSummary() {
+        StatsRegistry.register(REPLACED, () -> "first");
+        StatsRegistry.register(REPLACED, () -> "second");
+
+        List<String> summaries = StatsRegistry.summaries();
+        assertFalse(summaries.contains("first"));
+        assertEquals(summaries.stream().filter("second"::equals).count(), 1L);
+    }
+
+    @Test
+    public void failingSummaryDoesNotHideTheOthers() {
+        StatsRegistry.register(FAILING, () -> {
+            throw new IllegalStateException("not started");
+        });
+        StatsRegistry.register(WORKING, () -> "working");
+
+        List<String> summaries = StatsRegistry.summaries();
+        assertTrue(summaries.contains(FAILING + ": statistics unavailable (not started)"));
+        assertTrue(summaries.contains("working"));
+    }
+
+    @Test
+    public void unregisteredSummaryIsNoLongerListed() {
+        StatsRegistry.register(WORKING, () -> "working");
+        StatsRegistry.unregister(WORKING);
+
+        assertFalse(StatsRegistry.summaries().contains("working"));
+    }
+}
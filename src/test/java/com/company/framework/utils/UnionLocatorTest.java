@@ -0,0 +1,133 @@
+package com.company.framework.utils;
+
+import com.company.framework.locators.bild.BildAppLocators;
+import com.company.framework.locators.bild.BildAppLocators.BildElementType;
+import com.company.framework.locators.common.LocatorStatistics;
+import com.company.framework.support.StubAppiumDriver;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class UnionLocatorTest {
+
+    @Test
+    public void guardsEachCandidateWithAllHigherPriorityOnes() {
+        assertEquals(UnionLocator.buildGuardedUnion(List.of("//a", "//b", "//c")),
+                "(//a) | ((//b) | (//c)[not(//b)])[not(//a)]");
+        assertEquals(UnionLocator.buildGuardedUnion(List.of("//a")), "(//a)");
+    }
+
+    @Test
+    public void unionIsOnlyBuiltForXPathExpressibleArrays() {
+        assertNull(UnionLocator.union(new By[] {By.id("search"), AppiumBy.androidUIAutomator("new UiSelector().text(\"Mehr\")")}));
+        assertEquals(UnionLocator.union(new By[] {AppiumBy.accessibilityId("Search"), By.xpath("//android.widget.Button")}),
+                By.xpath("(//*[@content-desc='Search']) | (//android.widget.Button)[not(//*[@content-desc='Search'])]"));
+    }
+
+    @Test
+    public void unionKeepsPriorityWhereDocumentOrderDisagrees() throws IOException {
+        HierarchySnapshot snapshot = HierarchySnapshot.fromXml(HierarchySnapshotTest.recordedHierarchy());
+        // The ImageView labelled "Search" precedes the search button in the document
+        By[] candidates = {
+                By.xpath("//*[contains(@resource-id, 'search') and @class='android.widget.Button']"),
+                AppiumBy.accessibilityId("Search")
+        };
+        assertTrue(UnionLocator.agreesWithPriorityOrder(snapshot, candidates));
+        By plainUnion = By.xpath("//*[contains(@resource-id, 'search') and @class='android.widget.Button'] | //*[@content-desc='Search']");
+        assertEquals(snapshot.findFirst(new By[] {plainUnion}).getAttribute("class"), "android.widget.ImageView",
+                "an unguarded union returns document order");
+        assertTrue(UnionLocator.benchmark(HierarchySnapshotTest.recordedHierarchy(), candidates, 2)
+                .endsWith("same first element=true"));
+    }
+
+    @Test
+    public void unionAgreesWithPriorityOrderForEveryFallbackArray() throws IOException {
+        HierarchySnapshot snapshot = HierarchySnapshot.fromXml(HierarchySnapshotTest.recordedHierarchy());
+        for (BildElementType type : BildElementType.values()) {
+            By[] candidates = BildAppLocators.getLocators(type);
+            if (candidates.length < 2 || UnionLocator.union(candidates) == null) continue;
+            assertTrue(UnionLocator.agreesWithPriorityOrder(snapshot, candidates), type.name());
+
+            By[] reversed = candidates.clone();
+            Collections.reverse(Arrays.asList(reversed));
+            assertTrue(UnionLocator.agreesWithPriorityOrder(snapshot, reversed), type.name() + " reversed");
+        }
+    }
+
+    @Test
+    public void winnerIndexFindsTheFirstMatchingCandidate() {
+        By[] candidates = new By[7];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = By.xpath("//candidate" + i);
+        }
+        for (int winner = 0; winner < candidates.length; winner++) {
+            List<By> matching = Arrays.asList(candidates).subList(winner, candidates.length);
+            int found = UnionLocator.winnerIndex(candidates,
+                    range -> Arrays.stream(range).anyMatch(matching::contains));
+            assertEquals(found, winner);
+        }
+    }
+
+    @Test
+    public void unionHitIsRecordedForTheWinningCandidate() throws IOException {
+        StubAppiumDriver driver = new StubAppiumDriver().serveHierarchy(HierarchySnapshotTest.recordedHierarchy());
+        By[] candidates = {
+                By.xpath("//android.widget.Button[contains(@content-desc,'search')]"),
+                By.xpath("//*[contains(@resource-id, 'search') and @class='android.widget.Button']"),
+                AppiumBy.accessibilityId("Search")
+        };
+
+        List<WebElement> found = UnionLocator.findElements(driver, "UnionLocatorTest.hit", candidates);
+
+        assertEquals(found.size(), 1);
+        // One union query plus two halving queries to name the winner
+        assertEquals(driver.count(DriverCommand.FIND_ELEMENTS), 3);
+        By[] ranked = LocatorStatistics.rank("UnionLocatorTest.hit", candidates);
+        assertEquals(ranked[0], candidates[1], "the union winner is ranked first");
+        assertEquals(ranked[2], candidates[0], "the candidate that missed is ranked last");
+    }
+
+    @Test
+    public void unsampledUnionHitsCostOneQuery() throws IOException {
+        StubAppiumDriver driver = new StubAppiumDriver().serveHierarchy(HierarchySnapshotTest.recordedHierarchy());
+        By[] candidates = {
+                By.xpath("//android.widget.Button[contains(@content-desc,'search')]"),
+                By.xpath("//*[contains(@resource-id, 'search') and @class='android.widget.Button']"),
+                AppiumBy.accessibilityId("Search")
+        };
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(UnionLocator.findElements(driver, "UnionLocatorTest.sampled", candidates, 4).size(), 1);
+        }
+
+        // Only the first lookup names its winner (two halving queries)
+        assertEquals(driver.count(DriverCommand.FIND_ELEMENTS), 4 + 2);
+    }
+
+    @Test
+    public void unionMissCostsOneQueryAndRecordsEveryCandidate() throws IOException {
+        StubAppiumDriver driver = new StubAppiumDriver().serveHierarchy(HierarchySnapshotTest.recordedHierarchy());
+        By[] candidates = {
+                By.xpath("//*[@text='Abbrechen']"),
+                AppiumBy.accessibilityId("Close")
+        };
+
+        assertTrue(UnionLocator.findElements(driver, "UnionLocatorTest.miss", candidates).isEmpty());
+
+        assertEquals(driver.count(DriverCommand.FIND_ELEMENTS), 1);
+        By[] ranked = LocatorStatistics.rank("UnionLocatorTest.miss", new By[] {AppiumBy.accessibilityId("Close"),
+                By.xpath("//*[@text='Abbrechen']"), By.xpath("//*[@text='Cancel']")});
+        assertEquals(ranked[0], By.xpath("//*[@text='Cancel']"), "untried candidates go before known misses");
+    }
+}